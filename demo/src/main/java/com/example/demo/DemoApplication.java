@@ -2,6 +2,7 @@ package com.example.demo;
 
 
 import com.example.demo.config.SimulatorConfig;
+import com.example.demo.service.MulticastPublisher;
 import com.example.demo.service.RateSimulationService;
 import com.example.demo.service.TCPConnectionHandler;
 import org.apache.commons.cli.*;
@@ -24,6 +25,8 @@ public class DemoApplication{
 
     private final SimulatorConfig config;
     private final RateSimulationService simulationService;
+    // Multicast yayını kapalıysa null
+    private final MulticastPublisher multicastPublisher;
     private ServerSocket serverSocket;
     private ExecutorService connectionPool;
     private boolean running = false;
@@ -35,6 +38,9 @@ public class DemoApplication{
     public DemoApplication(SimulatorConfig config) {
         this.config = config;
         this.simulationService = new RateSimulationService(config);
+        this.multicastPublisher = config.isMulticastEnabled()
+                ? new MulticastPublisher(config, simulationService)
+                : null;
     }
 
     /**
@@ -50,6 +56,11 @@ public class DemoApplication{
             // Simülasyon servisini başlat
             simulationService.start();
 
+            // Multicast yayınını başlat; istemciler kayıpta anlık görüntüyü TCP üzerinden ister
+            if (multicastPublisher != null) {
+                multicastPublisher.start();
+            }
+
             // TCP sunucusunu başlat
             serverSocket = new ServerSocket(config.getPort());
             connectionPool = Executors.newFixedThreadPool(config.getThreadPoolSize());
@@ -77,7 +88,7 @@ public class DemoApplication{
                     logger.info("New client connected: {}", clientSocket.getRemoteSocketAddress());
 
                     // Yeni bağlantıyı işlemek için bir thread başlat
-                    TCPConnectionHandler handler = new TCPConnectionHandler(clientSocket, simulationService);
+                    TCPConnectionHandler handler = new TCPConnectionHandler(clientSocket, simulationService, multicastPublisher);
                     connectionPool.execute(handler);
 
                 } catch (IOException e) {
@@ -100,6 +111,11 @@ public class DemoApplication{
         running = false;
         logger.info("Stopping TCP Platform Simulator...");
 
+        // Multicast yayınını durdur
+        if (multicastPublisher != null) {
+            multicastPublisher.stop();
+        }
+
         // Simülasyon servisini durdur
         simulationService.stop();
 
@@ -31,6 +31,14 @@ public class SimulatorConfig {
     private double minRateChange;
     private double maxRateChange;
 
+    private boolean multicastEnabled;
+    private String multicastGroup;
+    private int multicastPort;
+    private String multicastInterface;
+    private int multicastTtl;
+    private long multicastHeartbeatIntervalMs;
+    private double multicastSimulatedLossRate;
+
     private Map<String, RateConfig> initialRates = new HashMap<>();
 
 
@@ -48,6 +56,14 @@ public class SimulatorConfig {
             this.minRateChange = Double.parseDouble(props.getProperty("simulation.minRateChange", "-0.02"));
             this.maxRateChange = Double.parseDouble(props.getProperty("simulation.maxRateChange", "0.02"));
 
+            this.multicastEnabled = Boolean.parseBoolean(props.getProperty("multicast.enabled", "false"));
+            this.multicastGroup = props.getProperty("multicast.group", "239.1.1.1");
+            this.multicastPort = Integer.parseInt(props.getProperty("multicast.port", "9001"));
+            this.multicastInterface = props.getProperty("multicast.interface", "lo");
+            this.multicastTtl = Integer.parseInt(props.getProperty("multicast.ttl", "1"));
+            this.multicastHeartbeatIntervalMs = Long.parseLong(props.getProperty("multicast.heartbeatIntervalMs", "1000"));
+            this.multicastSimulatedLossRate = Double.parseDouble(props.getProperty("multicast.simulatedLossRate", "0")); // 0..1, for gap tests
+
             logger.info("Properties loaded from: {}", propertiesFile);
         } catch (IOException e) {
             logger.error("Failed to load properties file: {}", propertiesFile, e);
@@ -121,6 +137,62 @@ public class SimulatorConfig {
         this.maxRateChange = maxRateChange;
     }
 
+    public boolean isMulticastEnabled() {
+        return multicastEnabled;
+    }
+
+    public void setMulticastEnabled(boolean multicastEnabled) {
+        this.multicastEnabled = multicastEnabled;
+    }
+
+    public String getMulticastGroup() {
+        return multicastGroup;
+    }
+
+    public void setMulticastGroup(String multicastGroup) {
+        this.multicastGroup = multicastGroup;
+    }
+
+    public int getMulticastPort() {
+        return multicastPort;
+    }
+
+    public void setMulticastPort(int multicastPort) {
+        this.multicastPort = multicastPort;
+    }
+
+    public String getMulticastInterface() {
+        return multicastInterface;
+    }
+
+    public void setMulticastInterface(String multicastInterface) {
+        this.multicastInterface = multicastInterface;
+    }
+
+    public int getMulticastTtl() {
+        return multicastTtl;
+    }
+
+    public void setMulticastTtl(int multicastTtl) {
+        this.multicastTtl = multicastTtl;
+    }
+
+    public long getMulticastHeartbeatIntervalMs() {
+        return multicastHeartbeatIntervalMs;
+    }
+
+    public void setMulticastHeartbeatIntervalMs(long multicastHeartbeatIntervalMs) {
+        this.multicastHeartbeatIntervalMs = multicastHeartbeatIntervalMs;
+    }
+
+    public double getMulticastSimulatedLossRate() {
+        return multicastSimulatedLossRate;
+    }
+
+    public void setMulticastSimulatedLossRate(double multicastSimulatedLossRate) {
+        this.multicastSimulatedLossRate = multicastSimulatedLossRate;
+    }
+
     public Map<String, RateConfig> getInitialRates() {
         return initialRates;
     }
@@ -0,0 +1,214 @@
+package com.example.demo.service;
+
+import com.example.demo.config.SimulatorConfig;
+import com.example.demo.model.RateData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes rate updates as sequenced UDP multicast datagrams.
+ * <p>
+ * Every update is sent to the group once, as a single datagram, so the cost of publishing does not
+ * depend on how many clients listen. Datagram layout (big-endian):
+ * <pre>
+ * byte version (2) | byte type ('T' tick, 'H' heartbeat) | long session | long seq
+ * for a tick: long epochNanos | double bid | double ask | byte symbolLength | symbol (ASCII)
+ * </pre>
+ * Ticks are numbered consecutively from 1. A heartbeat takes no new number but carries the last published
+ * one, so the loss of the last datagram is noticed even when the feed is idle. A client that detects a loss
+ * asks for the result of {@link #snapshot()} over TCP with the {@code snapshot} command.
+ * <p>
+ * The session identifies one run of the publisher. Numbering restarts at 1 with every run, so a client
+ * seeing a new session discards its sequence state and recovers from a snapshot instead of treating the
+ * new, lower numbers as old datagrams.
+ */
+public class MulticastPublisher {
+    private static final Logger logger = LogManager.getLogger(MulticastPublisher.class);
+
+    public static final byte VERSION = 2;
+    public static final byte TYPE_TICK = 'T';
+    public static final byte TYPE_HEARTBEAT = 'H';
+
+    private static final String SUBSCRIBER_ID = "multicast-publisher";
+    private static final int MAX_DATAGRAM_SIZE = 512;
+
+    private final SimulatorConfig config;
+    private final RateSimulationService simulationService;
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_SIZE);
+    // Last published value of every rate, for snapshots
+    private final Map<String, RateData> latestRates = new LinkedHashMap<>();
+
+    private DatagramChannel channel;
+    private InetSocketAddress groupAddress;
+    private ScheduledExecutorService heartbeatScheduler;
+    // Nonzero, differs between runs of the publisher
+    private final long session = System.currentTimeMillis();
+    private long sequence;
+    private long droppedDatagrams;
+
+    /**
+     * Constructor
+     * @param config Simulator configuration
+     * @param simulationService Simulation service producing the rates
+     */
+    public MulticastPublisher(SimulatorConfig config, RateSimulationService simulationService) {
+        this.config = config;
+        this.simulationService = simulationService;
+    }
+
+    /**
+     * Opens the multicast channel and subscribes to all rates
+     * @throws IOException if the channel cannot be opened
+     */
+    public void start() throws IOException {
+        NetworkInterface networkInterface = NetworkInterface.getByName(config.getMulticastInterface());
+        if (networkInterface == null) {
+            throw new IOException("Network interface not found: " + config.getMulticastInterface());
+        }
+
+        groupAddress = new InetSocketAddress(InetAddress.getByName(config.getMulticastGroup()), config.getMulticastPort());
+        channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, config.getMulticastTtl());
+        // Let listeners on the same host receive it too
+        channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+
+        // Subscribing sends the current value of every rate at once, so the feed starts with those
+        simulationService.getAllRates().keySet().forEach(rateName ->
+                simulationService.subscribe(SUBSCRIBER_ID, rateName, this::publish));
+
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "MulticastHeartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getMulticastHeartbeatIntervalMs();
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+
+        logger.info("Multicast publisher started on group {} via interface {}, session {}",
+                groupAddress, networkInterface.getName(), session);
+    }
+
+    /**
+     * Stops publishing
+     */
+    public void stop() {
+        simulationService.unsubscribeAll(SUBSCRIBER_ID);
+
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+        }
+
+        synchronized (this) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.error("Error closing multicast channel", e);
+                }
+            }
+            logger.info("Multicast publisher stopped after {} datagrams ({} dropped by simulated loss)",
+                    sequence, droppedDatagrams);
+        }
+    }
+
+    /**
+     * Returns the last published sequence number together with the value of every rate up to it
+     * @return Snapshot
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(session, sequence, new ArrayList<>(latestRates.values()));
+    }
+
+    private synchronized void publish(RateData rateData) {
+        // The initial value sent on subscribe may lag behind a newer update of the simulation
+        RateData latest = latestRates.get(rateData.getRateName());
+        if (latest != null && latest.getTimestamp().isAfter(rateData.getTimestamp())) {
+            return;
+        }
+
+        long seq = ++sequence;
+        latestRates.put(rateData.getRateName(), rateData);
+
+        // Simulated loss: the number is used up but no datagram is sent
+        double lossRate = config.getMulticastSimulatedLossRate();
+        if (lossRate > 0 && ThreadLocalRandom.current().nextDouble() < lossRate) {
+            droppedDatagrams++;
+            logger.debug("Simulated loss of datagram {}", seq);
+            return;
+        }
+
+        byte[] symbol = rateData.getRateName().getBytes(StandardCharsets.US_ASCII);
+        long epochNanos = rateData.getTimestamp().toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L
+                + rateData.getTimestamp().getNano();
+
+        buffer.clear();
+        buffer.put(VERSION).put(TYPE_TICK).putLong(session).putLong(seq)
+                .putLong(epochNanos)
+                .putDouble(rateData.getBid())
+                .putDouble(rateData.getAsk())
+                .put((byte) symbol.length).put(symbol);
+        send(seq);
+    }
+
+    private synchronized void sendHeartbeat() {
+        buffer.clear();
+        buffer.put(VERSION).put(TYPE_HEARTBEAT).putLong(session).putLong(sequence);
+        send(sequence);
+    }
+
+    private void send(long seq) {
+        buffer.flip();
+        try {
+            channel.send(buffer, groupAddress);
+        } catch (IOException e) {
+            logger.error("Failed to send multicast datagram {}", seq, e);
+        }
+    }
+
+    /**
+     * Rate values as of a sequence number
+     */
+    public static class Snapshot {
+        private final long session;
+        private final long sequence;
+        private final List<RateData> rates;
+
+        public Snapshot(long session, long sequence, List<RateData> rates) {
+            this.session = session;
+            this.sequence = sequence;
+            this.rates = rates;
+        }
+
+        public long getSession() {
+            return session;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public List<RateData> getRates() {
+            return rates;
+        }
+    }
+}
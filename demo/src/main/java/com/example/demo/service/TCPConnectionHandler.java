@@ -18,14 +18,21 @@ public class TCPConnectionHandler implements Runnable {
 
     private final Socket clientSocket;
     private final RateSimulationService simulationService;
+    private final MulticastPublisher multicastPublisher;
     private final String connectionId;
     private PrintWriter out;
     private BufferedReader in;
     private final AtomicBoolean running = new AtomicBoolean(true);
 
     public TCPConnectionHandler(Socket clientSocket, RateSimulationService simulationService) {
+        this(clientSocket, simulationService, null);
+    }
+
+    public TCPConnectionHandler(Socket clientSocket, RateSimulationService simulationService,
+                                MulticastPublisher multicastPublisher) {
         this.clientSocket = clientSocket;
         this.simulationService = simulationService;
+        this.multicastPublisher = multicastPublisher;
         this.connectionId = UUID.randomUUID().toString();
     }
 
@@ -72,6 +79,9 @@ public class TCPConnectionHandler implements Runnable {
             case "list":
                 handleListRates();
                 break;
+            case "snapshot":
+                handleSnapshot();
+                break;
             case "quit":
             case "exit":
                 handleQuit();
@@ -124,6 +134,24 @@ public class TCPConnectionHandler implements Runnable {
         logger.debug("Sent rates list to client {}", connectionId);
     }
 
+    private void handleSnapshot() {
+        if (multicastPublisher == null) {
+            sendErrorMessage("Multicast publishing is disabled");
+            return;
+        }
+
+        // Header with the last published sequence number and the publisher session, then one rate line per rate
+        MulticastPublisher.Snapshot snapshot = multicastPublisher.snapshot();
+        StringBuilder response = new StringBuilder()
+                .append("SNAPSHOT|").append(snapshot.getSequence())
+                .append('|').append(snapshot.getRates().size())
+                .append('|').append(snapshot.getSession());
+        snapshot.getRates().forEach(rateData ->
+                response.append('\n').append(rateData.toTcpProtocolString()));
+        out.println(response);
+        logger.info("Sent snapshot at sequence {} to client {}", snapshot.getSequence(), connectionId);
+    }
+
     private void handleQuit() {
         out.println("Goodbye!");
         running.set(false);
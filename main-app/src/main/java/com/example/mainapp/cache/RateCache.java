@@ -10,6 +10,9 @@ import java.util.Set;
  */
 public interface RateCache {
 
+    /** {@link #getSnapshot} için en fazla doğrulama turu */
+    int SNAPSHOT_ATTEMPTS = 8;
+
     /**
      * Bir kuru önbelleğe ekler
      * @param rate Eklenecek kur
@@ -23,6 +26,42 @@ public interface RateCache {
      */
     Rate getRate(String rateName);
 
+    /**
+     * Birden çok kurun tutarlı bir anlık görüntüsünü yazarları kilitlemeden okur (çift okuma).
+     * Kurlar okunur, ardından yeniden okunup sürümleri karşılaştırılır; iki okuma arasında hiçbir kur
+     * değişmediyse okunan değerler aynı anda önbellekte bulunmuştur. Değişiklik olursa en fazla
+     * {@link #SNAPSHOT_ATTEMPTS} kez denenir.
+     * @param rateNames Kur adları
+     * @param target Sonuçların yazılacağı dizi (en az rateNames uzunluğunda); bulunamayan kurlar null olur
+     * @return Tüm kurlar bulunduysa ve tutarlı bir görüntü alındıysa true
+     */
+    default boolean getSnapshot(String[] rateNames, Rate[] target) {
+        for (int i = 0; i < rateNames.length; i++) {
+            target[i] = getRate(rateNames[i]);
+        }
+
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            boolean consistent = true;
+            for (int i = 0; i < rateNames.length; i++) {
+                Rate current = getRate(rateNames[i]);
+                if (!sameVersion(current, target[i])) {
+                    target[i] = current;
+                    consistent = false;
+                }
+            }
+
+            if (consistent) {
+                for (int i = 0; i < rateNames.length; i++) {
+                    if (target[i] == null) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Bir kuru platform ve kur adına göre döndürür
      * @param platformName Platform adı
@@ -56,4 +95,20 @@ public interface RateCache {
      * Önbelleği temizler
      */
     void clearCache();
+
+    /**
+     * İki okumanın aynı kur sürümünü gösterip göstermediğini kontrol eder.
+     * Sürüm atamayan önbelleklerde (sürüm 0) nesne eşitliğine bakılır.
+     */
+    private static boolean sameVersion(Rate first, Rate second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null) {
+            return false;
+        }
+        return first.getVersion() != 0
+                ? first.getVersion() == second.getVersion()
+                : first.equals(second);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.example.mainapp.cache;
+
+import com.example.mainapp.model.Rate;
+import com.example.mainapp.validation.RateValidationChain;
+
+import java.util.function.Function;
+
+/**
+ * Bir sembolün tek durum hücresi: son kabul edilen (ve önbellekte sunulan) değer, sürümü
+ * ve doğrulama durumu.
+ * <p>
+ * Koordinatör hücreyi tick başına bir kez çözümler; önbellek okumaları da aynı hücreden yapılır.
+ * Değer yalnızca {@link SymbolStateCache#update} ile yazılır.
+ */
+public final class SymbolState {
+
+    private final String symbol;
+    private final String platformName;
+
+    private volatile Rate rate;
+    private volatile RateValidationChain validationChain;
+    private volatile int[] dependentIndices;
+
+    /**
+     * Constructor
+     * @param symbol Önbellek anahtarı (ör. PF1_USDTRY veya türev kur adı)
+     * @param platformName Platform adı, türev kurlar için null
+     */
+    public SymbolState(String symbol, String platformName) {
+        this.symbol = symbol;
+        this.platformName = platformName;
+    }
+
+    /**
+     * Platform önekli sembol adını döndürür. Bağlayıcılar kur adını önekli (PF1_USDTRY)
+     * ya da öneksiz (USDTRY) gönderebilir; her iki durumda da aynı anahtar üretilir.
+     * @param platformName Platform adı
+     * @param rateName Kur adı
+     * @return Platform önekli kur adı
+     */
+    public static String keyOf(String platformName, String rateName) {
+        if (rateName.length() > platformName.length()
+                && rateName.startsWith(platformName)
+                && rateName.charAt(platformName.length()) == '_') {
+            return rateName;
+        }
+        return platformName + "_" + rateName;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    /**
+     * @return Son kabul edilen kur veya henüz yoksa (ya da kaldırıldıysa) null
+     */
+    public Rate getRate() {
+        return rate;
+    }
+
+    /**
+     * Yalnızca {@link SymbolStateCache} uygulamaları tarafından çağrılır
+     * @param rate Yeni değer veya kaldırmak için null
+     */
+    public void setRate(Rate rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Sembolün doğrulama zincirini döndürür, ilk çağrıda oluşturur
+     * @param factory Zincir fabrikası
+     * @return Doğrulama zinciri
+     */
+    public RateValidationChain validationChain(Function<String, RateValidationChain> factory) {
+        RateValidationChain chain = validationChain;
+        if (chain == null) {
+            synchronized (this) {
+                chain = validationChain;
+                if (chain == null) {
+                    chain = factory.apply(symbol);
+                    validationChain = chain;
+                }
+            }
+        }
+        return chain;
+    }
+
+    /**
+     * Sembolü doğrudan girdi olarak kullanan türev kurların plan indekslerini döndürür,
+     * ilk çağrıda hesaplar (aynı sonucu üreten eşzamanlı hesaplama zararsızdır)
+     * @param lookup Sembol adından indekslere
+     * @return Bağımlı türev kur indeksleri
+     */
+    public int[] dependentIndices(Function<String, int[]> lookup) {
+        int[] indices = dependentIndices;
+        if (indices == null) {
+            indices = lookup.apply(symbol);
+            dependentIndices = indices;
+        }
+        return indices;
+    }
+}
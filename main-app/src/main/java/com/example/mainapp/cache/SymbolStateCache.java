@@ -0,0 +1,68 @@
+package com.example.mainapp.cache;
+
+import com.example.mainapp.model.Rate;
+
+/**
+ * Kurları sembol başına durum hücrelerinde ({@link SymbolState}) tutan önbellek.
+ * Koordinatör hücreyi bir kez çözümleyip doğrudan günceller; {@link RateCache} okumaları
+ * aynı hücrelerden sunulur.
+ */
+public interface SymbolStateCache extends RateCache {
+
+    /**
+     * Bir platform kurunun hücresini döndürür, yoksa oluşturur. Mevcut hücre için nesne oluşturmaz.
+     * @param platformName Platform adı
+     * @param rateName Bağlayıcının kullandığı kur adı (önekli ya da öneksiz)
+     * @return Durum hücresi
+     */
+    SymbolState resolve(String platformName, String rateName);
+
+    /**
+     * Platformdan bağımsız (ör. türev) bir kurun hücresini döndürür, yoksa oluşturur
+     * @param symbol Kur adı
+     * @return Durum hücresi
+     */
+    SymbolState resolve(String symbol);
+
+    /**
+     * Hücrenin değerini günceller; kura yeni bir sürüm atanır ve okuyuculara görünür olur
+     * @param state Durum hücresi
+     * @param rate Yeni değer
+     */
+    void update(SymbolState state, Rate rate);
+
+    /**
+     * {@link #getSnapshot(String[], Rate[])} ile aynı çift okuma, ancak önceden çözümlenmiş hücreler
+     * üzerinde; turlar arasında isim araması yapılmaz
+     * @param cells Durum hücreleri
+     * @param target Sonuçların yazılacağı dizi (en az cells uzunluğunda); boş hücreler için null
+     * @return Tüm hücreler doluysa ve tutarlı bir görüntü alındıysa true
+     */
+    default boolean getSnapshot(SymbolState[] cells, Rate[] target) {
+        for (int i = 0; i < cells.length; i++) {
+            target[i] = cells[i].getRate();
+        }
+
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            boolean consistent = true;
+            for (int i = 0; i < cells.length; i++) {
+                // Koordinatör her yazımda yeni bir kur nesnesi yayınlar; referans karşılaştırması yeterlidir
+                Rate current = cells[i].getRate();
+                if (current != target[i]) {
+                    target[i] = current;
+                    consistent = false;
+                }
+            }
+
+            if (consistent) {
+                for (int i = 0; i < cells.length; i++) {
+                    if (target[i] == null) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,23 +1,64 @@
 package com.example.mainapp.cache.impl;
 
-import com.example.mainapp.cache.RateCache;
+import com.example.mainapp.cache.SymbolState;
+import com.example.mainapp.cache.SymbolStateCache;
 import com.example.mainapp.model.Rate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class InMemoryRateCache implements RateCache {
+/**
+ * Bellek içi kur önbelleği. Her sembol tek bir {@link SymbolState} hücresinde tutulur;
+ * hücreler hem sembol adıyla hem de platform ve kur adıyla (iki seviyeli, string birleştirmeden)
+ * bulunur. Kaldırılan kurların hücresi, doğrulama durumu korunsun diye silinmez, yalnızca boşaltılır.
+ */
+public class InMemoryRateCache implements SymbolStateCache {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryRateCache.class);
 
-    private final Map<String, Rate> rateCache = new ConcurrentHashMap<>();
-    private final Map<String, String> platformRateIndex = new ConcurrentHashMap<>();
-    private final Set<String> rateNames = new HashSet<>();
+    private final Map<String, SymbolState> states = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, SymbolState>> statesByPlatform = new ConcurrentHashMap<>();
+
+    // Her yazımda artan sıra numarası; kur sürümü olarak atanır
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public SymbolState resolve(String platformName, String rateName) {
+        Map<String, SymbolState> platformStates = statesByPlatform.get(platformName);
+        if (platformStates == null) {
+            platformStates = statesByPlatform.computeIfAbsent(platformName, key -> new ConcurrentHashMap<>());
+        }
+
+        SymbolState state = platformStates.get(rateName);
+        if (state == null) {
+            String symbol = SymbolState.keyOf(platformName, rateName);
+            state = platformStates.computeIfAbsent(rateName,
+                    key -> states.computeIfAbsent(symbol, name -> new SymbolState(name, platformName)));
+        }
+        return state;
+    }
+
+    @Override
+    public SymbolState resolve(String symbol) {
+        SymbolState state = states.get(symbol);
+        if (state == null) {
+            state = states.computeIfAbsent(symbol, name -> new SymbolState(name, null));
+        }
+        return state;
+    }
+
+    @Override
+    public void update(SymbolState state, Rate rate) {
+        // Sürüm, kur okuyuculara görünür olmadan önce atanır
+        rate.setVersion(sequence.incrementAndGet());
+        state.setRate(rate);
+        logger.debug("Cached rate in memory: {}", rate);
+    }
 
     @Override
     public void putRate(Rate rate) {
@@ -26,86 +67,92 @@ public class InMemoryRateCache implements RateCache {
             return;
         }
 
-        String rateName = rate.getRateName();
         String platformName = rate.getPlatformName();
-
-        // Store rate object
-        rateCache.put(rateName, rate);
-
-        // Store platform index
-        if (platformName != null) {
-            String platformKey = platformName + ":" + rateName;
-            platformRateIndex.put(platformKey, rateName);
-        }
-
-        // Add to set of rate names
-        rateNames.add(rateName);
-
-        logger.debug("Cached rate in memory: {}", rate);
+        SymbolState state = platformName != null
+                ? resolve(platformName, rate.getRateName())
+                : resolve(rate.getRateName());
+        update(state, rate);
     }
 
     @Override
     public Rate getRate(String rateName) {
-        Rate rate = rateCache.get(rateName);
+        SymbolState state = states.get(rateName);
+        Rate rate = state != null ? state.getRate() : null;
         if (rate == null) {
             logger.debug("Rate not found in memory cache: {}", rateName);
         }
         return rate;
     }
 
+    /**
+     * Hücreleri bir kez çözümler, çift okumayı doğrudan hücreler üzerinde yapar
+     */
     @Override
-    public Rate getRate(String platformName, String rateName) {
-        String platformKey = platformName + ":" + rateName;
-        String indexedRateName = platformRateIndex.get(platformKey);
-
-        if (indexedRateName != null) {
-            return getRate(indexedRateName);
+    public boolean getSnapshot(String[] rateNames, Rate[] target) {
+        SymbolState[] cells = new SymbolState[rateNames.length];
+        for (int i = 0; i < rateNames.length; i++) {
+            cells[i] = states.get(rateNames[i]);
+            if (cells[i] == null) {
+                // Hiç yazılmamış kur: hücre oluşturmadan yalnızca mevcut olanlar okunur
+                for (int j = 0; j < rateNames.length; j++) {
+                    SymbolState state = states.get(rateNames[j]);
+                    target[j] = state != null ? state.getRate() : null;
+                }
+                return false;
+            }
         }
+        return getSnapshot(cells, target);
+    }
 
-        logger.debug("Rate not found in memory cache for platform {}: {}", platformName, rateName);
-        return null;
+    @Override
+    public Rate getRate(String platformName, String rateName) {
+        Map<String, SymbolState> platformStates = statesByPlatform.get(platformName);
+        SymbolState state = platformStates != null ? platformStates.get(rateName) : null;
+        Rate rate = state != null ? state.getRate() : null;
+        if (rate == null) {
+            logger.debug("Rate not found in memory cache for platform {}: {}", platformName, rateName);
+        }
+        return rate;
     }
 
     @Override
     public boolean removeRate(String rateName) {
-        Rate rate = rateCache.remove(rateName);
-        if (rate != null) {
-            String platformName = rate.getPlatformName();
-            if (platformName != null) {
-                String platformKey = platformName + ":" + rateName;
-                platformRateIndex.remove(platformKey);
-            }
-            rateNames.remove(rateName);
-            logger.debug("Removed rate from memory cache: {}", rateName);
-            return true;
-        }
-        return false;
+        SymbolState state = states.get(rateName);
+        return clear(state);
     }
 
     @Override
     public boolean removeRate(String platformName, String rateName) {
-        String platformKey = platformName + ":" + rateName;
-        String indexedRateName = platformRateIndex.remove(platformKey);
-
-        if (indexedRateName != null) {
-            rateCache.remove(indexedRateName);
-            rateNames.remove(indexedRateName);
-            logger.debug("Removed rate from memory cache for platform {}: {}", platformName, rateName);
-            return true;
+        Map<String, SymbolState> platformStates = statesByPlatform.get(platformName);
+        return clear(platformStates != null ? platformStates.get(rateName) : null);
+    }
+
+    private boolean clear(SymbolState state) {
+        if (state == null || state.getRate() == null) {
+            return false;
         }
-        return false;
+
+        state.setRate(null);
+        logger.debug("Removed rate from memory cache: {}", state.getSymbol());
+        return true;
     }
 
     @Override
     public Set<String> getAllRateNames() {
-        return new HashSet<>(rateNames);
+        Set<String> rateNames = new HashSet<>();
+        for (SymbolState state : states.values()) {
+            if (state.getRate() != null) {
+                rateNames.add(state.getSymbol());
+            }
+        }
+        return rateNames;
     }
 
     @Override
     public void clearCache() {
-        rateCache.clear();
-        platformRateIndex.clear();
-        rateNames.clear();
+        for (SymbolState state : states.values()) {
+            state.setRate(null);
+        }
         logger.info("Memory cache cleared");
     }
-}
\ No newline at end of file
+}
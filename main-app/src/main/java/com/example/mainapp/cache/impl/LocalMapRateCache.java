@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Local in-memory implementation of RateCache using ConcurrentHashMap
@@ -27,6 +28,9 @@ public class LocalMapRateCache implements RateCache {
     // Secondary index: platformName:rateName -> rateName (for platform-specific lookups)
     private final Map<String, String> platformRateIndex = new ConcurrentHashMap<>();
 
+    // Her yazımda artan sıra numarası; kur sürümü olarak atanır
+    private final AtomicLong sequence = new AtomicLong();
+
     @Override
     public void putRate(Rate rate) {
         if (rate == null) {
@@ -37,6 +41,9 @@ public class LocalMapRateCache implements RateCache {
         String rateName = rate.getRateName();
         String platformName = rate.getPlatformName();
 
+        // Sürüm, kur okuyuculara görünür olmadan önce atanır
+        rate.setVersion(sequence.incrementAndGet());
+
         // Store in main cache
         rateCache.put(rateName, rate);
 
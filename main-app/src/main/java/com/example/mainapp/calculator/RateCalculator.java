@@ -2,6 +2,7 @@ package com.example.mainapp.calculator;
 
 import com.example.mainapp.model.Rate;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -17,6 +18,35 @@ public interface RateCalculator {
      */
     Rate calculate(String targetRateName, Map<String, Rate> dependencyRates);
 
+    /**
+     * Girdileri isim haritası yerine sıralı dizi olarak alan hesaplama. Formül girdilerini slot
+     * indeksiyle okuyan uygulamalar bunu ezerek harita oluşturmaktan ve isim aramasından kaçınır.
+     * @param targetRateName Hedef kur adı
+     * @param inputNames Girdi adları
+     * @param inputs inputNames sırasıyla girdi kurları
+     * @return Hesaplanan kur veya hesaplanamazsa null
+     */
+    default Rate calculate(String targetRateName, String[] inputNames, Rate[] inputs) {
+        Map<String, Rate> dependencyRates = new HashMap<>();
+        for (int i = 0; i < inputNames.length; i++) {
+            dependencyRates.put(inputNames[i], inputs[i]);
+        }
+        return calculate(targetRateName, dependencyRates);
+    }
+
+    /**
+     * Derlenmiş plandaki indeksiyle hesaplama. Girdiler formül tanımındaki sırayla verilir;
+     * derlenmiş formülleri plan indeksiyle tutan uygulamalar bunu ezerek isim aramasından kaçınır.
+     * @param planIndex Türev kurun plan indeksi
+     * @param targetRateName Hedef kur adı
+     * @param inputNames Formül tanımındaki sırayla girdi adları
+     * @param inputs inputNames sırasıyla girdi kurları
+     * @return Hesaplanan kur veya hesaplanamazsa null
+     */
+    default Rate calculate(int planIndex, String targetRateName, String[] inputNames, Rate[] inputs) {
+        return calculate(targetRateName, inputNames, inputs);
+    }
+
     /**
      * Bir kur için hesaplama formülü kaydeder
      * @param rateName Kur adı
@@ -0,0 +1,56 @@
+package com.example.mainapp.calculator.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * rate-calculations.json içindeki tek bir türev kur tanımı
+ */
+public class DerivedRateDefinition {
+
+    private String name;                          // Türev kur adı (ör. EURTRY)
+    private List<String> inputs = new ArrayList<>(); // Girdi kurları (ham ya da türev)
+    private String bid;                           // Alış fiyatı ifadesi
+    private String ask;                           // Satış fiyatı ifadesi
+    private int scale = 5;                        // Sonucun yuvarlanacağı ondalık basamak sayısı
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getInputs() {
+        return inputs;
+    }
+
+    public void setInputs(List<String> inputs) {
+        this.inputs = inputs;
+    }
+
+    public String getBid() {
+        return bid;
+    }
+
+    public void setBid(String bid) {
+        this.bid = bid;
+    }
+
+    public String getAsk() {
+        return ask;
+    }
+
+    public void setAsk(String ask) {
+        this.ask = ask;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public void setScale(int scale) {
+        this.scale = scale;
+    }
+}
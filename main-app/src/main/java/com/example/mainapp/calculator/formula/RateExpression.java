@@ -0,0 +1,18 @@
+package com.example.mainapp.calculator.formula;
+
+import com.example.mainapp.model.Rate;
+
+/**
+ * Derlenmiş bir kur ifadesi. Girdiler isimle değil, tanımdaki sıraya karşılık gelen slot
+ * indeksiyle okunur; değerlendirme sırasında nesne oluşturulmaz.
+ */
+@FunctionalInterface
+public interface RateExpression {
+
+    /**
+     * İfadeyi değerlendirir
+     * @param inputs Tanımdaki girdi sırasına göre dizilmiş kurlar
+     * @return Hesaplanan değer
+     */
+    double evaluate(Rate[] inputs);
+}
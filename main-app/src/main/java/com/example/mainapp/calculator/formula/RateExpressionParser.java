@@ -0,0 +1,243 @@
+package com.example.mainapp.calculator.formula;
+
+import com.example.mainapp.model.Rate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Türev kur formülleri için küçük ifade dili.
+ * <p>
+ * Desteklenenler: sayılar, {@code + - * /}, parantez, tekli eksi, girdi alanları
+ * ({@code PF1_USDTRY.bid}, {@code .ask}, {@code .mid}) ve {@code avg, min, max, abs} fonksiyonları.
+ * Örnek: {@code avg(PF1_USDTRY.mid, PF2_USDTRY.mid) * avg(PF1_EURUSD.bid, PF2_EURUSD.bid)}
+ * <p>
+ * Girdi adları ayrıştırma sırasında slot indekslerine çevrilir.
+ */
+public final class RateExpressionParser {
+
+    private final String source;
+    private final List<String> inputs;
+    private int position;
+
+    private RateExpressionParser(String source, List<String> inputs) {
+        this.source = source;
+        this.inputs = inputs;
+    }
+
+    /**
+     * İfadeyi derler
+     * @param source İfade metni
+     * @param inputs Tanımlı girdi adları; indeksleri slot numarasıdır
+     * @return Derlenmiş ifade
+     * @throws IllegalArgumentException ifade geçersizse veya tanımsız bir girdiye başvuruyorsa
+     */
+    public static RateExpression parse(String source, List<String> inputs) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Empty rate expression");
+        }
+
+        RateExpressionParser parser = new RateExpressionParser(source, inputs);
+        RateExpression expression = parser.parseSum();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.position) + "'");
+        }
+        return expression;
+    }
+
+    private RateExpression parseSum() {
+        RateExpression left = parseProduct();
+        while (true) {
+            if (accept('+')) {
+                RateExpression l = left, r = parseProduct();
+                left = in -> l.evaluate(in) + r.evaluate(in);
+            } else if (accept('-')) {
+                RateExpression l = left, r = parseProduct();
+                left = in -> l.evaluate(in) - r.evaluate(in);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private RateExpression parseProduct() {
+        RateExpression left = parseUnary();
+        while (true) {
+            if (accept('*')) {
+                RateExpression l = left, r = parseUnary();
+                left = in -> l.evaluate(in) * r.evaluate(in);
+            } else if (accept('/')) {
+                RateExpression l = left, r = parseUnary();
+                left = in -> l.evaluate(in) / r.evaluate(in);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private RateExpression parseUnary() {
+        if (accept('-')) {
+            RateExpression operand = parseUnary();
+            return in -> -operand.evaluate(in);
+        }
+        return parsePrimary();
+    }
+
+    private RateExpression parsePrimary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        if (accept('(')) {
+            RateExpression inner = parseSum();
+            expect(')');
+            return inner;
+        }
+
+        char c = source.charAt(position);
+        if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            String identifier = parseIdentifier();
+            if (accept('(')) {
+                return parseFunction(identifier);
+            }
+            expect('.');
+            return parseField(identifier, parseIdentifier());
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private RateExpression parseNumber() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+
+        double value;
+        try {
+            value = Double.parseDouble(source.substring(start, position));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + source.substring(start, position) + "'");
+        }
+        return in -> value;
+    }
+
+    private RateExpression parseField(String inputName, String field) {
+        int slot = inputs.indexOf(inputName);
+        if (slot < 0) {
+            throw error("Input '" + inputName + "' is not declared in inputs " + inputs);
+        }
+
+        switch (field) {
+            case "bid":
+                return in -> in[slot].getBid();
+            case "ask":
+                return in -> in[slot].getAsk();
+            case "mid":
+                return in -> {
+                    Rate rate = in[slot];
+                    return (rate.getBid() + rate.getAsk()) / 2;
+                };
+            default:
+                throw error("Unknown field '" + field + "', expected bid, ask or mid");
+        }
+    }
+
+    private RateExpression parseFunction(String name) {
+        List<RateExpression> arguments = new ArrayList<>();
+        if (!accept(')')) {
+            do {
+                arguments.add(parseSum());
+            } while (accept(','));
+            expect(')');
+        }
+        RateExpression[] args = arguments.toArray(new RateExpression[0]);
+
+        switch (name) {
+            case "avg":
+                requireArguments(name, args, 1);
+                return in -> {
+                    double sum = 0;
+                    for (RateExpression arg : args) {
+                        sum += arg.evaluate(in);
+                    }
+                    return sum / args.length;
+                };
+            case "min":
+                requireArguments(name, args, 1);
+                return in -> {
+                    double min = args[0].evaluate(in);
+                    for (int i = 1; i < args.length; i++) {
+                        min = Math.min(min, args[i].evaluate(in));
+                    }
+                    return min;
+                };
+            case "max":
+                requireArguments(name, args, 1);
+                return in -> {
+                    double max = args[0].evaluate(in);
+                    for (int i = 1; i < args.length; i++) {
+                        max = Math.max(max, args[i].evaluate(in));
+                    }
+                    return max;
+                };
+            case "abs":
+                if (args.length != 1) {
+                    throw error("abs expects exactly one argument");
+                }
+                RateExpression arg = args[0];
+                return in -> Math.abs(arg.evaluate(in));
+            default:
+                throw error("Unknown function '" + name + "'");
+        }
+    }
+
+    private void requireArguments(String name, RateExpression[] args, int minimum) {
+        if (args.length < minimum) {
+            throw error(name + " expects at least " + minimum + " argument(s)");
+        }
+    }
+
+    private String parseIdentifier() {
+        skipWhitespace();
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Identifier expected");
+        }
+        return source.substring(start, position);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("'" + expected + "' expected");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in expression: " + source);
+    }
+}
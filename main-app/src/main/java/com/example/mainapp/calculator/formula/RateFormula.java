@@ -0,0 +1,103 @@
+package com.example.mainapp.calculator.formula;
+
+import com.example.mainapp.model.Rate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bir türev kurun derlenmiş formülü. Girdiler tanımdaki sırayla slot olarak okunur.
+ */
+public final class RateFormula {
+
+    private final String rateName;
+    private final String[] inputs;
+    private final RateExpression bid;
+    private final RateExpression ask;
+    private final double scaleFactor;
+
+    private RateFormula(String rateName, String[] inputs, RateExpression bid, RateExpression ask, int scale) {
+        this.rateName = rateName;
+        this.inputs = inputs;
+        this.bid = bid;
+        this.ask = ask;
+        this.scaleFactor = Math.pow(10, scale);
+    }
+
+    /**
+     * Tanımı derler
+     * @param definition Türev kur tanımı
+     * @return Derlenmiş formül
+     * @throws IllegalArgumentException tanım eksik ya da ifadeler geçersizse
+     */
+    public static RateFormula compile(DerivedRateDefinition definition) {
+        String name = definition.getName();
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Derived rate definition without name");
+        }
+
+        List<String> inputs = definition.getInputs();
+        if (inputs == null || inputs.isEmpty()) {
+            throw new IllegalArgumentException("Derived rate " + name + " declares no inputs");
+        }
+        Set<String> unique = new HashSet<>(inputs);
+        if (unique.size() != inputs.size()) {
+            throw new IllegalArgumentException("Derived rate " + name + " declares duplicate inputs: " + inputs);
+        }
+        if (unique.contains(name)) {
+            throw new IllegalArgumentException("Derived rate " + name + " uses itself as an input");
+        }
+        if (definition.getScale() < 0) {
+            throw new IllegalArgumentException("Derived rate " + name + " has negative scale");
+        }
+
+        try {
+            return new RateFormula(name, inputs.toArray(new String[0]),
+                    RateExpressionParser.parse(definition.getBid(), inputs),
+                    RateExpressionParser.parse(definition.getAsk(), inputs),
+                    definition.getScale());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid formula for derived rate " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    public String getRateName() {
+        return rateName;
+    }
+
+    /**
+     * Girdi adları; indeksleri {@link #evaluate(Rate[])} dizisindeki slotlardır.
+     * Dönen dizi paylaşılır, değiştirilmemelidir.
+     * @return Girdi adları
+     */
+    public String[] getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Formülü değerlendirir
+     * @param inputValues {@link #getInputs()} sırasıyla girdi kurları
+     * @return Hesaplanan kur veya sonuç sayı değilse null
+     */
+    public Rate evaluate(Rate[] inputValues) {
+        double bidValue = round(bid.evaluate(inputValues));
+        double askValue = round(ask.evaluate(inputValues));
+        if (!Double.isFinite(bidValue) || !Double.isFinite(askValue)) {
+            return null;
+        }
+
+        Rate calculatedRate = new Rate();
+        calculatedRate.setRateName(rateName);
+        calculatedRate.setBid(bidValue);
+        calculatedRate.setAsk(askValue);
+        calculatedRate.setTimestamp(LocalDateTime.now());
+        calculatedRate.setCalculated(true);
+        return calculatedRate;
+    }
+
+    private double round(double value) {
+        return Math.round(value * scaleFactor) / scaleFactor;
+    }
+}
@@ -1,20 +1,44 @@
 package com.example.mainapp.collector;
 
+import com.example.mainapp.collector.health.HashedTimingWheel;
 import com.example.mainapp.coordinator.CoordinatorCallBack;
 import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 
 /**
- * Platform bağlayıcıları için temel işlevselliği sağlayan soyut sınıf
+ * Platform bağlayıcıları için temel işlevselliği sağlayan soyut sınıf.
+ * <p>
+ * Bağlantı kurulmadan gelen abonelikler kuyruğa alınır ve bağlayıcı {@link #onConnectionEstablished()}
+ * çağırdığında yapılır; böylece başlangıçta abonelikler bağlantıyı beklemez. Başlangıçtan bağlantıya ve
+ * ilk tick'e kadar geçen süreler loglanır ve {@code connector.startup.timeToConnect} /
+ * {@code connector.startup.timeToFirstTick} gauge'ları ile yayınlanır.
+ * <p>
+ * Sağlık kontrolleri tüm bağlayıcıların paylaştığı {@link HashedTimingWheel} üzerinde yürür. Abone olunan
+ * her kur için bir son tarih tutulur; tick bu tarihi yalnızca son tick zamanını yazarak ileri atar, süre
+ * dolduğunda çark tarihi son tick'e göre yeniden kurar. {@code health.rateTimeoutMs} boyunca tick almayan
+ * kurlar tek tek {@link RateStatus#UNAVAILABLE} olarak bildirilir. Platform genelinde
+ * {@code health.platformTimeoutMs} boyunca yanıt gelmezse bağlantı yenilenir.
+ * <p>
+ * Bağlayıcılar tick'leri teslim etmeden önce yinelenen tick süzgecinden geçirir: alış, satış ve zaman
+ * damgası kur için son teslim edilen tick ile aynı olan tick düşürülür, böylece koordinatör, önbellek,
+ * türev kur hesabı ve Kafka yayını tekrar çalışmaz. Düşürülen ve geçen tick sayıları
+ * {@code connector.ticks.suppressed} / {@code connector.ticks.forwarded} sayaçları ile yayınlanır.
+ * Süzgeç {@code ticks.suppressDuplicates=false} ile kapatılabilir.
  */
 public abstract class DataCollector implements PlatformConnector, Runnable {
 
@@ -23,17 +47,39 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
     protected String platformName;
     protected CoordinatorCallBack callback;
     protected Properties config;
-    protected final Set<String> subscribedRates = new HashSet<>();
+    protected final Set<String> subscribedRates = ConcurrentHashMap.newKeySet();
     protected Thread workerThread;
     protected final AtomicBoolean running = new AtomicBoolean(false);
 
-    // Platform sağlık kontrolü için zamanlayıcı
-    private ScheduledExecutorService healthCheckScheduler;
-    // Sağlık kontrolü aralığı (30 saniye)
-    private static final long HEALTH_CHECK_INTERVAL = 30000;
     // Platform yanıt vermeme süresi (60 saniye)
     private static final long PLATFORM_TIMEOUT = 60000;
-    private long lastResponseTime;
+    // Kur başına tick gelmeme süresi (15 saniye)
+    private static final long RATE_TIMEOUT = 15000;
+    private volatile long lastResponseTime;
+    private final long platformTimeoutMs;
+    private final long rateTimeoutNanos;
+
+    // Tüm bağlayıcıların paylaştığı sağlık kontrolü çarkı
+    private HashedTimingWheel healthCheckWheel;
+    private PlatformHealthCheck platformHealthCheck;
+    // Abone olunan kurların son tarihleri
+    private final Map<String, RateHealthCheck> rateHealthChecks = new ConcurrentHashMap<>();
+    private final AtomicBoolean reconnecting = new AtomicBoolean(false);
+
+    // Kur başına son teslim edilen tick; bir bağlayıcı birden çok thread'den teslim edebilir (REST akış ve
+    // yoklama yolları), bu yüzden her kaydın güncellemesi kendi kilidiyle yapılır
+    private final boolean suppressDuplicates;
+    private final Map<String, LastTick> lastTicks = new ConcurrentHashMap<>();
+    // Teslim thread'lerince artırılır, sayaçlar tarafından okunur
+    private final LongAdder suppressedTicks = new LongAdder();
+    private final LongAdder forwardedTicks = new LongAdder();
+
+    // Bağlantı kurulmadan gelen abonelikler
+    private final Set<String> queuedSubscriptions = ConcurrentHashMap.newKeySet();
+    // Başlangıç ölçümleri (System.nanoTime)
+    private volatile long startNanos;
+    private volatile long timeToConnectNanos = -1;
+    private volatile long timeToFirstTickNanos = -1;
 
     /**
      * Constructor
@@ -41,9 +87,41 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
      * @param config Platform konfigürasyonu
      */
     public DataCollector(String platformName, Properties config) {
+        this(platformName, config, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform adı
+     * @param config Platform konfigürasyonu
+     * @param meterRegistry Bağlayıcı ölçümlerinin kaydedileceği registry
+     */
+    public DataCollector(String platformName, Properties config, MeterRegistry meterRegistry) {
         this.platformName = platformName;
         this.config = config;
         this.lastResponseTime = System.currentTimeMillis();
+        this.platformTimeoutMs = Long.parseLong(config.getProperty("health.platformTimeoutMs",
+                String.valueOf(PLATFORM_TIMEOUT)));
+        this.rateTimeoutNanos = Long.parseLong(config.getProperty("health.rateTimeoutMs",
+                String.valueOf(RATE_TIMEOUT))) * 1_000_000L;
+        this.suppressDuplicates = Boolean.parseBoolean(config.getProperty("ticks.suppressDuplicates", "true"));
+
+        Gauge.builder("connector.startup.timeToConnect", this, DataCollector::getTimeToConnectMs)
+                .description("Time from start to the first connection to the platform (ms)")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        Gauge.builder("connector.startup.timeToFirstTick", this, DataCollector::getTimeToFirstTickMs)
+                .description("Time from start to the first tick delivered by the platform (ms)")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        FunctionCounter.builder("connector.ticks.suppressed", this, DataCollector::getSuppressedTicks)
+                .description("Ticks dropped because they repeat the last delivered tick of the rate")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        FunctionCounter.builder("connector.ticks.forwarded", this, DataCollector::getForwardedTicks)
+                .description("Ticks passed by the duplicate filter to the coordinator")
+                .tag("platform", platformName)
+                .register(meterRegistry);
     }
 
     @Override
@@ -51,6 +129,14 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
         this.callback = callback;
     }
 
+    /**
+     * Sağlık kontrollerinin yürüyeceği çarkı ayarlar; ayarlanmazsa varsayılan çark kullanılır
+     * @param healthCheckWheel Paylaşılan zamanlama çarkı
+     */
+    public void setHealthCheckWheel(HashedTimingWheel healthCheckWheel) {
+        this.healthCheckWheel = healthCheckWheel;
+    }
+
     @Override
     public String getPlatformName() {
         return platformName;
@@ -60,9 +146,10 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
     public void start() {
         if (running.compareAndSet(false, true)) {
             logger.info("Starting data collector for platform: {}", platformName);
-            workerThread = new Thread(this, "DataCollector-" + platformName);
-            workerThread.setDaemon(true);
-            workerThread.start();
+            startNanos = System.nanoTime();
+            timeToConnectNanos = -1;
+            timeToFirstTickNanos = -1;
+            startWorker();
 
             // Platform sağlık kontrolünü başlat
             scheduleHealthCheck();
@@ -77,6 +164,7 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
             logger.info("Stopping data collector for platform: {}", platformName);
 
             // Tüm abonelikleri iptal et
+            queuedSubscriptions.clear();
             Set<String> rates = new HashSet<>(subscribedRates);
             rates.forEach(rateName -> unsubscribe(platformName, rateName));
 
@@ -84,20 +172,15 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
             disconnect(platformName, null, null);
 
             // Thread'i durdur
-            if (workerThread != null) {
-                workerThread.interrupt();
-                try {
-                    workerThread.join(5000);
-                } catch (InterruptedException e) {
-                    logger.error("Interrupted while waiting for worker thread to stop", e);
-                    Thread.currentThread().interrupt();
-                }
-            }
+            stopWorker();
 
-            // Sağlık kontrolünü durdur
-            if (healthCheckScheduler != null) {
-                healthCheckScheduler.shutdownNow();
+            // Sağlık kontrollerini durdur
+            if (platformHealthCheck != null) {
+                platformHealthCheck.cancel();
             }
+            rateHealthChecks.values().forEach(HashedTimingWheel.Timeout::cancel);
+            rateHealthChecks.clear();
+            lastTicks.clear();
 
             logger.info("Data collector for platform {} stopped", platformName);
         } else {
@@ -105,6 +188,32 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
         }
     }
 
+    /**
+     * Bağlayıcının işini yürütecek thread'i başlatır. Varsayılan olarak platforma özel bir
+     * thread {@link #run()} metodunu çalıştırır; paylaşılan bir olay döngüsü kullanan bağlayıcılar
+     * bu metodu ezebilir.
+     */
+    protected void startWorker() {
+        workerThread = new Thread(this, "DataCollector-" + platformName);
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    /**
+     * {@link #startWorker()} ile başlatılan thread'i durdurur
+     */
+    protected void stopWorker() {
+        if (workerThread != null) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(5000);
+            } catch (InterruptedException e) {
+                logger.error("Interrupted while waiting for worker thread to stop", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * Kur verilerine abone olduktan sonra yapılacak işlemleri gerçekleştirir
      * @param rateName Kur adı
@@ -114,6 +223,7 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
         if (success) {
             logger.info("Successfully subscribed to rate {} on platform {}", rateName, platformName);
             subscribedRates.add(rateName);
+            watchRate(rateName);
         } else {
             logger.warn("Failed to subscribe to rate {} on platform {}", rateName, platformName);
         }
@@ -128,11 +238,223 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
         if (success) {
             logger.info("Successfully unsubscribed from rate {} on platform {}", rateName, platformName);
             subscribedRates.remove(rateName);
+            RateHealthCheck check = rateHealthChecks.remove(rateName);
+            if (check != null) {
+                check.cancel();
+            }
+            lastTicks.remove(rateName);
         } else {
             logger.warn("Failed to unsubscribe from rate {} on platform {}", rateName, platformName);
         }
     }
 
+    /**
+     * Bağlantı henüz kurulmamışken gelen aboneliği kuyruğa alır
+     * @param rateName Kur adı
+     * @param connected Bağlayıcının bağlantı durumu; kuyruğa alırken bağlantı kurulduysa abonelik hemen yapılır
+     * @return Kuyruğa alındıysa ya da yapıldıysa true; bağlayıcı çalışmıyorsa false
+     */
+    protected boolean queueSubscription(String rateName, BooleanSupplier connected) {
+        if (!running.get()) {
+            return false;
+        }
+        if (queuedSubscriptions.add(rateName)) {
+            logger.info("Platform {} not connected yet, subscription to rate {} queued", platformName, rateName);
+        }
+
+        // Bağlantı bu arada kurulduysa kuyruk boşaltılmış olabilir
+        if (connected.getAsBoolean() && queuedSubscriptions.remove(rateName)) {
+            return subscribe(platformName, rateName);
+        }
+        return true;
+    }
+
+    /**
+     * Kuyruktaki aboneliği iptal eder
+     * @param rateName Kur adı
+     * @return Kur kuyruktaysa true
+     */
+    protected boolean dequeueSubscription(String rateName) {
+        boolean removed = queuedSubscriptions.remove(rateName);
+        if (removed) {
+            logger.info("Queued subscription to rate {} on platform {} cancelled", rateName, platformName);
+        }
+        return removed;
+    }
+
+    /**
+     * Bağlayıcı bağlantı kurulduğunda çağırır: ilk bağlantının süresini kaydeder ve kuyruktaki
+     * abonelikleri yapar
+     */
+    protected void onConnectionEstablished() {
+        if (timeToConnectNanos < 0 && startNanos != 0) {
+            timeToConnectNanos = System.nanoTime() - startNanos;
+            logger.info("Platform {} connected {} ms after start", platformName, getTimeToConnectMs());
+        }
+
+        // Bağlantı yine koparsa abonelik tekrar kuyruğa girer, bu yüzden kopya üzerinde dolaşılır
+        for (String rateName : new HashSet<>(queuedSubscriptions)) {
+            if (queuedSubscriptions.remove(rateName)) {
+                subscribe(platformName, rateName);
+            }
+        }
+    }
+
+    /**
+     * Bağlayıcı bir kurun tick'ini teslim etmeden önce çağırır; ilk tick'te başlangıçtan bu yana geçen
+     * süre raporlanır ve kurun sağlık kontrolü son tarihi ileri atılır
+     * @param rateName Kur adı
+     */
+    protected final void recordTick(String rateName) {
+        recordFirstTick();
+        markRateFresh(rateName, System.nanoTime());
+    }
+
+    /**
+     * {@link #recordTick(String)} ile aynı, paketteki tüm tick'ler için tek zaman okumasıyla
+     * @param batch Teslim edilecek tick paketi
+     */
+    protected final void recordTicks(TickBatch batch) {
+        recordFirstTick();
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            markRateFresh(batch.getRateName(i), now);
+        }
+    }
+
+    /**
+     * Kurun verisi platformca hâlâ güncel teyit edildiğinde (ör. değişmedi yanıtı) çağrılır
+     * @param rateName Kur adı
+     */
+    protected final void markRateFresh(String rateName) {
+        markRateFresh(rateName, System.nanoTime());
+    }
+
+    private void markRateFresh(String rateName, long nowNanos) {
+        RateHealthCheck check = rateHealthChecks.get(rateName);
+        if (check != null) {
+            check.lastTickNanos = nowNanos;
+        }
+    }
+
+    /**
+     * Tick kur için son teslim edilen tick ile aynıysa true döner ve tick düşürülmüş sayılır; değilse
+     * tick son teslim edilen olarak kaydedilir. Aynı veri platformca teyit edildiği için kurun sağlık
+     * kontrolü son tarihi yine ileri atılır (teslim thread'i).
+     * @param rateName Kur adı
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestampNanos Zaman damgası, yerel saatin epoch nanosaniyesi
+     * @return Tick düşürülmeliyse true
+     */
+    protected final boolean isDuplicateTick(String rateName, double bid, double ask, long timestampNanos) {
+        if (!suppressDuplicates) {
+            return false;
+        }
+        if (isDuplicate(rateName, bid, ask, timestampNanos)) {
+            markRateFresh(rateName, System.nanoTime());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Paketteki yinelenen tick'leri yerinde çıkarır, kalan tick'lerin sırası korunur (teslim thread'i)
+     * @param batch Teslim edilecek tick paketi
+     */
+    protected final void suppressDuplicateTicks(TickBatch batch) {
+        if (!suppressDuplicates) {
+            return;
+        }
+        int kept = 0;
+        long now = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String rateName = batch.getRateName(i);
+            if (isDuplicate(rateName, batch.getBid(i), batch.getAsk(i), batch.getTimestampNanos(i))) {
+                if (now == 0) {
+                    now = System.nanoTime();
+                }
+                markRateFresh(rateName, now);
+                continue;
+            }
+            if (kept != i) {
+                batch.move(i, kept);
+            }
+            kept++;
+        }
+        batch.truncate(kept);
+    }
+
+    private boolean isDuplicate(String rateName, double bid, double ask, long timestampNanos) {
+        LastTick last = lastTicks.get(rateName);
+        if (last == null) {
+            last = lastTicks.putIfAbsent(rateName, new LastTick(bid, ask, timestampNanos));
+            if (last == null) {
+                forwardedTicks.increment();
+                return false;
+            }
+        }
+        if (!last.update(bid, ask, timestampNanos)) {
+            suppressedTicks.increment();
+            return true;
+        }
+        forwardedTicks.increment();
+        return false;
+    }
+
+    /**
+     * Kur durumunu koordinatöre bildirir. Kur kullanılamaz ya da hatalıysa koordinatör onu önbellekten
+     * çıkarır; son teslim edilen tick unutulur ki sonraki tick aynı veriyi taşısa da teslim edilsin.
+     * @param rateName Kur adı
+     * @param rateStatus Kur durumu
+     */
+    protected void reportRateStatus(String rateName, RateStatus rateStatus) {
+        if (rateStatus == RateStatus.UNAVAILABLE || rateStatus == RateStatus.ERROR) {
+            lastTicks.remove(rateName);
+        }
+        if (callback != null) {
+            callback.onRateStatus(platformName, rateName, rateStatus);
+        }
+    }
+
+    /**
+     * @return Yinelendiği için düşürülen tick sayısı
+     */
+    public long getSuppressedTicks() {
+        return suppressedTicks.sum();
+    }
+
+    /**
+     * @return Yinelenen tick süzgecinden geçen tick sayısı
+     */
+    public long getForwardedTicks() {
+        return forwardedTicks.sum();
+    }
+
+    private void recordFirstTick() {
+        if (timeToFirstTickNanos < 0 && startNanos != 0) {
+            timeToFirstTickNanos = System.nanoTime() - startNanos;
+            logger.info("Platform {} time to first tick: {} ms (connected after {} ms)",
+                    platformName, getTimeToFirstTickMs(), getTimeToConnectMs());
+        }
+    }
+
+    /**
+     * @return Başlangıçtan ilk bağlantıya geçen süre (ms), henüz bağlanmadıysa NaN
+     */
+    public double getTimeToConnectMs() {
+        long nanos = timeToConnectNanos;
+        return nanos < 0 ? Double.NaN : nanos / 1e6;
+    }
+
+    /**
+     * @return Başlangıçtan ilk tick'e geçen süre (ms), henüz tick gelmediyse NaN
+     */
+    public double getTimeToFirstTickMs() {
+        long nanos = timeToFirstTickNanos;
+        return nanos < 0 ? Double.NaN : nanos / 1e6;
+    }
+
     /**
      * Platform yanıt verme zamanını günceller
      */
@@ -141,26 +463,62 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
     }
 
     /**
-     * Platform sağlık kontrolünü zamanlar
+     * Platform sağlık kontrolünü paylaşılan çarka zamanlar
      */
     protected void scheduleHealthCheck() {
-        healthCheckScheduler = Executors.newSingleThreadScheduledExecutor();
-        healthCheckScheduler.scheduleAtFixedRate(() -> {
-            if (!checkPlatformHealth()) {
-                logger.error("Platform {} health check failed, sending alert", platformName);
-                // Koordinatöre platformun yanıt vermediğini bildir
-                if (callback != null) {
-                    subscribedRates.forEach(rateName ->
-                            callback.onRateStatus(platformName, rateName, RateStatus.UNAVAILABLE));
-                }
-                // Platform bağlantısını yenilemeyi dene
-                if (running.get()) {
+        if (healthCheckWheel == null) {
+            healthCheckWheel = HashedTimingWheel.defaultWheel();
+        }
+        platformHealthCheck = new PlatformHealthCheck();
+        healthCheckWheel.schedule(platformHealthCheck, System.nanoTime() + platformTimeoutMs * 1_000_000L);
+    }
+
+    /**
+     * Abone olunan kur için son tarih kurar; abonelikten sonra hiç tick gelmeyen kur da bildirilir
+     * @param rateName Kur adı
+     */
+    private void watchRate(String rateName) {
+        if (rateTimeoutNanos <= 0 || healthCheckWheel == null) {
+            return;
+        }
+        RateHealthCheck check = new RateHealthCheck(rateName, System.nanoTime());
+        RateHealthCheck previous = rateHealthChecks.put(rateName, check);
+        if (previous != null) {
+            previous.cancel();
+        }
+        healthCheckWheel.schedule(check, check.lastTickNanos + rateTimeoutNanos);
+    }
+
+    /**
+     * Platform yanıt vermediğinde kurları bildirir ve bağlantıyı ayrı bir thread'de yeniler, böylece
+     * çark thread'i bloklanmaz (çark thread'i)
+     */
+    private void onPlatformUnhealthy() {
+        logger.error("Platform {} health check failed, sending alert", platformName);
+        // Koordinatöre platformun yanıt vermediğini bildir; zaten bayat bildirilen kurlar atlanır
+        for (String rateName : subscribedRates) {
+            RateHealthCheck check = rateHealthChecks.get(rateName);
+            if (check == null || check.markStale()) {
+                reportRateStatus(rateName, RateStatus.UNAVAILABLE);
+            }
+        }
+
+        // Platform bağlantısını yenilemeyi dene
+        if (running.get() && reconnecting.compareAndSet(false, true)) {
+            Thread reconnectThread = new Thread(() -> {
+                try {
                     logger.info("Attempting to reconnect to platform: {}", platformName);
                     disconnect(platformName, null, null);
                     connect(platformName, null, null);
+                } catch (RuntimeException e) {
+                    logger.error("Reconnect to platform {} failed", platformName, e);
+                } finally {
+                    reconnecting.set(false);
                 }
-            }
-        }, HEALTH_CHECK_INTERVAL, HEALTH_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+            }, "DataCollector-reconnect-" + platformName);
+            reconnectThread.setDaemon(true);
+            reconnectThread.start();
+        }
     }
 
     /**
@@ -174,6 +532,113 @@ public abstract class DataCollector implements PlatformConnector, Runnable {
 
         // Son yanıt üzerinden geçen süreyi kontrol et
         long timeSinceLastResponse = System.currentTimeMillis() - lastResponseTime;
-        return timeSinceLastResponse < PLATFORM_TIMEOUT;
+        return timeSinceLastResponse < platformTimeoutMs;
+    }
+
+    /**
+     * Bir kurun son teslim edilen tick'i. Karşılaştırma ve güncelleme tek adımda yapılır, aynı kur için iki
+     * teslim thread'i yarışsa da bir tick ya düşürülür ya kaydedilir.
+     */
+    private static final class LastTick {
+
+        private double bid;
+        private double ask;
+        private long timestampNanos;
+
+        LastTick(double bid, double ask, long timestampNanos) {
+            this.bid = bid;
+            this.ask = ask;
+            this.timestampNanos = timestampNanos;
+        }
+
+        /**
+         * Tick son kayıtla aynı değilse onu son kayıt yapar
+         * @return Tick yeniyse true, yineleniyorsa false
+         */
+        synchronized boolean update(double bid, double ask, long timestampNanos) {
+            if (this.timestampNanos == timestampNanos
+                    && Double.compare(this.bid, bid) == 0
+                    && Double.compare(this.ask, ask) == 0) {
+                return false;
+            }
+            this.bid = bid;
+            this.ask = ask;
+            this.timestampNanos = timestampNanos;
+            return true;
+        }
+    }
+
+    /**
+     * Platformun son yanıtına göre yeniden kurulan son tarih (çark thread'i)
+     */
+    private class PlatformHealthCheck extends HashedTimingWheel.Timeout {
+
+        @Override
+        protected void expire(long nowNanos) {
+            if (!running.get()) {
+                return;
+            }
+            if (checkPlatformHealth()) {
+                // Son yanıttan itibaren süre dolunca tekrar bakılır
+                long remainingMs = platformTimeoutMs - (System.currentTimeMillis() - lastResponseTime);
+                healthCheckWheel.schedule(this, nowNanos + Math.max(1, remainingMs) * 1_000_000L);
+            } else {
+                onPlatformUnhealthy();
+                healthCheckWheel.schedule(this, nowNanos + platformTimeoutMs * 1_000_000L);
+            }
+        }
+    }
+
+    /**
+     * Bir kurun son tarihi. Tick yalnızca {@link #lastTickNanos} alanını yazar; bayat bilgisi yalnızca
+     * çark thread'inde okunur ve yazılır.
+     */
+    private class RateHealthCheck extends HashedTimingWheel.Timeout {
+
+        private final String rateName;
+        private volatile long lastTickNanos;
+        private boolean stale;
+
+        RateHealthCheck(String rateName, long nowNanos) {
+            this.rateName = rateName;
+            this.lastTickNanos = nowNanos;
+        }
+
+        @Override
+        protected void expire(long nowNanos) {
+            if (!running.get()) {
+                return;
+            }
+
+            long deadline = lastTickNanos + rateTimeoutNanos;
+            if (deadline - nowNanos > 0) {
+                // Son tarihten sonra tick gelmiş, tarih son tick'e göre yeniden kurulur
+                if (stale) {
+                    stale = false;
+                    logger.info("Rate {} on platform {} is receiving ticks again", rateName, platformName);
+                }
+                healthCheckWheel.schedule(this, deadline);
+                return;
+            }
+
+            if (markStale()) {
+                logger.warn("No tick for rate {} on platform {} for {} ms, marking it unavailable",
+                        rateName, platformName, (nowNanos - lastTickNanos) / 1_000_000);
+                reportRateStatus(rateName, RateStatus.UNAVAILABLE);
+            }
+            // Tick'ler yeniden başladığında fark edilmek üzere kur izlenmeye devam eder
+            healthCheckWheel.schedule(this, nowNanos + rateTimeoutNanos);
+        }
+
+        /**
+         * @return Kur bu çağrıyla bayat işaretlendiyse true (çark thread'i)
+         */
+        boolean markStale() {
+            if (stale) {
+                return false;
+            }
+            stale = true;
+            return true;
+        }
     }
 }
\ No newline at end of file
@@ -1,8 +1,13 @@
 package com.example.mainapp.collector.factory;
 
+import com.example.mainapp.collector.DataCollector;
 import com.example.mainapp.collector.PlatformConnector;
+import com.example.mainapp.collector.health.HashedTimingWheel;
+import com.example.mainapp.collector.nio.NioEventLoopGroup;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Constructor;
@@ -16,6 +21,18 @@ public class ConnectorFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(ConnectorFactory.class);
 
+    private final NioEventLoopGroup nioEventLoopGroup;
+    private final MeterRegistry meterRegistry;
+    private final HashedTimingWheel healthCheckWheel;
+
+    @Autowired
+    public ConnectorFactory(NioEventLoopGroup nioEventLoopGroup, MeterRegistry meterRegistry,
+                            HashedTimingWheel healthCheckWheel) {
+        this.nioEventLoopGroup = nioEventLoopGroup;
+        this.meterRegistry = meterRegistry;
+        this.healthCheckWheel = healthCheckWheel;
+    }
+
     /**
      * Create a platform connector dynamically based on class name
      * @param platformName Platform name
@@ -24,6 +41,16 @@ public class ConnectorFactory {
      * @return Created connector or null if creation fails
      */
     public PlatformConnector createConnector(String platformName, String connectorClassName, Properties config) {
+        PlatformConnector connector = instantiate(platformName, connectorClassName, config);
+
+        // All collectors run their health checks on the shared timing wheel
+        if (connector instanceof DataCollector dataCollector) {
+            dataCollector.setHealthCheckWheel(healthCheckWheel);
+        }
+        return connector;
+    }
+
+    private PlatformConnector instantiate(String platformName, String connectorClassName, Properties config) {
         try {
             logger.info("Creating connector for platform {} using class {}", platformName, connectorClassName);
 
@@ -36,6 +63,27 @@ public class ConnectorFactory {
                 return null;
             }
 
+            // Connectors built on the shared NIO event loops receive the loop group and the meter registry
+            Constructor<?> meteredNioConstructor = findConstructor(connectorClass,
+                    String.class, Properties.class, NioEventLoopGroup.class, MeterRegistry.class);
+            if (meteredNioConstructor != null) {
+                return (PlatformConnector) meteredNioConstructor.newInstance(platformName, config,
+                        nioEventLoopGroup, meterRegistry);
+            }
+
+            Constructor<?> nioConstructor = findConstructor(connectorClass,
+                    String.class, Properties.class, NioEventLoopGroup.class);
+            if (nioConstructor != null) {
+                return (PlatformConnector) nioConstructor.newInstance(platformName, config, nioEventLoopGroup);
+            }
+
+            // Connectors reporting their own metrics receive the meter registry
+            Constructor<?> meteredConstructor = findConstructor(connectorClass,
+                    String.class, Properties.class, MeterRegistry.class);
+            if (meteredConstructor != null) {
+                return (PlatformConnector) meteredConstructor.newInstance(platformName, config, meterRegistry);
+            }
+
             // Get constructor
             Constructor<?> constructor = connectorClass.getConstructor(String.class, Properties.class);
 
@@ -52,4 +100,12 @@ public class ConnectorFactory {
 
         return null;
     }
+
+    private static Constructor<?> findConstructor(Class<?> type, Class<?>... parameterTypes) {
+        try {
+            return type.getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.example.mainapp.collector.health;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel shared by all connectors for their health checks.
+ * <p>
+ * Timeouts are hashed by deadline into a fixed ring of buckets. A single thread advances the wheel
+ * once per tick and expires the due entries of the current bucket, so scheduling and expiring a
+ * timeout cost O(1) however many are pending. Deadlines are rounded up to the next tick.
+ * Timeouts are intrusive list nodes: an expired timeout may be scheduled again without allocating.
+ * The wheel thread is started on first use.
+ */
+@Component
+public class HashedTimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private static HashedTimingWheel defaultWheel;
+
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    // Timeouts scheduled by other threads, moved into buckets by the wheel thread
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private Thread workerThread;
+    private volatile boolean running;
+    private long startNanos;
+    // Accessed by the wheel thread only
+    private long tick;
+
+    /**
+     * Constructor
+     * @param tickMs Tick duration (ms), the resolution of deadlines
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    public HashedTimingWheel(@Value("${connector.health.tickMs:100}") long tickMs,
+                             @Value("${connector.health.wheelSize:512}") int wheelSize) {
+        this.tickNanos = Math.max(1, tickMs) * 1_000_000L;
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        logger.info("Health check timing wheel created with {} buckets of {} ms", size, Math.max(1, tickMs));
+    }
+
+    /**
+     * Wheel for connectors created outside the connector factory, with the default settings
+     * @return Process wide default wheel
+     */
+    public static synchronized HashedTimingWheel defaultWheel() {
+        if (defaultWheel == null) {
+            defaultWheel = new HashedTimingWheel(100, 512);
+        }
+        return defaultWheel;
+    }
+
+    /**
+     * Schedules a timeout. A timeout must not be scheduled again before it expired.
+     * @param timeout Timeout to schedule
+     * @param deadlineNanos Deadline on the {@link System#nanoTime()} scale
+     */
+    public void schedule(Timeout timeout, long deadlineNanos) {
+        timeout.deadlineNanos = deadlineNanos;
+        pending.add(timeout);
+        if (!running) {
+            start();
+        }
+    }
+
+    private synchronized void start() {
+        if (running) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        tick = 0;
+        running = true;
+        workerThread = new Thread(this::run, "HealthCheckWheel");
+        workerThread.setDaemon(true);
+        workerThread.start();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(workerThread);
+        try {
+            workerThread.join(5000);
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while waiting for the timing wheel to stop", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long now = System.nanoTime();
+            long tickEnd = startNanos + (tick + 1) * tickNanos;
+            if (now < tickEnd) {
+                LockSupport.parkNanos(this, tickEnd - now);
+                continue;
+            }
+
+            transferPending();
+            expireBucket((int) (tick & mask), now);
+            tick++;
+        }
+        pending.clear();
+        Arrays.fill(buckets, null);
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Bucket of the tick the deadline falls in; it expires when that tick ends
+            long deadlineTick = Math.max(tick, (timeout.deadlineNanos - startNanos) / tickNanos);
+            timeout.rounds = (deadlineTick - tick) / buckets.length;
+            link((int) (deadlineTick & mask), timeout);
+        }
+    }
+
+    private void expireBucket(int index, long now) {
+        Timeout timeout = buckets[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.cancelled) {
+                unlink(index, timeout);
+            } else if (timeout.rounds <= 0) {
+                unlink(index, timeout);
+                try {
+                    timeout.expire(now);
+                } catch (RuntimeException e) {
+                    logger.error("Health check timeout failed", e);
+                }
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void link(int index, Timeout timeout) {
+        Timeout head = buckets[index];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+    }
+
+    private void unlink(int index, Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Entry of the wheel. {@link #expire(long)} runs on the wheel thread and must not block.
+     */
+    public abstract static class Timeout {
+
+        private volatile boolean cancelled;
+        private long deadlineNanos;
+        private long rounds;
+        private Timeout prev;
+        private Timeout next;
+
+        /**
+         * Cancels the timeout; it is dropped from the wheel when its bucket is reached
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Called on the wheel thread once the deadline has passed
+         * @param nowNanos Current {@link System#nanoTime()}
+         */
+        protected abstract void expire(long nowNanos);
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.mainapp.collector.impl;
+
+import com.example.mainapp.collector.DataCollector;
+import com.example.mainapp.collector.protocol.FixMarketDataParser;
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import quickfix.Application;
+import quickfix.ConfigError;
+import quickfix.DefaultMessageFactory;
+import quickfix.FieldNotFound;
+import quickfix.FixVersions;
+import quickfix.Initiator;
+import quickfix.MemoryStoreFactory;
+import quickfix.Message;
+import quickfix.SLF4JLogFactory;
+import quickfix.Session;
+import quickfix.SessionFactory;
+import quickfix.SessionID;
+import quickfix.SessionNotFound;
+import quickfix.SessionSettings;
+import quickfix.SocketInitiator;
+import quickfix.field.MDEntryType;
+import quickfix.field.MDReqID;
+import quickfix.field.MDUpdateType;
+import quickfix.field.MarketDepth;
+import quickfix.field.MsgType;
+import quickfix.field.SubscriptionRequestType;
+import quickfix.field.Symbol;
+import quickfix.field.Text;
+import quickfix.fix44.MarketDataRequest;
+
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * FIX 4.4 platform connection manager.
+ * <p>
+ * Acts as a QuickFIX/J initiator towards the FIX simulator: every subscribed rate is requested with a
+ * MarketDataRequest (snapshot plus updates, bid and offer entries) and re-requested after each logon.
+ * Session level work (logon, heartbeats, sequence numbers, reconnecting) is left to QuickFIX/J; its
+ * message processor thread delivers every callback. MarketDataSnapshotFullRefresh messages are decoded
+ * from their raw text by a {@link FixMarketDataParser} straight into a {@link TickBatch}, without
+ * reading the parsed repeating groups.
+ */
+public class FixPlatformConnector extends DataCollector implements Application {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixPlatformConnector.class);
+
+    private final SessionID sessionId;
+    private final SessionSettings settings;
+    private final String host;
+    private final int port;
+    private final long connectTimeout;
+
+    private final FixMarketDataParser parser = new FixMarketDataParser();
+    private final TickBatch tickBatch = new TickBatch(1);
+    private final Object logonLock = new Object();
+
+    // Threads opening or closing the connection hold this object's lock
+    private Initiator initiator;
+    private volatile boolean loggedOn;
+    private volatile boolean closing;
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     */
+    public FixPlatformConnector(String platformName, Properties config) {
+        this(platformName, config, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param meterRegistry Registry for connector metrics
+     */
+    public FixPlatformConnector(String platformName, Properties config, MeterRegistry meterRegistry) {
+        super(platformName, config, meterRegistry);
+
+        this.host = config.getProperty("fix.host", "fix-simulator");
+        this.port = Integer.parseInt(config.getProperty("fix.port", "8082"));
+        this.connectTimeout = Long.parseLong(config.getProperty("connection.timeoutMs", "30000"));
+        long retryIntervalMs = Long.parseLong(config.getProperty("connection.retryIntervalMs", "5000"));
+
+        this.sessionId = new SessionID(FixVersions.BEGINSTRING_FIX44,
+                config.getProperty("fix.senderCompId", "CLIENT"),
+                config.getProperty("fix.targetCompId", platformName));
+
+        this.settings = new SessionSettings();
+        settings.setString(sessionId, SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.INITIATOR_CONNECTION_TYPE);
+        settings.setString(sessionId, Initiator.SETTING_SOCKET_CONNECT_HOST, host);
+        settings.setLong(sessionId, Initiator.SETTING_SOCKET_CONNECT_PORT, port);
+        settings.setLong(sessionId, Initiator.SETTING_RECONNECT_INTERVAL, Math.max(1, retryIntervalMs / 1000));
+        settings.setLong(sessionId, Session.SETTING_HEARTBTINT,
+                Long.parseLong(config.getProperty("fix.heartBtIntSeconds", "30")));
+        settings.setString(sessionId, Session.SETTING_NON_STOP_SESSION, "Y");
+        // The message store is kept in memory; sequence numbers are reset on every logon
+        settings.setString(sessionId, Session.SETTING_RESET_ON_LOGON, "Y");
+        // Parsing repeating groups needs the dictionary (FIX44.xml in quickfixj-messages-fix44)
+        settings.setString(sessionId, Session.SETTING_USE_DATA_DICTIONARY, "Y");
+        settings.setString(sessionId, Session.SETTING_DATA_DICTIONARY, "FIX44.xml");
+        settings.setString(sessionId, Session.SETTING_VALIDATE_FIELDS_OUT_OF_ORDER, "N");
+        settings.setString(sessionId, Session.SETTING_VALIDATE_USER_DEFINED_FIELDS, "N");
+
+        logger.info("FixPlatformConnector initialized for {} with host={}, port={}, session={}",
+                platformName, host, port, sessionId);
+    }
+
+    @Override
+    protected void startWorker() {
+        // No thread of its own; connecting and reconnecting are run by QuickFIX/J
+        openSession();
+    }
+
+    @Override
+    protected void stopWorker() {
+        // The session was closed by disconnect
+    }
+
+    @Override
+    public void run() {
+        openSession();
+    }
+
+    @Override
+    public boolean connect(String platformName, String userid, String password) {
+        if (loggedOn) {
+            logger.info("Already connected to platform: {}", platformName);
+            return true;
+        }
+
+        if (!openSession()) {
+            return false;
+        }
+        return awaitLogon();
+    }
+
+    @Override
+    public synchronized boolean disconnect(String platformName, String userid, String password) {
+        if (initiator == null) {
+            logger.warn("Not connected to platform: {}", platformName);
+            return true;
+        }
+
+        closing = true;
+        try {
+            // Sends a Logout and waits for its answer
+            initiator.stop();
+        } finally {
+            initiator = null;
+            loggedOn = false;
+            closing = false;
+        }
+
+        logger.info("Disconnected from platform: {}", platformName);
+
+        if (callback != null) {
+            callback.onDisConnect(platformName, true);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean subscribe(String platformName, String rateName) {
+        if (!loggedOn) {
+            // QuickFIX/J is opening the session; the subscription is sent on logon
+            if (queueSubscription(rateName, () -> loggedOn)) {
+                return true;
+            }
+            logger.error("Cannot subscribe - not connected to platform: {}", platformName);
+            return false;
+        }
+
+        boolean success = sendMarketDataRequest(rateName, SubscriptionRequestType.SNAPSHOT_UPDATES);
+        handleSubscriptionResult(rateName, success);
+        return success;
+    }
+
+    @Override
+    public boolean unsubscribe(String platformName, String rateName) {
+        if (dequeueSubscription(rateName)) {
+            return true;
+        }
+        if (!loggedOn) {
+            logger.error("Cannot unsubscribe - not connected to platform: {}", platformName);
+            return false;
+        }
+
+        boolean success = sendMarketDataRequest(rateName,
+                SubscriptionRequestType.DISABLE_PREVIOUS_SNAPSHOT_UPDATE_REQUEST);
+        handleUnsubscriptionResult(rateName, success);
+        return success;
+    }
+
+    private synchronized boolean openSession() {
+        if (initiator != null) {
+            return true;
+        }
+
+        try {
+            Initiator socketInitiator = new SocketInitiator(this, new MemoryStoreFactory(), settings,
+                    new SLF4JLogFactory(settings), new DefaultMessageFactory());
+            socketInitiator.start();
+            initiator = socketInitiator;
+            logger.info("Connecting to FIX server {}:{} for platform {}", host, port, platformName);
+            return true;
+        } catch (ConfigError e) {
+            logger.error("Invalid FIX session configuration for platform {}: {}", platformName, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean awaitLogon() {
+        long deadline = System.currentTimeMillis() + connectTimeout;
+        synchronized (logonLock) {
+            long remaining;
+            while (!loggedOn && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                try {
+                    logonLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        if (!loggedOn) {
+            logger.error("No FIX logon from platform {} within {} ms", platformName, connectTimeout);
+        }
+        return loggedOn;
+    }
+
+    /**
+     * Sends a MarketDataRequest for the bid and offer of one rate; the rate name is the request id
+     * @param rateName Rate name
+     * @param subscriptionRequestType Subscribe or unsubscribe
+     * @return True if the request was queued for sending
+     */
+    private boolean sendMarketDataRequest(String rateName, char subscriptionRequestType) {
+        MarketDataRequest request = new MarketDataRequest(new MDReqID(rateName),
+                new SubscriptionRequestType(subscriptionRequestType), new MarketDepth(1));
+        if (subscriptionRequestType == SubscriptionRequestType.SNAPSHOT_UPDATES) {
+            request.set(new MDUpdateType(MDUpdateType.FULL_REFRESH));
+        }
+
+        MarketDataRequest.NoMDEntryTypes entryTypes = new MarketDataRequest.NoMDEntryTypes();
+        entryTypes.set(new MDEntryType(MDEntryType.BID));
+        request.addGroup(entryTypes);
+        entryTypes.set(new MDEntryType(MDEntryType.OFFER));
+        request.addGroup(entryTypes);
+
+        MarketDataRequest.NoRelatedSym relatedSym = new MarketDataRequest.NoRelatedSym();
+        relatedSym.set(new Symbol(rateName));
+        request.addGroup(relatedSym);
+
+        try {
+            boolean sent = Session.sendToTarget(request, sessionId);
+            if (sent) {
+                // Update last response time for sending requests too
+                updateLastResponseTime();
+            }
+            return sent;
+        } catch (SessionNotFound e) {
+            logger.error("FIX session {} not found for platform {}", sessionId, platformName);
+            return false;
+        }
+    }
+
+    // ---- QuickFIX/J message processor thread ----
+
+    @Override
+    public void onCreate(SessionID sessionId) {
+        logger.debug("FIX session created: {}", sessionId);
+    }
+
+    @Override
+    public void onLogon(SessionID sessionId) {
+        logger.info("Successfully logged on to FIX server for platform {}", platformName);
+
+        synchronized (logonLock) {
+            loggedOn = true;
+            logonLock.notifyAll();
+        }
+        updateLastResponseTime();
+
+        if (callback != null) {
+            callback.onConnect(platformName, true);
+        }
+
+        // Renew the existing subscriptions on reconnect
+        for (String rateName : subscribedRates) {
+            sendMarketDataRequest(rateName, SubscriptionRequestType.SNAPSHOT_UPDATES);
+        }
+        onConnectionEstablished();
+    }
+
+    @Override
+    public void onLogout(SessionID sessionId) {
+        boolean wasLoggedOn = loggedOn;
+        loggedOn = false;
+
+        if (closing || !wasLoggedOn) {
+            return;
+        }
+
+        // QuickFIX/J retries the connection itself
+        logger.error("FIX session for platform {} logged out", platformName);
+        if (callback != null) {
+            callback.onDisConnect(platformName, false);
+
+            // Notify UNAVAILABLE status for all rates
+            subscribedRates.forEach(rateName ->
+                    reportRateStatus(rateName, RateStatus.UNAVAILABLE));
+        }
+    }
+
+    @Override
+    public void toAdmin(Message message, SessionID sessionId) {
+        // No fields to add to session messages
+    }
+
+    @Override
+    public void fromAdmin(Message message, SessionID sessionId) {
+        // Heartbeats also show that the platform is answering
+        updateLastResponseTime();
+    }
+
+    @Override
+    public void toApp(Message message, SessionID sessionId) {
+        // No fields to add to outgoing application messages
+    }
+
+    @Override
+    public void fromApp(Message message, SessionID sessionId) throws FieldNotFound {
+        updateLastResponseTime();
+
+        String msgType = message.getHeader().getString(MsgType.FIELD);
+        if (MsgType.MARKET_DATA_SNAPSHOT_FULL_REFRESH.equals(msgType)) {
+            handleMarketData(message);
+        } else if (MsgType.MARKET_DATA_REQUEST_REJECT.equals(msgType)) {
+            logger.error("Market data request {} rejected by platform {}: {}", message.getString(MDReqID.FIELD),
+                    platformName, message.isSetField(Text.FIELD) ? message.getString(Text.FIELD) : "no reason given");
+        } else {
+            logger.debug("Ignoring FIX message of type {} from platform {}", msgType, platformName);
+        }
+    }
+
+    private void handleMarketData(Message message) {
+        // Raw text of a parsed message; messages built locally have none
+        String raw = message.toRawString();
+        if (!parser.parse(raw != null ? raw : message.toString())) {
+            logger.warn("Malformed market data from platform {}: {}", platformName, message);
+            return;
+        }
+
+        long epochNanos = parser.hasTimestamp()
+                ? parser.getEpochNanos()
+                : TickBatch.toEpochNanos(LocalDateTime.now());
+        if (isDuplicateTick(parser.getSymbol(), parser.getBid(), parser.getAsk(), epochNanos)) {
+            // Same as the last delivered tick
+            return;
+        }
+        tickBatch.add(parser.getSymbol(), parser.getBid(), parser.getAsk(), epochNanos);
+        recordTicks(tickBatch);
+        try {
+            if (callback != null) {
+                callback.onRateBatch(platformName, tickBatch);
+            }
+        } catch (RuntimeException e) {
+            // A coordinator failure must not drop the session
+            logger.error("Error delivering tick from platform {}", platformName, e);
+        } finally {
+            tickBatch.clear();
+        }
+    }
+}
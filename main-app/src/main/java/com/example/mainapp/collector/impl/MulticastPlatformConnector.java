@@ -0,0 +1,705 @@
+package com.example.mainapp.collector.impl;
+
+import com.example.mainapp.collector.DataCollector;
+import com.example.mainapp.collector.nio.NioChannelHandler;
+import com.example.mainapp.collector.nio.NioEventLoop;
+import com.example.mainapp.collector.nio.NioEventLoopGroup;
+import com.example.mainapp.collector.protocol.MulticastTickDecoder;
+import com.example.mainapp.collector.protocol.TcpTick;
+import com.example.mainapp.collector.protocol.TcpTickParser;
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * UDP multicast platform connection manager.
+ * <p>
+ * The platform publishes every update once, as a sequenced datagram to a multicast group, so its cost does
+ * not grow with the number of consumers. The connector joins the group with a {@link DatagramChannel}
+ * registered on a shared {@link NioEventLoop}; all datagrams of one wake-up are decoded in place by a
+ * {@link MulticastTickDecoder} and delivered as a single {@link TickBatch}. The group carries every rate of
+ * the platform, so subscribing only filters what is delivered.
+ * <p>
+ * Sequence numbers are consecutive. A datagram numbered past the expected one, or a heartbeat announcing a
+ * tick that never arrived, is a gap: the connector asks the platform for a snapshot over a short TCP
+ * connection ({@code snapshot} command, answered with the last published sequence number and the value of
+ * every rate at that point), buffers the live datagrams meanwhile, then applies the snapshot and replays
+ * the buffered datagrams that follow it. The first snapshot is taken when the group is joined. Sequence
+ * numbers belong to a publisher session carried in every datagram and snapshot; a datagram of a new session
+ * means the publisher restarted and numbers from 1 again, so the connector drops its sequence state and
+ * recovers from a snapshot of the new session the same way. Gaps, lost
+ * datagrams and recovery times are recorded as {@code connector.multicast.gaps},
+ * {@code connector.multicast.missed} and {@code connector.multicast.recovery.time}.
+ */
+public class MulticastPlatformConnector extends DataCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MulticastPlatformConnector.class);
+
+    private static final long EVENT_LOOP_TIMEOUT_MS = 5000;
+    // Maximum datagrams read per wake-up, so other channels of the loop do not wait
+    private static final int MAX_DATAGRAMS_PER_READ = 256;
+
+    private final NioEventLoop eventLoop;
+    private final String group;
+    private final int port;
+    private final String interfaceName;
+    private final int receiveBufferSize;
+    private final String snapshotHost;
+    private final int snapshotPort;
+    private final int snapshotTimeoutMs;
+    private final long snapshotRetryIntervalMs;
+    private final int recoveryBufferSize;
+    private final int retryCount;
+    private final long retryIntervalMs;
+
+    private final ChannelHandler channelHandler = new ChannelHandler();
+    private final ByteBuffer datagram = ByteBuffer.allocate(1024);
+    private final MulticastTickDecoder decoder = new MulticastTickDecoder();
+    private final TickBatch tickBatch = new TickBatch();
+    private final Counter gapCounter;
+    private final Counter missedCounter;
+    private final Timer recoveryTimer;
+
+    private volatile boolean connected;
+
+    // The fields below are only accessed by the event loop thread
+    private DatagramChannel channel;
+    private SelectionKey key;
+    private int failedAttempts;
+    // Incremented on every join; a snapshot requested for an earlier join is ignored
+    private int generation;
+    // Last known value of each rate, delivered immediately on subscribe
+    private final Map<String, LatestTick> latestTicks = new HashMap<>();
+    // Publisher session the sequence numbers belong to, 0 until the first datagram
+    private long session;
+    // Next expected sequence number
+    private long expectedSequence;
+    // Datagrams arriving while a snapshot is awaited are buffered
+    private boolean recovering;
+    private boolean snapshotInFlight;
+    // Time the gap was detected, -1 for the initial sync after a join
+    private long recoveryStartNanos = -1;
+    private final TickBatch bufferedTicks = new TickBatch();
+    private long[] bufferedSequences = new long[64];
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param eventLoopGroup Shared event loops
+     */
+    public MulticastPlatformConnector(String platformName, Properties config, NioEventLoopGroup eventLoopGroup) {
+        this(platformName, config, eventLoopGroup, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param eventLoopGroup Shared event loops
+     * @param meterRegistry Registry for connector and sequence gap metrics
+     */
+    public MulticastPlatformConnector(String platformName, Properties config, NioEventLoopGroup eventLoopGroup,
+                                      MeterRegistry meterRegistry) {
+        super(platformName, config, meterRegistry);
+
+        this.group = config.getProperty("multicast.group", "239.1.1.1");
+        this.port = Integer.parseInt(config.getProperty("multicast.port", "9001"));
+        this.interfaceName = config.getProperty("multicast.interface", "lo");
+        this.receiveBufferSize = Integer.parseInt(config.getProperty("multicast.receiveBufferSize", "1048576"));
+        this.snapshotHost = config.getProperty("multicast.snapshot.host", "tcp-simulator");
+        this.snapshotPort = Integer.parseInt(config.getProperty("multicast.snapshot.port", "8081"));
+        this.snapshotTimeoutMs = Integer.parseInt(config.getProperty("multicast.snapshot.timeoutMs", "5000"));
+        this.snapshotRetryIntervalMs = Long.parseLong(config.getProperty("multicast.snapshot.retryIntervalMs", "1000"));
+        this.recoveryBufferSize = Integer.parseInt(config.getProperty("multicast.recoveryBufferSize", "4096"));
+        this.retryCount = Integer.parseInt(config.getProperty("connection.retryCount", "10"));
+        this.retryIntervalMs = Long.parseLong(config.getProperty("connection.retryIntervalMs", "15000"));
+
+        this.gapCounter = Counter.builder("connector.multicast.gaps")
+                .description("Sequence gaps detected in the multicast feed")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        this.missedCounter = Counter.builder("connector.multicast.missed")
+                .description("Datagrams lost in detected sequence gaps")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        this.recoveryTimer = Timer.builder("connector.multicast.recovery.time")
+                .description("Time from detecting a sequence gap to being back in sequence")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        this.eventLoop = eventLoopGroup.next();
+
+        logger.info("MulticastPlatformConnector initialized for {} with group={}:{}, interface={}, snapshot={}:{}, event loop={}",
+                platformName, group, port, interfaceName, snapshotHost, snapshotPort, eventLoop.getName());
+    }
+
+    @Override
+    protected void startWorker() {
+        // No dedicated thread; the group is joined on the event loop
+        eventLoop.execute(this);
+    }
+
+    @Override
+    protected void stopWorker() {
+        // disconnect closed the channel; pending rejoin attempts check the running flag
+    }
+
+    @Override
+    public void run() {
+        joinGroup();
+    }
+
+    @Override
+    public boolean connect(String platformName, String userid, String password) {
+        if (connected) {
+            logger.info("Already connected to platform: {}", platformName);
+            return true;
+        }
+
+        if (eventLoop.inEventLoop()) {
+            return joinGroup();
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        eventLoop.execute(() -> result.complete(joinGroup()));
+        return await(result);
+    }
+
+    @Override
+    public boolean disconnect(String platformName, String userid, String password) {
+        if (eventLoop.inEventLoop()) {
+            return leaveGroup();
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        eventLoop.execute(() -> result.complete(leaveGroup()));
+        return await(result);
+    }
+
+    @Override
+    public boolean subscribe(String platformName, String rateName) {
+        if (!connected) {
+            if (queueSubscription(rateName, () -> connected)) {
+                return true;
+            }
+            logger.error("Cannot subscribe - not connected to platform: {}", platformName);
+            return false;
+        }
+
+        // The group carries every rate; subscribing only filters, and the last known value is delivered at once
+        handleSubscriptionResult(rateName, true);
+        eventLoop.execute(() -> deliverLatest(rateName));
+        return true;
+    }
+
+    @Override
+    public boolean unsubscribe(String platformName, String rateName) {
+        if (dequeueSubscription(rateName)) {
+            return true;
+        }
+
+        handleUnsubscriptionResult(rateName, true);
+        return true;
+    }
+
+    private boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.get(EVENT_LOOP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while waiting for event loop of platform {}", platformName);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Event loop did not complete request for platform {} within {} ms",
+                    platformName, EVENT_LOOP_TIMEOUT_MS);
+            return false;
+        }
+    }
+
+    // ---- Event loop thread ----
+
+    private boolean joinGroup() {
+        if (channel != null) {
+            return connected;
+        }
+
+        try {
+            logger.info("Joining multicast group {}:{} on interface {} for platform {} (attempt {}/{})",
+                    group, port, interfaceName, platformName, failedAttempts + 1, retryCount);
+
+            NetworkInterface networkInterface = NetworkInterface.getByName(interfaceName);
+            if (networkInterface == null) {
+                throw new SocketException("Network interface not found: " + interfaceName);
+            }
+            InetAddress groupAddress = InetAddress.getByName(group);
+
+            DatagramChannel datagramChannel = DatagramChannel.open(StandardProtocolFamily.INET);
+            channel = datagramChannel;
+            // Let other listeners on the same host bind the same port
+            datagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+            datagramChannel.bind(new InetSocketAddress(port));
+            datagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            datagramChannel.join(groupAddress, networkInterface);
+            datagramChannel.configureBlocking(false);
+            key = eventLoop.register(datagramChannel, SelectionKey.OP_READ, channelHandler);
+        } catch (IOException e) {
+            closeChannel();
+            failedAttempts++;
+            logger.error("Joining multicast group {}:{} failed for platform {} (attempt {}/{}): {}",
+                    group, port, platformName, failedAttempts, retryCount, e.toString());
+
+            if (failedAttempts >= retryCount) {
+                logger.error("Failed to connect to platform after {} attempts: {}", retryCount, platformName);
+                failedAttempts = 0;
+                if (callback != null) {
+                    callback.onConnect(platformName, false);
+                }
+            }
+            scheduleReconnect();
+            return false;
+        }
+
+        connected = true;
+        failedAttempts = 0;
+        generation++;
+        session = 0;
+        logger.info("Joined multicast group {}:{} for platform {}", group, port, platformName);
+
+        // The sequence is unknown; buffer datagrams until the snapshot arrives
+        recoveryStartNanos = -1;
+        startRecovery();
+
+        if (callback != null) {
+            callback.onConnect(platformName, true);
+        }
+
+        // Connection successful, reset last response time
+        updateLastResponseTime();
+        onConnectionEstablished();
+        return true;
+    }
+
+    private boolean leaveGroup() {
+        if (channel == null) {
+            logger.warn("Not connected to platform: {}", platformName);
+            return true;
+        }
+
+        closeChannel();
+        logger.info("Disconnected from platform: {}", platformName);
+
+        if (callback != null) {
+            callback.onDisConnect(platformName, true);
+        }
+        return true;
+    }
+
+    private void connectionLost(String reason) {
+        logger.error("Multicast channel of platform {} lost: {}", platformName, reason);
+        closeChannel();
+
+        if (callback != null) {
+            callback.onDisConnect(platformName, false);
+
+            // Notify UNAVAILABLE status for all rates
+            subscribedRates.forEach(rateName ->
+                    reportRateStatus(rateName, RateStatus.UNAVAILABLE));
+        }
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        if (!running.get()) {
+            return;
+        }
+
+        eventLoop.schedule(() -> {
+            if (running.get() && channel == null) {
+                joinGroup();
+            }
+        }, retryIntervalMs);
+    }
+
+    private void closeChannel() {
+        connected = false;
+        recovering = false;
+        bufferedTicks.clear();
+
+        if (key != null) {
+            key.cancel();
+            key = null;
+        }
+
+        if (channel != null) {
+            try {
+                // Closing the channel also leaves the group
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Error closing multicast channel for platform: {}", platformName, e);
+            }
+            channel = null;
+        }
+    }
+
+    private void read() throws IOException {
+        int received = 0;
+        while (received < MAX_DATAGRAMS_PER_READ) {
+            datagram.clear();
+            if (channel.receive(datagram) == null) {
+                break;
+            }
+            received++;
+            datagram.flip();
+
+            if (decoder.decode(datagram)) {
+                onDatagram();
+            } else {
+                logger.debug("Ignoring malformed datagram of {} bytes on platform {}", datagram.remaining(), platformName);
+            }
+        }
+
+        if (received > 0) {
+            // Heartbeats also show that the platform is alive
+            updateLastResponseTime();
+            deliverTicks();
+        }
+    }
+
+    private void onDatagram() {
+        long sequence = decoder.getSequence();
+        if (decoder.getSession() != session) {
+            onNewSession(decoder.getSession());
+        }
+
+        if (decoder.isHeartbeat()) {
+            // A heartbeat carries the last published sequence; a tick that never arrived is a gap
+            if (!recovering && sequence >= expectedSequence) {
+                onGap(expectedSequence, sequence + 1);
+            }
+            return;
+        }
+
+        if (recovering) {
+            bufferTick(sequence);
+            return;
+        }
+        if (sequence < expectedSequence) {
+            // Old or duplicate datagram
+            return;
+        }
+        if (sequence > expectedSequence) {
+            onGap(expectedSequence, sequence);
+            bufferTick(sequence);
+            return;
+        }
+
+        expectedSequence = sequence + 1;
+        acceptTick(decoder.getSymbol(), decoder.getBid(), decoder.getAsk(), decoder.getEpochNanos());
+    }
+
+    /**
+     * The publisher restarted (or this is the first datagram after a join): its numbering starts over, so the
+     * sequence state is discarded and the connector recovers from a snapshot of the new session
+     * @param newSession Session of the received datagram
+     */
+    private void onNewSession(long newSession) {
+        if (session != 0) {
+            logger.warn("Platform {} publisher restarted (session {} -> {}), recovering from snapshot",
+                    platformName, session, newSession);
+            recoveryStartNanos = System.nanoTime();
+        }
+        session = newSession;
+        expectedSequence = 0;
+        bufferedTicks.clear();
+        startRecovery();
+    }
+
+    /**
+     * @param from First missing sequence
+     * @param to First received sequence (exclusive)
+     */
+    private void onGap(long from, long to) {
+        long missed = to - from;
+        gapCounter.increment();
+        missedCounter.increment(missed);
+        logger.warn("Platform {} missed {} datagram(s) from sequence {}, recovering from snapshot",
+                platformName, missed, from);
+
+        if (!recovering) {
+            recoveryStartNanos = System.nanoTime();
+        }
+        startRecovery();
+    }
+
+    private void startRecovery() {
+        recovering = true;
+        requestSnapshot();
+    }
+
+    private void bufferTick(long sequence) {
+        int size = bufferedTicks.size();
+        if (size >= recoveryBufferSize) {
+            // Buffer full; the hole at its head is closed by a new snapshot
+            logger.warn("Recovery buffer of platform {} full ({} datagrams), discarding", platformName, size);
+            bufferedTicks.clear();
+            size = 0;
+        }
+        if (size == bufferedSequences.length) {
+            bufferedSequences = Arrays.copyOf(bufferedSequences, size << 1);
+        }
+        bufferedSequences[size] = sequence;
+        bufferedTicks.add(decoder.getSymbol(), decoder.getBid(), decoder.getAsk(), decoder.getEpochNanos());
+    }
+
+    /**
+     * Updates the last value of the rate and, if subscribed, adds it to the ticks to deliver
+     */
+    private void acceptTick(String rateName, double bid, double ask, long epochNanos) {
+        LatestTick latest = latestTicks.get(rateName);
+        if (latest == null) {
+            latest = new LatestTick();
+            latestTicks.put(rateName, latest);
+        } else if (epochNanos < latest.epochNanos) {
+            return;
+        }
+        latest.bid = bid;
+        latest.ask = ask;
+        latest.epochNanos = epochNanos;
+
+        if (subscribedRates.contains(rateName)) {
+            tickBatch.add(rateName, bid, ask, epochNanos);
+        }
+    }
+
+    private void deliverLatest(String rateName) {
+        LatestTick latest = latestTicks.get(rateName);
+        if (latest != null && subscribedRates.contains(rateName)) {
+            tickBatch.add(rateName, latest.bid, latest.ask, latest.epochNanos);
+            deliverTicks();
+        }
+    }
+
+    /**
+     * Delivers the accumulated ticks in one callback
+     */
+    private void deliverTicks() {
+        suppressDuplicateTicks(tickBatch);
+        if (tickBatch.isEmpty()) {
+            return;
+        }
+
+        recordTicks(tickBatch);
+        try {
+            if (callback != null) {
+                callback.onRateBatch(platformName, tickBatch);
+            }
+        } catch (RuntimeException e) {
+            // A coordinator failure must not drop the feed
+            logger.error("Error delivering {} ticks from platform {}", tickBatch.size(), platformName, e);
+        } finally {
+            tickBatch.clear();
+        }
+    }
+
+    private void requestSnapshot() {
+        if (snapshotInFlight) {
+            return;
+        }
+        snapshotInFlight = true;
+
+        int requestGeneration = generation;
+        Thread snapshotThread = new Thread(() -> fetchSnapshot(requestGeneration),
+                "MulticastSnapshot-" + platformName);
+        snapshotThread.setDaemon(true);
+        snapshotThread.start();
+    }
+
+    private void applySnapshot(int snapshotGeneration, long snapshotSession, long sequence, TickBatch snapshot) {
+        snapshotInFlight = false;
+        if (snapshotGeneration != generation || !recovering) {
+            return;
+        }
+        if (session == 0) {
+            // No datagram yet; the live session is the one the snapshot was taken in
+            session = snapshotSession;
+        } else if (snapshotSession != session) {
+            // Taken in another session than the live datagrams; its numbers do not apply
+            logger.info("Discarding snapshot of session {} on platform {}, live session is {}",
+                    snapshotSession, platformName, session);
+            snapshotFailed(snapshotGeneration);
+            return;
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            acceptTick(snapshot.getRateName(i), snapshot.getBid(i), snapshot.getAsk(i), snapshot.getTimestampNanos(i));
+        }
+        expectedSequence = sequence + 1;
+
+        // Apply the buffered datagrams following the snapshot in order
+        int size = bufferedTicks.size();
+        for (int i = 0; i < size; i++) {
+            long buffered = bufferedSequences[i];
+            if (buffered < expectedSequence) {
+                continue;
+            }
+            if (buffered > expectedSequence) {
+                // Datagrams were lost during recovery too; the rest wait in the buffer for a new snapshot
+                compactBuffer(i);
+                onGap(expectedSequence, buffered);
+                deliverTicks();
+                return;
+            }
+            expectedSequence = buffered + 1;
+            acceptTick(bufferedTicks.getRateName(i), bufferedTicks.getBid(i), bufferedTicks.getAsk(i),
+                    bufferedTicks.getTimestampNanos(i));
+        }
+        bufferedTicks.clear();
+        recovering = false;
+
+        if (recoveryStartNanos >= 0) {
+            long elapsed = System.nanoTime() - recoveryStartNanos;
+            recoveryTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            logger.info("Platform {} back in sequence at {} after {} ms", platformName, expectedSequence - 1,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } else {
+            logger.info("Platform {} in sequence at {} with {} rates", platformName, expectedSequence - 1,
+                    snapshot.size());
+        }
+        deliverTicks();
+    }
+
+    private void compactBuffer(int from) {
+        int size = bufferedTicks.size();
+        for (int i = from; i < size; i++) {
+            bufferedTicks.move(i, i - from);
+            bufferedSequences[i - from] = bufferedSequences[i];
+        }
+        bufferedTicks.truncate(size - from);
+    }
+
+    private void snapshotFailed(int snapshotGeneration) {
+        snapshotInFlight = false;
+        if (snapshotGeneration != generation || !recovering) {
+            return;
+        }
+
+        eventLoop.schedule(() -> {
+            if (running.get() && recovering && snapshotGeneration == generation) {
+                requestSnapshot();
+            }
+        }, snapshotRetryIntervalMs);
+    }
+
+    // ---- Snapshot thread ----
+
+    /**
+     * Requests a snapshot from the platform over TCP and hands the result to the event loop
+     */
+    private void fetchSnapshot(int requestGeneration) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(snapshotHost, snapshotPort), snapshotTimeoutMs);
+            socket.setSoTimeout(snapshotTimeoutMs);
+            socket.setTcpNoDelay(true);
+
+            OutputStream out = socket.getOutputStream();
+            out.write("snapshot\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            String header = in.readLine();
+            if (header == null) {
+                throw new IOException("Connection closed before snapshot");
+            }
+            if (!header.startsWith("SNAPSHOT|")) {
+                throw new IOException("Unexpected snapshot response: " + header);
+            }
+
+            // SNAPSHOT|<sequence>|<rate count>|<session>, followed by one tick line per rate
+            String[] parts = header.split("\\|");
+            long sequence = Long.parseLong(parts[1]);
+            int count = Integer.parseInt(parts[2]);
+            long snapshotSession = Long.parseLong(parts[3]);
+
+            TcpTickParser parser = new TcpTickParser();
+            TcpTick tick = new TcpTick();
+            TickBatch snapshot = new TickBatch(Math.max(1, count));
+            for (int i = 0; i < count; i++) {
+                String line = in.readLine();
+                if (line == null) {
+                    throw new IOException("Snapshot truncated after " + i + " of " + count + " rates");
+                }
+                byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+                if (parser.parse(bytes, 0, bytes.length, tick)) {
+                    snapshot.add(tick.getSymbol(), tick.getBid(), tick.getAsk(), tick.getEpochNanos());
+                } else {
+                    logger.warn("Ignoring malformed snapshot line from platform {}: {}", platformName, line);
+                }
+            }
+
+            out.write("quit\n".getBytes(StandardCharsets.US_ASCII));
+            logger.debug("Received snapshot of {} rates at sequence {} from platform {}", count, sequence, platformName);
+            eventLoop.execute(() -> applySnapshot(requestGeneration, snapshotSession, sequence, snapshot));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Snapshot request to {}:{} failed for platform {}: {}",
+                    snapshotHost, snapshotPort, platformName, e.toString());
+            eventLoop.execute(() -> snapshotFailed(requestGeneration));
+        }
+    }
+
+    /**
+     * Last known value of a rate (event loop thread)
+     */
+    private static final class LatestTick {
+        private double bid;
+        private double ask;
+        private long epochNanos;
+    }
+
+    /**
+     * Event loop handler of the multicast channel
+     */
+    private final class ChannelHandler implements NioChannelHandler {
+
+        @Override
+        public void onReady(SelectionKey selectionKey) throws IOException {
+            if (selectionKey.isReadable()) {
+                read();
+            }
+        }
+
+        @Override
+        public void onFailure(SelectionKey selectionKey, IOException cause) {
+            connectionLost("Error reading from multicast channel: " + cause.getMessage());
+        }
+    }
+}
@@ -0,0 +1,697 @@
+package com.example.mainapp.collector.impl;
+
+import com.example.mainapp.collector.DataCollector;
+import com.example.mainapp.collector.nio.NioChannelHandler;
+import com.example.mainapp.collector.nio.NioEventLoop;
+import com.example.mainapp.collector.nio.NioEventLoopGroup;
+import com.example.mainapp.collector.protocol.TcpTick;
+import com.example.mainapp.collector.protocol.TcpTickParser;
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking TCP platform connection manager.
+ * <p>
+ * Speaks the same line protocol as {@link TCPPlatformConnector}, but instead of a reader thread and
+ * a command sender thread per platform, the socket is registered with a shared {@link NioEventLoop}.
+ * Connecting, reading, writing and reconnecting all happen on the loop thread, using one reusable
+ * read buffer and one reusable write buffer per connection. Tick lines are decoded in place by a
+ * {@link TcpTickParser} and all ticks of one read are delivered as a single {@link TickBatch};
+ * only control messages are turned into Strings.
+ * <p>
+ * With {@code tcp.standby.enabled=true} a second, hot standby connection to the same platform (or to
+ * {@code tcp.standby.host}/{@code tcp.standby.port}) is kept subscribed to the same rates. Ticks of both
+ * connections are merged on the loop thread and the first copy of each tick wins: a tick is delivered only
+ * if its timestamp is newer than the last one delivered for the rate. When one connection drops, the other
+ * keeps delivering without a reconnect or resubscribe; the platform is reported down only when both are.
+ * The time to switch and the hole in delivered ticks are recorded as {@code connector.tcp.failover.time}
+ * and {@code connector.tcp.failover.gap}.
+ */
+public class NioTCPPlatformConnector extends DataCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioTCPPlatformConnector.class);
+
+    private static final long DISCONNECT_TIMEOUT_MS = 5000;
+
+    private final NioEventLoop eventLoop;
+    private final int retryCount;
+    private final long retryIntervalMs;
+    private final int connectTimeout;
+
+    private final Connection primary;
+    // Hot standby connection, null if disabled
+    private final Connection standby;
+    private final Runnable flushTask = this::flushCommands;
+    private final TcpTickParser tickParser = new TcpTickParser();
+    private final TcpTick tick = new TcpTick();
+    private final TickBatch tickBatch = new TickBatch();
+    private final Timer failoverTimer;
+    private final Timer failoverGapTimer;
+
+    // At least one of the connections is established
+    private volatile boolean connected;
+
+    // The fields below are only accessed by the event loop thread
+    private final List<CompletableFuture<Boolean>> connectWaiters = new ArrayList<>();
+    // Timestamp of the last tick delivered per rate (hot standby mode)
+    private final Map<String, long[]> lastTimestamps = new HashMap<>();
+    private long lastDeliveryNanos;
+    // Time of the last tick delivered before a failover, -1 if none is in progress
+    private long gapStartNanos = -1;
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param eventLoopGroup Shared event loops
+     */
+    public NioTCPPlatformConnector(String platformName, Properties config, NioEventLoopGroup eventLoopGroup) {
+        this(platformName, config, eventLoopGroup, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param eventLoopGroup Shared event loops
+     * @param meterRegistry Registry for connector and failover metrics
+     */
+    public NioTCPPlatformConnector(String platformName, Properties config, NioEventLoopGroup eventLoopGroup,
+                                   MeterRegistry meterRegistry) {
+        super(platformName, config, meterRegistry);
+
+        String host = config.getProperty("tcp.host", "tcp-simulator");
+        int port = Integer.parseInt(config.getProperty("tcp.port", "8081"));
+        this.retryCount = Integer.parseInt(config.getProperty("connection.retryCount", "10"));
+        this.retryIntervalMs = Long.parseLong(config.getProperty("connection.retryIntervalMs", "15000"));
+        this.connectTimeout = Integer.parseInt(config.getProperty("connection.timeoutMs", "30000"));
+
+        int readBufferSize = Integer.parseInt(config.getProperty("tcp.nio.readBufferSize", "65536"));
+        int writeBufferSize = Integer.parseInt(config.getProperty("tcp.nio.writeBufferSize", "4096"));
+        this.primary = new Connection("primary", host, port, readBufferSize, writeBufferSize);
+
+        if (Boolean.parseBoolean(config.getProperty("tcp.standby.enabled", "false"))) {
+            String standbyHost = config.getProperty("tcp.standby.host", "");
+            String standbyPort = config.getProperty("tcp.standby.port", "");
+            this.standby = new Connection("standby",
+                    standbyHost.isBlank() ? host : standbyHost,
+                    standbyPort.isBlank() ? port : Integer.parseInt(standbyPort),
+                    readBufferSize, writeBufferSize);
+            this.failoverTimer = Timer.builder("connector.tcp.failover.time")
+                    .description("Time from detecting a lost connection to serving from the standby")
+                    .tag("platform", platformName)
+                    .register(meterRegistry);
+            this.failoverGapTimer = Timer.builder("connector.tcp.failover.gap")
+                    .description("Time between the last tick delivered before a failover and the first after it")
+                    .tag("platform", platformName)
+                    .register(meterRegistry);
+        } else {
+            this.standby = null;
+            this.failoverTimer = null;
+            this.failoverGapTimer = null;
+        }
+        this.eventLoop = eventLoopGroup.next();
+
+        logger.info("NioTCPPlatformConnector initialized for {} with host={}, port={}, standby={}, event loop={}",
+                platformName, host, port, standby != null ? standby.host + ":" + standby.port : "none",
+                eventLoop.getName());
+    }
+
+    @Override
+    protected void startWorker() {
+        // No dedicated thread; the first connection is made on the event loop
+        eventLoop.execute(this);
+    }
+
+    @Override
+    protected void stopWorker() {
+        // disconnect closed the channel; pending reconnect attempts check the running flag
+    }
+
+    @Override
+    public void run() {
+        openChannels(null);
+    }
+
+    @Override
+    public boolean connect(String platformName, String userid, String password) {
+        if (connected) {
+            logger.info("Already connected to platform: {}", platformName);
+            return true;
+        }
+
+        if (eventLoop.inEventLoop()) {
+            openChannels(null);
+            return connected;
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        eventLoop.execute(() -> openChannels(result));
+        return await(result, connectTimeout + 1000L);
+    }
+
+    @Override
+    public boolean disconnect(String platformName, String userid, String password) {
+        if (eventLoop.inEventLoop()) {
+            return closeConnection();
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        eventLoop.execute(() -> result.complete(closeConnection()));
+        return await(result, DISCONNECT_TIMEOUT_MS);
+    }
+
+    @Override
+    public boolean subscribe(String platformName, String rateName) {
+        if (!connected) {
+            // The connection is being made on the event loop; subscribing does not wait for it
+            if (queueSubscription(rateName, () -> connected)) {
+                return true;
+            }
+            logger.error("Cannot subscribe - not connected to platform: {}", platformName);
+            return false;
+        }
+
+        sendCommand("subscribe|" + rateName);
+        logger.info("Added subscribe command to queue for rate: {}", rateName);
+        return true;
+    }
+
+    @Override
+    public boolean unsubscribe(String platformName, String rateName) {
+        if (dequeueSubscription(rateName)) {
+            return true;
+        }
+        if (!connected) {
+            logger.error("Cannot unsubscribe - not connected to platform: {}", platformName);
+            return false;
+        }
+
+        sendCommand("unsubscribe|" + rateName);
+        logger.info("Added unsubscribe command to queue for rate: {}", rateName);
+        return true;
+    }
+
+    private void sendCommand(String command) {
+        // The standby connection subscribes to the same rates
+        primary.pendingCommands.add(command);
+        if (standby != null) {
+            standby.pendingCommands.add(command);
+        }
+        eventLoop.execute(flushTask);
+    }
+
+    private boolean await(CompletableFuture<Boolean> result, long timeoutMs) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.error("Interrupted while waiting for event loop of platform {}", platformName);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Event loop did not complete request for platform {} within {} ms", platformName, timeoutMs);
+            return false;
+        }
+    }
+
+    // ---- Event loop thread ----
+
+    private void openChannels(CompletableFuture<Boolean> result) {
+        if (result != null) {
+            if (connected) {
+                result.complete(true);
+                return;
+            }
+            connectWaiters.add(result);
+        }
+
+        primary.open();
+        if (standby != null) {
+            standby.open();
+        }
+    }
+
+    private boolean closeConnection() {
+        if (primary.channel == null && (standby == null || standby.channel == null)) {
+            logger.warn("Not connected to platform: {}", platformName);
+            return true;
+        }
+
+        // Try to send queued commands (e.g. unsubscribes issued by stop)
+        flushCommands();
+        primary.closeChannel();
+        if (standby != null) {
+            standby.closeChannel();
+        }
+        connected = false;
+        completeConnectWaiters(false);
+
+        logger.info("Disconnected from platform: {}", platformName);
+
+        if (callback != null) {
+            callback.onDisConnect(platformName, true);
+        }
+        return true;
+    }
+
+    private void completeConnectWaiters(boolean success) {
+        if (!connectWaiters.isEmpty()) {
+            for (CompletableFuture<Boolean> waiter : connectWaiters) {
+                waiter.complete(success);
+            }
+            connectWaiters.clear();
+        }
+    }
+
+    private void flushCommands() {
+        primary.flushCommands();
+        if (standby != null) {
+            standby.flushCommands();
+        }
+    }
+
+    /**
+     * @return The other connection if it is established, otherwise null
+     */
+    private Connection survivorOf(Connection connection) {
+        Connection other = connection == primary ? standby : primary;
+        return other != null && other.connected ? other : null;
+    }
+
+    private void onConnected(Connection connection) {
+        if (connected) {
+            logger.info("{} connection of platform {} connected, running hot standby", connection.name, platformName);
+            return;
+        }
+        connected = true;
+
+        logger.info("Successfully connected to TCP server for platform {}", platformName);
+
+        if (callback != null) {
+            callback.onConnect(platformName, true);
+        }
+
+        // Connection successful, reset last response time
+        updateLastResponseTime();
+        onConnectionEstablished();
+
+        completeConnectWaiters(true);
+    }
+
+    private void onConnectFailed(Connection connection) {
+        if (connected) {
+            // The other connection is carrying data; this one is retried in the background
+            return;
+        }
+        Connection other = connection == primary ? standby : primary;
+        if (other == null || other.channel == null) {
+            completeConnectWaiters(false);
+        }
+
+        if (connection.failedAttempts >= retryCount) {
+            logger.error("Failed to connect to platform after {} attempts: {}", retryCount, platformName);
+            connection.failedAttempts = 0;
+
+            if (callback != null) {
+                callback.onConnect(platformName, false);
+            }
+        }
+    }
+
+    /**
+     * @param lostNanos Time the connection loss was detected
+     */
+    private void onConnectionLost(Connection connection, long lostNanos) {
+        Connection survivor = survivorOf(connection);
+        if (survivor != null) {
+            // The standby is already subscribed and carrying data; no reconnect or resubscribe needed
+            if (gapStartNanos < 0) {
+                gapStartNanos = lastDeliveryNanos;
+            }
+            failoverTimer.record(System.nanoTime() - lostNanos, TimeUnit.NANOSECONDS);
+            logger.warn("Platform {} failed over from {} to {} connection", platformName, connection.name, survivor.name);
+            return;
+        }
+
+        connected = false;
+        // After a reconnect, deliver the platform's snapshot even if it repeats the last timestamps
+        lastTimestamps.clear();
+        gapStartNanos = -1;
+
+        if (callback != null) {
+            callback.onDisConnect(platformName, false);
+
+            // Notify UNAVAILABLE status for all rates
+            subscribedRates.forEach(rateName ->
+                    reportRateStatus(rateName, RateStatus.UNAVAILABLE));
+        }
+    }
+
+    /**
+     * Delivers the ticks decoded by one read
+     */
+    private void deliverTicks() {
+        // All ticks of this read are delivered in one callback after duplicates are removed
+        suppressDuplicateTicks(tickBatch);
+        if (tickBatch.isEmpty()) {
+            return;
+        }
+
+        recordTicks(tickBatch);
+        try {
+            if (callback != null) {
+                callback.onRateBatch(platformName, tickBatch);
+            }
+        } catch (RuntimeException e) {
+            // A coordinator failure must not drop the connection
+            logger.error("Error delivering {} ticks from platform {}", tickBatch.size(), platformName, e);
+        } finally {
+            tickBatch.clear();
+        }
+
+        if (standby != null) {
+            lastDeliveryNanos = System.nanoTime();
+            if (gapStartNanos >= 0) {
+                failoverGapTimer.record(lastDeliveryNanos - gapStartNanos, TimeUnit.NANOSECONDS);
+                gapStartNanos = -1;
+            }
+        }
+    }
+
+    private void handleResponseLine(byte[] data, int from, int to) {
+        // Rate data
+        if (tickParser.parse(data, from, to, tick)) {
+            if (standby == null || isFirstCopy(tick.getSymbol(), tick.getEpochNanos())) {
+                tickBatch.add(tick.getSymbol(), tick.getBid(), tick.getAsk(), tick.getEpochNanos());
+            }
+            return;
+        }
+
+        String responseLine = new String(data, from, to - from, StandardCharsets.UTF_8);
+        logger.debug("Received: {}", responseLine);
+
+        if (responseLine.startsWith("ERROR|")) {
+            logger.error("Error from platform {}: {}", platformName, responseLine.substring(6));
+        } else if (responseLine.startsWith("Subscribed to ")) {
+            String rateName = responseLine.substring("Subscribed to ".length());
+            // In hot standby mode both connections acknowledge
+            if (standby == null || !subscribedRates.contains(rateName)) {
+                handleSubscriptionResult(rateName, true);
+            }
+        } else if (responseLine.startsWith("Unsubscribed from ")) {
+            String rateName = responseLine.substring("Unsubscribed from ".length());
+            if (standby == null || subscribedRates.contains(rateName)) {
+                lastTimestamps.remove(rateName);
+                handleUnsubscriptionResult(rateName, true);
+            }
+        } else {
+            logger.warn("Unrecognized message from platform {}: {}", platformName, responseLine);
+        }
+    }
+
+    /**
+     * Whether this is the first copy of a tick arriving over the two connections: its timestamp must be newer
+     * than the last one delivered for the rate. The simulator sends a tick to all subscribers with the same timestamp.
+     */
+    private boolean isFirstCopy(String rateName, long epochNanos) {
+        long[] last = lastTimestamps.get(rateName);
+        if (last == null) {
+            lastTimestamps.put(rateName, new long[] {epochNanos});
+            return true;
+        }
+        if (epochNanos <= last[0]) {
+            return false;
+        }
+        last[0] = epochNanos;
+        return true;
+    }
+
+    /**
+     * A single TCP connection to the platform, owning its buffers, command queue and reconnect state.
+     * All methods run on the event loop thread.
+     */
+    private final class Connection implements NioChannelHandler {
+
+        private final String name;
+        private final String host;
+        private final int port;
+        private final ByteBuffer readBuffer;
+        private final ByteBuffer writeBuffer;
+        private final Queue<String> pendingCommands = new ConcurrentLinkedQueue<>();
+
+        private volatile boolean connected;
+        private InetSocketAddress address;
+        private SocketChannel channel;
+        private SelectionKey key;
+        private int failedAttempts;
+
+        Connection(String name, String host, int port, int readBufferSize, int writeBufferSize) {
+            this.name = name;
+            this.host = host;
+            this.port = port;
+            this.readBuffer = ByteBuffer.allocate(readBufferSize);
+            this.writeBuffer = ByteBuffer.allocate(writeBufferSize);
+        }
+
+        void open() {
+            if (channel != null) {
+                // Already connecting or connected; waiters are notified of the outcome
+                return;
+            }
+
+            try {
+                logger.info("Connecting {} connection to TCP server {}:{} for platform {} (attempt {}/{})",
+                        name, host, port, platformName, failedAttempts + 1, retryCount);
+
+                if (address == null) {
+                    address = new InetSocketAddress(host, port);
+                }
+                if (address.isUnresolved()) {
+                    throw new UnknownHostException(host);
+                }
+
+                SocketChannel socketChannel = SocketChannel.open();
+                channel = socketChannel;
+                socketChannel.configureBlocking(false);
+                socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                if (socketChannel.connect(address)) {
+                    key = eventLoop.register(socketChannel, SelectionKey.OP_READ, this);
+                    onConnected();
+                } else {
+                    key = eventLoop.register(socketChannel, SelectionKey.OP_CONNECT, this);
+                    eventLoop.schedule(() -> {
+                        if (channel == socketChannel && !connected) {
+                            connectFailed(new SocketTimeoutException("Connect timed out after " + connectTimeout + " ms"));
+                        }
+                    }, connectTimeout);
+                }
+            } catch (IOException e) {
+                connectFailed(e);
+            }
+        }
+
+        @Override
+        public void onReady(SelectionKey selectionKey) throws IOException {
+            if (selectionKey.isConnectable()) {
+                if (channel.finishConnect()) {
+                    selectionKey.interestOps(SelectionKey.OP_READ);
+                    onConnected();
+                }
+                return;
+            }
+
+            if (selectionKey.isReadable()) {
+                read();
+            }
+
+            if (selectionKey.isValid() && selectionKey.isWritable()) {
+                flushCommands();
+            }
+        }
+
+        @Override
+        public void onFailure(SelectionKey selectionKey, IOException cause) {
+            if (connected) {
+                connectionLost("Error reading from TCP socket: " + cause.getMessage());
+            } else {
+                connectFailed(cause);
+            }
+        }
+
+        private void onConnected() {
+            connected = true;
+            failedAttempts = 0;
+            readBuffer.clear();
+            writeBuffer.clear();
+
+            logger.info("{} connection to TCP server {}:{} established for platform {}", name, host, port, platformName);
+
+            // Renew existing subscriptions after a reconnect
+            for (String rateName : subscribedRates) {
+                pendingCommands.add("subscribe|" + rateName);
+            }
+            flushCommands();
+            NioTCPPlatformConnector.this.onConnected(this);
+        }
+
+        private void connectFailed(IOException cause) {
+            closeChannel();
+            // The address may have changed, resolve it again on the next attempt
+            address = null;
+            failedAttempts++;
+
+            logger.error("Connection to TCP server {}:{} failed for platform {} (attempt {}/{}): {}",
+                    host, port, platformName, failedAttempts, retryCount, cause.toString());
+            onConnectFailed(this);
+            scheduleReconnect();
+        }
+
+        private void connectionLost(String reason) {
+            logger.error("{} connection to platform {} lost: {}", name, platformName, reason);
+            long lostNanos = System.nanoTime();
+            closeChannel();
+            onConnectionLost(this, lostNanos);
+            scheduleReconnect();
+        }
+
+        private void scheduleReconnect() {
+            if (!running.get()) {
+                return;
+            }
+
+            eventLoop.schedule(() -> {
+                if (running.get() && channel == null) {
+                    open();
+                }
+            }, retryIntervalMs);
+        }
+
+        private void closeChannel() {
+            connected = false;
+
+            if (key != null) {
+                key.cancel();
+                key = null;
+            }
+
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.warn("Error closing TCP channel for platform: {}", platformName, e);
+                }
+                channel = null;
+            }
+        }
+
+        private void flushCommands() {
+            if (!connected) {
+                // Sent once the connection is established
+                return;
+            }
+
+            try {
+                String command;
+                while ((command = pendingCommands.peek()) != null) {
+                    byte[] bytes = (command + "\n").getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > writeBuffer.remaining()) {
+                        if (writeBuffer.position() > 0) {
+                            // Continue once the buffer has drained
+                            break;
+                        }
+                        logger.error("Command too long for write buffer, dropping: {}", command);
+                        pendingCommands.poll();
+                        continue;
+                    }
+                    writeBuffer.put(bytes);
+                    pendingCommands.poll();
+                    logger.debug("Sending command on {} connection: {}", name, command);
+                }
+
+                writeBuffer.flip();
+                int written = channel.write(writeBuffer);
+                boolean unsent = writeBuffer.hasRemaining() || !pendingCommands.isEmpty();
+                writeBuffer.compact();
+
+                if (written > 0) {
+                    // Update last response time for sending commands too
+                    updateLastResponseTime();
+                }
+
+                // If data is left unsent, continue when the socket becomes writable
+                key.interestOps(unsent ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            } catch (IOException e) {
+                connectionLost("Error writing to TCP socket: " + e.getMessage());
+            }
+        }
+
+        private void read() throws IOException {
+            int count = channel.read(readBuffer);
+            if (count < 0) {
+                logger.warn("TCP connection closed by server");
+                connectionLost("closed by server");
+                return;
+            }
+            if (count == 0) {
+                return;
+            }
+
+            // Update last response time
+            updateLastResponseTime();
+
+            byte[] data = readBuffer.array();
+            int lineStart = 0;
+            int end = readBuffer.position();
+
+            for (int i = 0; i < end; i++) {
+                if (data[i] == '\n') {
+                    int lineEnd = i > lineStart && data[i - 1] == '\r' ? i - 1 : i;
+                    if (lineEnd > lineStart) {
+                        handleResponseLine(data, lineStart, lineEnd);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+
+            deliverTicks();
+
+            if (lineStart > 0) {
+                // Move the incomplete line to the start of the buffer
+                readBuffer.flip();
+                readBuffer.position(lineStart);
+                readBuffer.compact();
+            } else if (!readBuffer.hasRemaining()) {
+                logger.error("Line longer than read buffer ({} bytes) from platform {}, discarding",
+                        readBuffer.capacity(), platformName);
+                readBuffer.clear();
+            }
+        }
+    }
+}
@@ -1,39 +1,130 @@
 package com.example.mainapp.collector.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.example.mainapp.collector.DataCollector;
+import com.example.mainapp.collector.protocol.JsonRateParser;
+import com.example.mainapp.collector.rest.AdaptivePollScheduler;
+import com.example.mainapp.collector.rest.HttpClientTransport;
+import com.example.mainapp.collector.rest.RestResponse;
+import com.example.mainapp.collector.rest.RestStream;
+import com.example.mainapp.collector.rest.RestTemplateTransport;
+import com.example.mainapp.collector.rest.RestTransport;
 import com.example.mainapp.model.Rate;
 import com.example.mainapp.model.RateFields;
 import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDateTime;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * REST platform connection manager class
+ * <p>
+ * On connect, {@code rest.baseUrl} and the {@code rest.candidateUrls} are probed at the same time and the
+ * first one answering 200 becomes the base URL; a round that finds none is retried after
+ * {@code connection.retryIntervalMs}. Subscriptions made before that are queued by {@link DataCollector}.
+ * <p>
+ * Polls subscribed rates either one request per rate ({@code rest.pollMode=single}) or, by default,
+ * all of them with a single {@code GET baseUrl?names=A,B,...} per interval ({@code rest.pollMode=bulk})
+ * whose results are handed to the coordinator as one {@link TickBatch}.
+ * <p>
+ * Requests go through a {@link RestTransport}: the blocking {@code resttemplate} transport or the
+ * non-blocking {@code httpclient} one ({@code rest.transport}). At most {@code rest.maxInFlight} requests
+ * are outstanding; in single mode the remaining rates wait in a queue, so a slow rate delays only itself.
+ * Responses are processed and delivered to the callback on the connector's poller thread, in completion order.
+ * Bodies are decoded by a streaming {@link JsonRateParser} into a reusable {@link TickBatch}; a {@link Rate} is
+ * only created for a rate's first sighting or when its data changed.
+ * <p>
+ * Polls are conditional: the last ETag is sent as If-None-Match, so an unchanged rate costs a 304 and no
+ * callbacks. In bulk mode a numeric ETag is also sent back as {@code sinceVersion}, and only the rates changed
+ * since then are returned and delivered.
+ * <p>
+ * With {@code rest.streaming=true} the connector also holds one Server-Sent Events connection to
+ * {@code baseUrl/stream} for the subscribed rates and delivers each event as it arrives. Polling pauses while
+ * the stream delivers and resumes as the fallback whenever it is down. The stream is reopened when the
+ * subscriptions change, and it resumes with Last-Event-ID after a drop.
+ * <p>
+ * When to poll is decided by an {@link AdaptivePollScheduler}. With {@code rest.adaptive=true} each rate
+ * (or the whole set in bulk mode) is polled between {@code rest.adaptive.minIntervalMs} and
+ * {@code rest.adaptive.maxIntervalMs} according to how often it changes; otherwise every
+ * {@code rest.pollingIntervalMs}. Either way requests stay within {@code rest.requestBudgetPerSecond}.
  */
 public class RestPlatformConnector extends DataCollector {
 
     private static final Logger logger = LoggerFactory.getLogger(RestPlatformConnector.class);
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    // Toplu yoklamada tüm kur kümesi tek anahtar olarak zamanlanır
+    private static final String BULK_KEY = "all";
+    private static final Set<String> BULK_KEYS = Set.of(BULK_KEY);
+    // Docker servis adları ve yerel geliştirme ortamı
+    private static final String DEFAULT_CANDIDATE_URLS = "http://rest-simulator:8080/api/rates,"
+            + "http://platform-simulator-rest:8080/api/rates,"
+            + "http://localhost:8080/api/rates";
+
+    private final RestTransport transport;
     private final Map<String, Rate> lastRates = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService scheduler;
     private final AtomicBoolean connected = new AtomicBoolean(false);
 
+    private final boolean bulkPolling;
+    private final boolean streaming;
+    private final long streamRetryMs;
+    private final int maxInFlight;
+    private final long requestTimeoutMs;
+    private final TickBatch tickBatch = new TickBatch();
+
+    private final Timer fetchLatency;
+    private final Counter fetchFailures;
+    private final Counter fetchNotModified;
+
+    private final boolean adaptivePolling;
+    private final long pollTickMs;
+    private final AdaptivePollScheduler pollScheduler;
+
+    // Yalnızca poller thread'inde kullanılır
+    private final Deque<String> pollQueue = new ArrayDeque<>();
+    private final Set<String> pendingRates = new HashSet<>();
+    private int inFlight;
+    private boolean bulkInFlight;
+    // Koşullu istekler için son ETag'ler; toplu sürüm yalnızca aynı kur kümesi için geçerlidir
+    private final Map<String, String> rateETags = new HashMap<>();
+    // Yanıtlar önce bu tampona çözülür
+    private final JsonRateParser rateParser = new JsonRateParser();
+    private final TickBatch decoded = new TickBatch();
+    private final Set<String> deliveredRates = new HashSet<>();
+    private Set<String> bulkRates;
+    private String bulkETag;
+    private long bulkVersion = -1;
+
+    // Akış durumu; akış okuyucusu connector thread'inde çalışır
+    private volatile boolean streamActive;
+    private volatile Set<String> streamRates;
+    private volatile RestStream currentStream;
+    private String lastEventId;
+
     private String baseUrl;
-    private long pollingIntervalMs;
+    private final List<String> candidateUrls;
 
     /**
      * Constructor
@@ -41,13 +132,81 @@ public class RestPlatformConnector extends DataCollector {
      * @param config Platform configuration
      */
     public RestPlatformConnector(String platformName, Properties config) {
-        super(platformName, config);
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this(platformName, config, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param meterRegistry Registry for connector and fetch latency metrics
+     */
+    public RestPlatformConnector(String platformName, Properties config, MeterRegistry meterRegistry) {
+        super(platformName, config, meterRegistry);
 
         this.baseUrl = config.getProperty("rest.baseUrl", "http://rest-simulator:8080/api/rates");
+        // rest.baseUrl ve alternatifleri bağlanırken aynı anda denenir
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(baseUrl);
+        for (String url : config.getProperty("rest.candidateUrls", DEFAULT_CANDIDATE_URLS).split(",")) {
+            if (!url.isBlank()) {
+                candidates.add(url.trim());
+            }
+        }
+        this.candidateUrls = List.copyOf(candidates);
+        this.bulkPolling = !"single".equalsIgnoreCase(config.getProperty("rest.pollMode", "bulk"));
+        this.maxInFlight = Math.max(1, Integer.parseInt(config.getProperty("rest.maxInFlight", "4")));
+        this.requestTimeoutMs = Long.parseLong(config.getProperty("connection.timeoutMs", "30000"));
+        this.streaming = Boolean.parseBoolean(config.getProperty("rest.streaming", "false"));
+        this.streamRetryMs = Long.parseLong(config.getProperty("rest.streamRetryMs", "2000"));
+
+        String transportName = config.getProperty("rest.transport", "resttemplate");
+        if ("httpclient".equalsIgnoreCase(transportName)) {
+            boolean http2 = Boolean.parseBoolean(config.getProperty("rest.http2", "true"));
+            this.transport = new HttpClientTransport(platformName, http2, requestTimeoutMs, 2);
+        } else {
+            this.transport = new RestTemplateTransport();
+        }
 
-        logger.info("RestPlatformConnector initialized for {} with baseUrl={}", platformName, this.baseUrl);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RestPoller-" + platformName);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.fetchLatency = Timer.builder("connector.rest.fetch.latency")
+                .description("Latency of REST rate fetches")
+                .tag("platform", platformName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.fetchFailures = Counter.builder("connector.rest.fetch.failures")
+                .description("REST rate fetches that failed or returned a non-OK status")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+        this.fetchNotModified = Counter.builder("connector.rest.fetch.notModified")
+                .description("REST rate fetches answered with 304 Not Modified")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+
+        long intervalMs = Long.parseLong(config.getProperty("rest.pollingIntervalMs", "5000"));
+        double budgetPerSecond = Double.parseDouble(config.getProperty("rest.requestBudgetPerSecond", "0"));
+        this.adaptivePolling = Boolean.parseBoolean(config.getProperty("rest.adaptive", "false"));
+        if (adaptivePolling) {
+            long minIntervalMs = Long.parseLong(config.getProperty("rest.adaptive.minIntervalMs", "250"));
+            long maxIntervalMs = Long.parseLong(config.getProperty("rest.adaptive.maxIntervalMs", "10000"));
+            // Zamanlayıcı en kısa aralığın yarısında bir bakar
+            this.pollTickMs = Math.max(10, minIntervalMs / 2);
+            this.pollScheduler = new AdaptivePollScheduler(platformName, minIntervalMs, maxIntervalMs, intervalMs,
+                    pollTickMs / 2, budgetPerSecond, meterRegistry);
+        } else {
+            // Sabit aralık: her tur tüm kurlar vadesi gelmiş sayılır
+            this.pollTickMs = intervalMs;
+            this.pollScheduler = new AdaptivePollScheduler(platformName, intervalMs, intervalMs, intervalMs,
+                    intervalMs / 2, budgetPerSecond, meterRegistry);
+        }
+
+        logger.info("RestPlatformConnector initialized for {} with baseUrl={}, pollMode={}, transport={}, maxInFlight={}, streaming={}, adaptive={}",
+                platformName, this.baseUrl, bulkPolling ? "bulk" : "single", transportName, maxInFlight, streaming, adaptivePolling);
     }
 
 
@@ -58,54 +217,43 @@ public class RestPlatformConnector extends DataCollector {
             return true;
         }
 
-        // Tek seferde tüm olası URL'leri deneme listesi
-        String[] urlsToTry = {
-                "http://rest-simulator:8080/api/rates",  // Docker servis adı (öncelikli)
-                "http://platform-simulator-rest:8080/api/rates",  // Alternatif servis adı
-                "http://localhost:8080/api/rates"  // Yerel geliştirme ortamı
-        };
-
-        this.pollingIntervalMs = Long.parseLong(config.getProperty("rest.pollingIntervalMs", "5000"));
         int maxRetries = Integer.parseInt(config.getProperty("connection.retryCount", "10"));
         long retryInterval = Long.parseLong(config.getProperty("connection.retryIntervalMs", "5000"));
 
-        // Her URL'yi dene
-        for (String urlToTry : urlsToTry) {
-            logger.info("Trying to connect to: {}", urlToTry);
-
-            // Her URL için birkaç deneme yap
+        // Engelleyen taşıyıcıda da adaylar aynı anda denenir
+        ExecutorService probeExecutor = Executors.newFixedThreadPool(candidateUrls.size(), runnable -> {
+            Thread thread = new Thread(runnable, "RestProbe-" + platformName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
             for (int attempt = 1; attempt <= maxRetries; attempt++) {
-                try {
-                    logger.info("Attempt {}/{} for URL: {}", attempt, maxRetries, urlToTry);
-                    ResponseEntity<String> response = restTemplate.getForEntity(urlToTry, String.class);
-
-                    if (response.getStatusCode() == HttpStatus.OK) {
-                        this.baseUrl = urlToTry;
-                        connected.set(true);
+                logger.info("Probing {} for platform {} (attempt {}/{})", candidateUrls, platformName, attempt, maxRetries);
 
-                        if (callback != null) {
-                            callback.onConnect(platformName, true);
-                        }
+                String healthyUrl = probe(probeExecutor);
+                if (healthyUrl != null) {
+                    this.baseUrl = healthyUrl;
+                    connected.set(true);
 
-                        logger.info("Successfully connected to REST API {} for platform {}", urlToTry, platformName);
-                        return true;
-                    }
-                } catch (Exception e) {
-                    logger.warn("Attempt {}/{} for URL {} failed: {}",
-                            attempt, maxRetries, urlToTry, e.getMessage());
-
-                    // Sadece son deneme değilse bekle
-                    if (attempt < maxRetries) {
-                        try {
-                            logger.info("Waiting {} ms before next attempt...", retryInterval);
-                            Thread.sleep(retryInterval);
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            break;
-                        }
+                    if (callback != null) {
+                        callback.onConnect(platformName, true);
                     }
+
+                    logger.info("Successfully connected to REST API {} for platform {}", healthyUrl, platformName);
+                    onConnectionEstablished();
+                    return true;
+                }
+
+                // Sadece son deneme değilse bekle
+                if (attempt < maxRetries) {
+                    logger.info("Waiting {} ms before next attempt...", retryInterval);
+                    Thread.sleep(retryInterval);
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            probeExecutor.shutdownNow();
         }
 
         // Hiçbir URL çalışmadı
@@ -117,6 +265,40 @@ public class RestPlatformConnector extends DataCollector {
 
         return false;
     }
+
+    /**
+     * Request every candidate URL at once
+     * @return The first candidate that answered 200, or null if none did within the request timeout
+     */
+    private String probe(ExecutorService probeExecutor) throws InterruptedException {
+        CompletableFuture<String> healthy = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(candidateUrls.size());
+
+        for (String url : candidateUrls) {
+            CompletableFuture.supplyAsync(() -> url, probeExecutor)
+                    .thenCompose(transport::get)
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.getStatusCode() == 200) {
+                            healthy.complete(url);
+                        } else {
+                            logger.warn("Probe of {} for platform {} failed: {}", url, platformName,
+                                    error != null ? describe(error) : "HTTP " + response.getStatusCode());
+                        }
+                        if (remaining.decrementAndGet() == 0) {
+                            // Hepsi başarısız
+                            healthy.complete(null);
+                        }
+                    });
+        }
+
+        try {
+            return healthy.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("No REST endpoint answered within {} ms for platform {}", requestTimeoutMs, platformName);
+            return null;
+        }
+    }
+
     @Override
     public boolean disconnect(String platformName, String userid, String password) {
         if (!connected.get()) {
@@ -124,8 +306,9 @@ public class RestPlatformConnector extends DataCollector {
             return true;
         }
 
-        // No actual disconnection for REST, just stop polling
+        // No actual disconnection for REST, just stop polling and streaming
         connected.set(false);
+        closeStream();
 
         if (callback != null) {
             callback.onDisConnect(platformName, true);
@@ -138,18 +321,37 @@ public class RestPlatformConnector extends DataCollector {
     @Override
     public boolean subscribe(String platformName, String rateName) {
         if (!connected.get()) {
+            if (queueSubscription(rateName, connected::get)) {
+                return true;
+            }
             logger.error("Cannot subscribe - not connected to platform: {}", platformName);
             return false;
         }
 
-        // Fetch initial data immediately
-        boolean success = fetchAndProcessRate(rateName);
+        // Fetch initial data immediately; the result is delivered on the poller thread like every other response
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        boolean success;
+        try {
+            scheduler.execute(() -> fetch(rateUrl(rateName), null).whenCompleteAsync(
+                    (response, error) -> result.complete(processRate(rateName, response, error)), scheduler));
+            success = result.get(requestTimeoutMs + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            success = false;
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException e) {
+            logger.error("Initial fetch of rate {} from platform {} failed: {}", rateName, platformName, describe(e));
+            success = false;
+        }
+
         handleSubscriptionResult(rateName, success);
         return success;
     }
 
     @Override
     public boolean unsubscribe(String platformName, String rateName) {
+        if (dequeueSubscription(rateName)) {
+            return true;
+        }
         if (!connected.get()) {
             logger.error("Cannot unsubscribe - not connected to platform: {}", platformName);
             return false;
@@ -166,30 +368,21 @@ public class RestPlatformConnector extends DataCollector {
         if (connected.get()) {
             // Update all subscribed rates at regular intervals
             scheduler.scheduleAtFixedRate(() -> {
-                if (!running.get() || !connected.get()) {
-                    return;
-                }
-
-                // Take a copy (to avoid ConcurrentModificationException)
-                Set<String> rates = new HashSet<>(subscribedRates);
-
-                for (String rateName : rates) {
-                    try {
-                        fetchAndProcessRate(rateName);
-                    } catch (Exception e) {
-                        logger.error("Error fetching rate {} from platform {}", rateName, platformName, e);
-
-                        if (callback != null) {
-                            callback.onRateStatus(platformName, rateName, RateStatus.ERROR);
-                        }
-                    }
+                try {
+                    poll();
+                } catch (Exception e) {
+                    logger.error("Error polling platform {}", platformName, e);
                 }
-            }, 0, pollingIntervalMs, TimeUnit.MILLISECONDS);
+            }, 0, pollTickMs, TimeUnit.MILLISECONDS);
 
-            // Keep main thread alive
+            // Keep main thread alive; in streaming mode it reads the stream
             try {
                 while (running.get() && !Thread.currentThread().isInterrupted()) {
-                    Thread.sleep(1000);
+                    if (streaming) {
+                        streamOnce();
+                    } else {
+                        Thread.sleep(1000);
+                    }
                 }
             } catch (InterruptedException e) {
                 logger.info("REST platform collector thread interrupted");
@@ -213,93 +406,542 @@ public class RestPlatformConnector extends DataCollector {
             logger.error("Scheduler shutdown interrupted", e);
             Thread.currentThread().interrupt();
         }
+        transport.close();
 
         disconnect(platformName, null, null);
     }
 
     /**
-     * Fetch and process the specified rate data from REST API
-     * @param rateName Rate name
-     * @return true if successful
+     * Start the requests that are due at this tick (poller thread)
      */
+    private void poll() {
+        if (!running.get() || !connected.get()) {
+            return;
+        }
+
+        if (streamActive) {
+            if (subscribedRates.equals(streamRates)) {
+                // Akış tüm aboneliklere veri getiriyor, yoklama gerekmez
+                return;
+            }
+            // Abonelikler değişti; akış yeni kümeyle yeniden açılır, o sırada yoklamaya devam edilir
+            logger.info("Subscriptions changed, reopening rate stream for platform {}", platformName);
+            closeStream();
+        }
+
+        if (bulkPolling) {
+            if (bulkInFlight) {
+                // Önceki toplu istek henüz dönmedi, üst üste istek gönderilmez
+                logger.debug("Previous bulk fetch for platform {} still in flight, skipping interval", platformName);
+                return;
+            }
+
+            // Take a copy (to avoid ConcurrentModificationException)
+            Set<String> rates = new HashSet<>(subscribedRates);
+            if (rates.isEmpty()) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            if (pollScheduler.dueKeys(BULK_KEYS, now).isEmpty() || !pollScheduler.tryAcquire(now)) {
+                return;
+            }
+            pollScheduler.onPollStarted(BULK_KEY, now);
+
+            // Kur kümesi değiştiyse önceki sürüm yeni kurları kapsamaz, tam liste istenir
+            boolean delta = bulkETag != null && rates.equals(bulkRates);
+            String url = delta && bulkVersion >= 0 ? bulkUrl(rates) + "&sinceVersion=" + bulkVersion : bulkUrl(rates);
+
+            bulkInFlight = true;
+            fetch(url, delta ? bulkETag : null).whenCompleteAsync((response, error) -> {
+                bulkInFlight = false;
+                int changed = processRates(rates, delta, response, error);
+                pollScheduler.onPollCompleted(BULK_KEY, changed > 0, changed < 0);
+            }, scheduler);
+            return;
+        }
+
+        // Vadesi gelen kurlar en çok gecikenden başlayarak sıraya alınır; hâlâ bekleyenler tekrar alınmaz
+        pollScheduler.retain(subscribedRates);
+        for (String rateName : pollScheduler.dueKeys(subscribedRates, System.nanoTime())) {
+            if (pendingRates.add(rateName)) {
+                pollQueue.add(rateName);
+            }
+        }
+        drainPollQueue();
+    }
+
+    /**
+     * Start queued single rate requests while below the in-flight limit and within the request budget
+     * (poller thread)
+     */
+    private void drainPollQueue() {
+        while (inFlight < maxInFlight && !pollQueue.isEmpty()) {
+            long now = System.nanoTime();
+            if (!pollScheduler.tryAcquire(now)) {
+                // Bütçe doldu, kalanlar sonraki turda
+                return;
+            }
+
+            String rateName = pollQueue.poll();
+            inFlight++;
+            pollScheduler.onPollStarted(rateName, now);
+            Rate previousRate = lastRates.get(rateName);
+
+            fetch(rateUrl(rateName), rateETags.get(rateName)).whenCompleteAsync((response, error) -> {
+                inFlight--;
+                pendingRates.remove(rateName);
+                if (subscribedRates.contains(rateName)) {
+                    boolean success = processRate(rateName, response, error);
+                    pollScheduler.onPollCompleted(rateName, hasChanged(previousRate, lastRates.get(rateName)), !success);
+                }
+                drainPollQueue();
+            }, scheduler);
+        }
+    }
+
+    /**
+     * Issue a request through the transport and record its latency
+     */
+    private CompletableFuture<RestResponse> fetch(String url, String ifNoneMatch) {
+        logger.debug("Fetching rate data from URL: {} (If-None-Match: {})", url, ifNoneMatch);
+        long start = System.nanoTime();
+
+        CompletableFuture<RestResponse> future;
+        try {
+            future = transport.get(url, ifNoneMatch);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((response, error) -> {
+            fetchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null) {
+                fetchFailures.increment();
+            } else if (response.isNotModified()) {
+                fetchNotModified.increment();
+            } else if (!response.isOk()) {
+                fetchFailures.increment();
+            }
+        });
+    }
+
+    private String rateUrl(String rateName) {
+        return baseUrl + "/" + URLEncoder.encode(rateName, StandardCharsets.UTF_8);
+    }
+
+    private String bulkUrl(Set<String> rateNames) {
+        return baseUrl + "?names=" + URLEncoder.encode(String.join(",", rateNames), StandardCharsets.UTF_8);
+    }
+
     /**
-     * Fetch and process the specified rate data from REST API
+     * Process the response for a single rate (poller thread)
      * @param rateName Rate name
      * @return true if successful
      */
-    private boolean fetchAndProcessRate(String rateName) {
-        String url = baseUrl + "/" + rateName;
-        logger.info("Fetching rate data from URL: {}", url);
+    private boolean processRate(String rateName, RestResponse response, Throwable error) {
+        if (error != null) {
+            logger.error("Error fetching rate {} from platform {}: {}",
+                    rateName, platformName, describe(error));
 
-        try {
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            reportRateStatus(rateName, RateStatus.ERROR);
+            return false;
+        }
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> rateData = response.getBody();
-                logger.debug("Received rate data: {}", rateData);
+        if (response.isNotModified()) {
+            // Kur değişmedi, bildirim yapılmaz
+            updateLastResponseTime();
+            markRateFresh(rateName);
+            return true;
+        }
 
-                String responseRateName = (String) rateData.get("rateName");
-                if (responseRateName == null) {
-                    logger.error("Rate data missing 'rateName' field: {}", rateData);
-                    return false;
-                }
+        if (!response.isOk()) {
+            logger.error("Failed to fetch rate {} from platform {}: {}",
+                    rateName, platformName, response.getStatusCode());
 
-                Double bid = ((Number) rateData.get("bid")).doubleValue();
-                Double ask = ((Number) rateData.get("ask")).doubleValue();
-                String timestampStr = (String) rateData.get("timestamp");
+            reportRateStatus(rateName, RateStatus.UNAVAILABLE);
+            return false;
+        }
 
-                // Parse timestamp
-                LocalDateTime timestamp;
-                try {
-                    timestamp = LocalDateTime.parse(timestampStr);
-                } catch (Exception e) {
-                    logger.error("Error parsing timestamp '{}': {}", timestampStr, e.getMessage());
-                    timestamp = LocalDateTime.now(); // Default to current time
-                }
+        try {
+            rateParser.parse(response.getBody(), decoded);
+            if (decoded.isEmpty()) {
+                logger.error("Rate data for {} missing rateName/bid/ask: {}",
+                        rateName, new String(response.getBody(), StandardCharsets.UTF_8));
+                return false;
+            }
+            logger.debug("Received rate data for {}: bid={}, ask={}", rateName, decoded.getBid(0), decoded.getAsk(0));
 
-                // Create rate object with exactly matching platform name
-                Rate rate = new Rate(responseRateName, platformName, bid, ask, timestamp, false);
+            Rate previousRate = lastRates.get(rateName);
+            boolean duplicate = isDuplicateTick(rateName, decoded.getBid(0), decoded.getAsk(0), decoded.getTimestampNanos(0));
+            if (duplicate && previousRate != null) {
+                // Son teslim edilen veri ile aynı, bildirim yapılmaz
+                logger.debug("Rate {} unchanged, update suppressed", rateName);
+            } else {
+                Rate rate = sameData(previousRate, decoded, 0) ? previousRate : toRate(rateName, decoded, 0);
 
                 // Notify callback
+                recordTick(rateName);
                 if (callback != null) {
-                    Rate previousRate = lastRates.get(rateName);
-
                     if (previousRate == null) {
                         // First time data is available
                         callback.onRateAvailable(platformName, rateName, rate);
                         logger.info("Rate available - {}: {}", rateName, rate);
                     } else {
                         // Update existing data
-                        RateFields rateFields = new RateFields(bid, ask, timestamp);
+                        RateFields rateFields = new RateFields(rate.getBid(), rate.getAsk(), rate.getTimestamp());
                         callback.onRateUpdate(platformName, rateName, rateFields);
                         logger.info("Rate update - {}: {}", rateName, rateFields);
                     }
                 }
 
-                // Store last rate
+                // Store last rate; unchanged data keeps the previous instance
                 lastRates.put(rateName, rate);
+            }
+            if (response.getETag() != null) {
+                rateETags.put(rateName, response.getETag());
+            } else {
+                rateETags.remove(rateName);
+            }
 
-                // Update last response time
-                updateLastResponseTime();
+            // Update last response time
+            updateLastResponseTime();
 
-                return true;
-            } else {
-                logger.error("Failed to fetch rate {} from platform {}: {}",
-                        rateName, platformName, response.getStatusCode());
+            return true;
+        } catch (Exception e) {
+            logger.error("Error processing rate {} from platform {}: {}",
+                    rateName, platformName, e.getMessage());
 
-                if (callback != null) {
-                    callback.onRateStatus(platformName, rateName, RateStatus.UNAVAILABLE);
+            reportRateStatus(rateName, RateStatus.ERROR);
+            return false;
+        } finally {
+            decoded.clear();
+        }
+    }
+
+    /**
+     * Process a bulk response and deliver it to the coordinator as one batch (poller thread)
+     * @param rateNames Rate names requested
+     * @param delta True if only rates changed since the last response were requested
+     * @return Number of rates that changed, or -1 if the request failed
+     */
+    private int processRates(Set<String> rateNames, boolean delta, RestResponse response, Throwable error) {
+        if (error != null) {
+            logger.error("Error fetching rates from platform {}: {}", platformName, describe(error));
+            bulkETag = null;
+            notifyRateStatus(rateNames, RateStatus.ERROR);
+            return -1;
+        }
+        if (response.isNotModified()) {
+            // Hiçbir kur değişmedi, bildirim yapılmaz
+            updateLastResponseTime();
+            rateNames.forEach(this::markRateFresh);
+            return 0;
+        }
+        if (!response.isOk()) {
+            bulkETag = null;
+            logger.error("Failed to fetch rates from platform {}: {}", platformName, response.getStatusCode());
+            notifyRateStatus(rateNames, RateStatus.UNAVAILABLE);
+            return -1;
+        }
+
+        try {
+            rateParser.parse(response.getBody(), decoded);
+        } catch (Exception e) {
+            logger.error("Error parsing rates from platform {}: {}", platformName, e.getMessage());
+            decoded.clear();
+            bulkETag = null;
+            notifyRateStatus(rateNames, RateStatus.ERROR);
+            return -1;
+        }
+
+        updateLastResponseTime();
+        bulkRates = rateNames;
+        bulkETag = response.getETag();
+        bulkVersion = versionOf(bulkETag);
+
+        return deliverRates(rateNames, delta);
+    }
+
+    /**
+     * Deliver the decoded rates of a bulk response or stream event, first sightings individually and
+     * updates as one batch, then clear the decoded rows (poller thread)
+     * @param rateNames Rate names requested
+     * @param delta True if the body holds only changed rates, so a missing rate is not reported unavailable
+     * @return Number of rates whose data changed
+     */
+    private int deliverRates(Set<String> rateNames, boolean delta) {
+        int changed = 0;
+        try {
+            if (rateParser.getSkipped() > 0) {
+                logger.warn("{} malformed rate entries in response from platform {}", rateParser.getSkipped(), platformName);
+            }
+
+            for (int i = 0; i < decoded.size(); i++) {
+                String rateName = decoded.getRateName(i);
+                if (!rateNames.contains(rateName) || !subscribedRates.contains(rateName)) {
+                    // İstenmeyen kur ya da istek yoldayken abonelikten çıkıldı
+                    continue;
+                }
+                deliveredRates.add(rateName);
+                boolean duplicate = isDuplicateTick(rateName, decoded.getBid(i), decoded.getAsk(i), decoded.getTimestampNanos(i));
+
+                Rate previousRate = lastRates.get(rateName);
+                if (previousRate == null) {
+                    // İlk kez gelen kur ayrı bildirilir
+                    Rate rate = toRate(rateName, decoded, i);
+                    lastRates.put(rateName, rate);
+                    changed++;
+                    recordTick(rateName);
+                    if (callback != null) {
+                        callback.onRateAvailable(platformName, rateName, rate);
+                    }
+                    logger.info("Rate available - {}: {}", rateName, rate);
+                    continue;
+                }
+                if (duplicate) {
+                    // Son teslim edilen tick ile aynı, teslim edilmez
+                    continue;
+                }
+
+                // Rate nesnesi yalnızca veri değiştiyse oluşturulur
+                if (!sameData(previousRate, decoded, i)) {
+                    lastRates.put(rateName, toRate(rateName, decoded, i));
+                    changed++;
+                }
+                tickBatch.add(decoded, i);
+            }
+
+            if (!delta) {
+                // Fark yanıtında yalnızca değişen kurlar bulunur; tam yanıtta eksik kur artık sunulmuyor demektir
+                for (String rateName : rateNames) {
+                    if (subscribedRates.contains(rateName) && !deliveredRates.contains(rateName)) {
+                        logger.warn("Rate {} missing in bulk response from platform {}", rateName, platformName);
+                        reportRateStatus(rateName, RateStatus.UNAVAILABLE);
+                    }
                 }
-                return false;
             }
-        } catch (Exception e) {
-            logger.error("Error fetching rate {} from platform {}: {}",
-                    rateName, platformName, e.getMessage());
 
-            if (callback != null) {
-                callback.onRateStatus(platformName, rateName, RateStatus.ERROR);
+            if (callback != null && !tickBatch.isEmpty()) {
+                recordTicks(tickBatch);
+                callback.onRateBatch(platformName, tickBatch);
             }
+        } catch (RuntimeException e) {
+            logger.error("Error delivering rates from platform {}: {}", platformName, e.toString());
+        } finally {
+            tickBatch.clear();
+            decoded.clear();
+            deliveredRates.clear();
+        }
+        return changed;
+    }
+
+    /**
+     * @return True if the decoded row carries the same data as the rate
+     */
+    private static boolean sameData(Rate rate, TickBatch batch, int index) {
+        return rate != null
+                && Double.compare(rate.getBid(), batch.getBid(index)) == 0
+                && Double.compare(rate.getAsk(), batch.getAsk(index)) == 0
+                && rate.getTimestamp() != null
+                && TickBatch.toEpochNanos(rate.getTimestamp()) == batch.getTimestampNanos(index);
+    }
+
+    /**
+     * @return True if the current rate carries different data than the previous one
+     */
+    private static boolean hasChanged(Rate previousRate, Rate currentRate) {
+        if (currentRate == null || currentRate == previousRate) {
             return false;
         }
+        return previousRate == null
+                || Double.compare(previousRate.getBid(), currentRate.getBid()) != 0
+                || Double.compare(previousRate.getAsk(), currentRate.getAsk()) != 0
+                || !Objects.equals(previousRate.getTimestamp(), currentRate.getTimestamp());
+    }
+
+    /**
+     * Open the rate stream for the current subscriptions and read it until it ends (connector thread).
+     * Waits {@code rest.streamRetryMs} before returning after a failure; polling covers the gap.
+     */
+    private void streamOnce() throws InterruptedException {
+        Set<String> rates = new HashSet<>(subscribedRates);
+        if (rates.isEmpty()) {
+            Thread.sleep(streamRetryMs);
+            return;
+        }
+
+        // Kaldığı yerden devam yalnızca aynı kur kümesi için geçerli
+        String resumeId = rates.equals(streamRates) ? lastEventId : null;
+        String url = baseUrl + "/stream?names=" + URLEncoder.encode(String.join(",", rates), StandardCharsets.UTF_8);
+
+        boolean restarted = false;
+        try (RestStream stream = transport.openStream(url, resumeId)) {
+            if (stream.getStatusCode() != 200) {
+                throw new IOException("HTTP " + stream.getStatusCode());
+            }
+            currentStream = stream;
+            if (!running.get() || !connected.get()) {
+                return;
+            }
+            streamRates = rates;
+            logger.info("Rate stream opened for platform {} with {} rates (Last-Event-ID={})",
+                    platformName, rates.size(), resumeId);
+
+            readEvents(stream, rates);
+            // Sunucu ya da closeStream akışı bitirdi
+            restarted = !rates.equals(subscribedRates);
+            logger.info("Rate stream for platform {} ended", platformName);
+        } catch (IOException e) {
+            restarted = !rates.equals(subscribedRates);
+            if (running.get() && connected.get() && !restarted) {
+                logger.warn("Rate stream for platform {} failed, polling until it reconnects: {}",
+                        platformName, e.toString());
+            }
+        } finally {
+            streamActive = false;
+            currentStream = null;
+        }
+
+        if (!restarted) {
+            Thread.sleep(streamRetryMs);
+        }
+    }
+
+    /**
+     * Parse Server-Sent Events and hand each {@code rates} event to the poller thread
+     */
+    private void readEvents(RestStream stream, Set<String> rates) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream.getBody(), StandardCharsets.UTF_8));
+        StringBuilder data = new StringBuilder();
+        String eventId = null;
+        String eventName = null;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                // Boş satır olayı bitirir
+                if (data.length() > 0 && (eventName == null || "rates".equals(eventName))) {
+                    dispatchEvent(rates, eventId, data.toString());
+                }
+                data.setLength(0);
+                eventId = null;
+                eventName = null;
+                continue;
+            }
+            if (line.charAt(0) == ':') {
+                // Yorum satırı (heartbeat), bağlantının canlı olduğunu gösterir
+                updateLastResponseTime();
+                continue;
+            }
+
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+
+            switch (field) {
+                case "id":
+                    eventId = value;
+                    break;
+                case "event":
+                    eventName = value;
+                    break;
+                case "data":
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void dispatchEvent(Set<String> rates, String eventId, String data) throws IOException {
+        if (eventId != null) {
+            lastEventId = eventId;
+        }
+        if (!streamActive) {
+            streamActive = true;
+            logger.info("Rate stream for platform {} is delivering, polling paused", platformName);
+        }
+
+        try {
+            // Olay poller thread'inde çözülür, çözücü ve tampon orada kalır
+            scheduler.execute(() -> {
+                updateLastResponseTime();
+                try {
+                    rateParser.parse(data, decoded);
+                } catch (IOException e) {
+                    logger.error("Error parsing rate event from platform {}: {}", platformName, e.getMessage());
+                    decoded.clear();
+                    return;
+                }
+                deliverRates(rates, true);
+            });
+        } catch (RejectedExecutionException e) {
+            // Connector kapanıyor
+            throw new IOException("Connector stopped", e);
+        }
+    }
+
+    /**
+     * Close the current stream, ending a blocked read on the connector thread
+     */
+    private void closeStream() {
+        streamActive = false;
+        RestStream stream = currentStream;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rate stream for platform {}: {}", platformName, e.toString());
+            }
+        }
+    }
+
+    /**
+     * Convert one decoded row to a rate
+     */
+    private Rate toRate(String rateName, TickBatch batch, int index) {
+        return new Rate(rateName, platformName, batch.getBid(index), batch.getAsk(index),
+                batch.getTimestamp(index), false);
+    }
+
+    /**
+     * Version carried by a numeric ETag ({@code "42"} or {@code W/"42"})
+     * @return Version, or -1 if the ETag is missing or not numeric
+     */
+    private static long versionOf(String eTag) {
+        if (eTag == null) {
+            return -1;
+        }
+        String value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        if (value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void notifyRateStatus(Set<String> rateNames, RateStatus rateStatus) {
+        for (String rateName : rateNames) {
+            reportRateStatus(rateName, rateStatus);
+        }
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.toString();
     }
-}
\ No newline at end of file
+}
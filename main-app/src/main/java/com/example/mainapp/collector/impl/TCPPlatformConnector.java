@@ -4,6 +4,9 @@ import com.example.mainapp.collector.DataCollector;
 import com.example.mainapp.model.Rate;
 import com.example.mainapp.model.RateFields;
 import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,7 +53,17 @@ public class TCPPlatformConnector extends DataCollector {
      * @param config Platform configuration
      */
     public TCPPlatformConnector(String platformName, Properties config) {
-        super(platformName, config);
+        this(platformName, config, Metrics.globalRegistry);
+    }
+
+    /**
+     * Constructor
+     * @param platformName Platform name
+     * @param config Platform configuration
+     * @param meterRegistry Registry for connector metrics
+     */
+    public TCPPlatformConnector(String platformName, Properties config, MeterRegistry meterRegistry) {
+        super(platformName, config, meterRegistry);
 
         this.host = config.getProperty("tcp.host", "tcp-simulator");
         this.port = Integer.parseInt(config.getProperty("tcp.port", "8081"));
@@ -92,6 +105,7 @@ public class TCPPlatformConnector extends DataCollector {
 
                 // Connection successful, reset last response time
                 updateLastResponseTime();
+                onConnectionEstablished();
 
                 return true;
             } catch (ConnectException e) {
@@ -176,12 +190,12 @@ public class TCPPlatformConnector extends DataCollector {
     @Override
     public boolean subscribe(String platformName, String rateName) {
         if (!isConnected()) {
-            logger.error("Cannot subscribe - not connected to platform: {}", platformName);
-
-            boolean reconnected = connect(platformName, null, null);
-            if (!reconnected) {
-                return false;
+            // Bağlantı bağlayıcı thread'inde kuruluyor; abonelik onu beklemez
+            if (queueSubscription(rateName, this::isConnected)) {
+                return true;
             }
+            logger.error("Cannot subscribe - not connected to platform: {}", platformName);
+            return false;
         }
 
         try {
@@ -197,6 +211,9 @@ public class TCPPlatformConnector extends DataCollector {
 
     @Override
     public boolean unsubscribe(String platformName, String rateName) {
+        if (dequeueSubscription(rateName)) {
+            return true;
+        }
         if (!isConnected()) {
             logger.error("Cannot unsubscribe - not connected to platform: {}", platformName);
             return false;
@@ -280,9 +297,7 @@ public class TCPPlatformConnector extends DataCollector {
                                         String rateName = command.substring("subscribe|".length());
                                         handleSubscriptionResult(rateName, false);
 
-                                        if (callback != null) {
-                                            callback.onRateStatus(platformName, rateName, RateStatus.UNAVAILABLE);
-                                        }
+                                        reportRateStatus(rateName, RateStatus.UNAVAILABLE);
                                     }
                                 }
                             }
@@ -354,8 +369,13 @@ public class TCPPlatformConnector extends DataCollector {
                         double bid = Double.parseDouble(matcher.group(2));
                         double ask = Double.parseDouble(matcher.group(3));
                         LocalDateTime timestamp = LocalDateTime.parse(matcher.group(4), TIMESTAMP_FORMATTER);
+                        if (isDuplicateTick(rateName, bid, ask, TickBatch.toEpochNanos(timestamp))) {
+                            // Son teslim edilen tick ile aynı
+                            continue;
+                        }
 
                         // Notify coordinator
+                        recordTick(rateName);
                         if (callback != null) {
                             if (!subscribedRates.contains(rateName)) {
                                 // First data
@@ -384,7 +404,7 @@ public class TCPPlatformConnector extends DataCollector {
 
                         // Notify UNAVAILABLE status for all rates
                         subscribedRates.forEach(rateName ->
-                                callback.onRateStatus(platformName, rateName, RateStatus.UNAVAILABLE));
+                                reportRateStatus(rateName, RateStatus.UNAVAILABLE));
                     }
 
                     // Try to reconnect
@@ -0,0 +1,25 @@
+package com.example.mainapp.collector.nio;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+
+/**
+ * Handler attached to a channel registered with a {@link NioEventLoop}.
+ * Both methods are always called on the event loop thread.
+ */
+public interface NioChannelHandler {
+
+    /**
+     * Called when the channel is ready for one of its interest operations
+     * @param key Selection key of the channel
+     * @throws IOException if the channel fails
+     */
+    void onReady(SelectionKey key) throws IOException;
+
+    /**
+     * Called when {@link #onReady(SelectionKey)} fails; the handler is expected to close the channel
+     * @param key Selection key of the channel
+     * @param cause Failure cause
+     */
+    void onFailure(SelectionKey key, IOException cause);
+}
@@ -0,0 +1,231 @@
+package com.example.mainapp.collector.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Single I/O thread that multiplexes many non-blocking channels over one {@link Selector}.
+ * <p>
+ * Channel registration, reads, writes, submitted tasks and timers all run on the loop thread,
+ * so connectors served by the same loop never need locks for their channel state.
+ */
+public class NioEventLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioEventLoop.class);
+
+    // Upper bound for select when no timer is pending (ms)
+    private static final long MAX_SELECT_MILLIS = 1000;
+
+    private final String name;
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    // Only accessed by the loop thread
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Consumer<SelectionKey> keyHandler = this::handleKey;
+
+    private long timerSequence;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Constructor
+     * @param name Thread name
+     * @throws IOException if the selector cannot be opened
+     */
+    public NioEventLoop(String name) throws IOException {
+        this.name = name;
+        this.selector = Selector.open();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("NIO event loop {} started", name);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        selector.wakeup();
+
+        if (thread != null) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                logger.error("Interrupted while waiting for NIO event loop to stop", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("NIO event loop {} stopped", name);
+    }
+
+    /**
+     * @return True if the caller is the loop thread
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Runs a task on the loop thread
+     * @param task Task to run
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Runs a task on the loop thread after a delay
+     * @param task Task to run
+     * @param delayMs Delay in milliseconds
+     */
+    public void schedule(Runnable task, long delayMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        if (inEventLoop()) {
+            timers.add(new Timer(deadline, timerSequence++, task));
+        } else {
+            execute(() -> timers.add(new Timer(deadline, timerSequence++, task)));
+        }
+    }
+
+    /**
+     * Registers a channel with the loop's selector. Must be called on the loop thread.
+     * @param channel Non-blocking channel
+     * @param ops Interest operations
+     * @param handler Handler invoked when the channel is ready
+     * @return Selection key of the channel
+     * @throws ClosedChannelException if the channel is closed
+     */
+    public SelectionKey register(SelectableChannel channel, int ops, NioChannelHandler handler)
+            throws ClosedChannelException {
+        if (!inEventLoop()) {
+            throw new IllegalStateException("Channels must be registered on the event loop thread");
+        }
+        return channel.register(selector, ops, handler);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                wakeupPending.set(false);
+                if (tasks.isEmpty()) {
+                    selector.select(keyHandler, selectTimeoutMillis());
+                } else {
+                    selector.selectNow(keyHandler);
+                }
+
+                runTimers();
+                runTasks();
+            } catch (IOException e) {
+                logger.error("Selector failure on NIO event loop {}", name, e);
+            } catch (Exception e) {
+                // Do not stop the loop
+                logger.error("Unexpected error on NIO event loop {}", name, e);
+            }
+        }
+
+        // Run tasks still pending at shutdown (e.g. closing connections)
+        runTasks();
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.warn("Error closing selector of NIO event loop {}", name, e);
+        }
+    }
+
+    private long selectTimeoutMillis() {
+        Timer next = timers.peek();
+        if (next == null) {
+            return MAX_SELECT_MILLIS;
+        }
+        long remainingNanos = next.deadline - System.nanoTime();
+        // select(0) waits forever, so wait at least 1 ms
+        return Math.max(1, Math.min(MAX_SELECT_MILLIS, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+    }
+
+    private void handleKey(SelectionKey key) {
+        NioChannelHandler handler = (NioChannelHandler) key.attachment();
+        try {
+            if (key.isValid()) {
+                handler.onReady(key);
+            }
+        } catch (IOException e) {
+            handler.onFailure(key, e);
+        } catch (Exception e) {
+            logger.error("Unexpected error in channel handler on NIO event loop {}", name, e);
+            handler.onFailure(key, new IOException(e));
+        }
+    }
+
+    private void runTimers() {
+        long now = System.nanoTime();
+        Timer timer;
+        while ((timer = timers.peek()) != null && timer.deadline - now <= 0) {
+            timers.poll();
+            runSafely(timer.task);
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            runSafely(task);
+        }
+    }
+
+    private void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("Error in task on NIO event loop {}", name, e);
+        }
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+        final long deadline;
+        final long sequence;
+        final Runnable task;
+
+        Timer(long deadline, long sequence, Runnable task) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int byDeadline = Long.compare(deadline - other.deadline, 0);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+    }
+}
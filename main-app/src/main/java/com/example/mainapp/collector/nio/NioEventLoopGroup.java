@@ -0,0 +1,71 @@
+package com.example.mainapp.collector.nio;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Shared pool of NIO event loops for socket based connectors.
+ * Connectors are assigned to loops round robin, so any number of platforms is served by
+ * a fixed, small number of I/O threads. Loops are started on first use.
+ */
+@Component
+public class NioEventLoopGroup {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioEventLoopGroup.class);
+
+    private final NioEventLoop[] loops;
+    private int next;
+    private boolean started;
+
+    /**
+     * Constructor
+     * @param ioThreads Number of I/O threads (event loops)
+     */
+    public NioEventLoopGroup(@Value("${connector.nio.ioThreads:1}") int ioThreads) {
+        this.loops = new NioEventLoop[Math.max(1, ioThreads)];
+        try {
+            for (int i = 0; i < loops.length; i++) {
+                loops[i] = new NioEventLoop("NioEventLoop-" + i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open NIO selector", e);
+        }
+        logger.info("NIO event loop group created with {} I/O thread(s)", loops.length);
+    }
+
+    /**
+     * Returns the loop for the next connector, starting the loops if needed
+     * @return Event loop
+     */
+    public synchronized NioEventLoop next() {
+        if (!started) {
+            for (NioEventLoop loop : loops) {
+                loop.start();
+            }
+            started = true;
+        }
+        NioEventLoop loop = loops[next];
+        next = (next + 1) % loops.length;
+        return loop;
+    }
+
+    public int size() {
+        return loops.length;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (started) {
+            for (NioEventLoop loop : loops) {
+                loop.stop();
+            }
+            started = false;
+        }
+    }
+}
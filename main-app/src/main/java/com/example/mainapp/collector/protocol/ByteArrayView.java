@@ -0,0 +1,46 @@
+package com.example.mainapp.collector.protocol;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable {@link CharSequence} view of ASCII bytes, so received bytes are read as text without
+ * decoding them
+ */
+final class ByteArrayView implements CharSequence {
+
+    private byte[] bytes;
+    private int offset;
+    private int length;
+
+    /**
+     * Points the view at a range of bytes
+     * @param bytes Source bytes
+     * @param offset Index of the view's first byte
+     * @param length Number of bytes in the view
+     */
+    void wrap(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(bytes, offset + start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.mainapp.collector.protocol;
+
+/**
+ * Reusable {@link CharSequence} view of a character buffer, so text held by a parser's buffer is read
+ * and resolved without a String
+ */
+final class CharArrayView implements CharSequence {
+
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    /**
+     * Points the view at a range of characters
+     * @param chars Source characters
+     * @param offset Index of the view's first character
+     * @param length Number of characters in the view
+     */
+    void wrap(char[] chars, int offset, int length) {
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.mainapp.collector.protocol;
+
+/**
+ * Allocation free decoder for FIX 4.4 MarketDataSnapshotFullRefresh (35=W) messages carrying a bid
+ * (269=0) and an offer (269=1) entry.
+ * <p>
+ * Reads the raw tag=value text of the message (as kept by {@code quickfix.Message#toRawString()}) in one
+ * pass instead of walking the parsed repeating groups: MDEntryPx (270) becomes an unscaled long with a
+ * scale, MDEntryDate (272) and MDEntryTime (273) become epoch nanoseconds and Symbol (55) is resolved
+ * through a {@link SymbolTable}, so a snapshot for a known symbol creates no objects. Entries of other
+ * types are skipped. Not thread safe; each session owns one parser.
+ */
+public final class FixMarketDataParser {
+
+    private static final char SOH = '\u0001';
+
+    private static final int SYMBOL = 55;
+    private static final int MD_ENTRY_TYPE = 269;
+    private static final int MD_ENTRY_PX = 270;
+    private static final int MD_ENTRY_DATE = 272;
+    private static final int MD_ENTRY_TIME = 273;
+    // FIX has no longer tag numbers; prevents overflow on a corrupt message
+    private static final int MAX_TAG_DIGITS = 9;
+
+    private static final char BID = '0';
+    private static final char OFFER = '1';
+
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private final SymbolTable symbols;
+    private final TextValueParser values = new TextValueParser();
+
+    private String symbol;
+    private long bidUnscaled;
+    private int bidScale;
+    private long askUnscaled;
+    private int askScale;
+    private long epochNanos;
+    private boolean timestamp;
+
+    // State of the group entry being read
+    private char entryType;
+    private long entryDays;
+    private long entryNanosOfDay;
+
+    public FixMarketDataParser() {
+        this(new SymbolTable(64));
+    }
+
+    /**
+     * Constructor
+     * @param symbols Symbol table used to resolve names
+     */
+    public FixMarketDataParser(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Parses one message
+     * @param message Raw message text, fields separated by SOH
+     * @return True if the message has a symbol, a bid and an offer price; the results are then
+     * available through the getters until the next call
+     */
+    public boolean parse(CharSequence message) {
+        int length = message.length();
+        int symbolFrom = -1;
+        int symbolTo = -1;
+        boolean bid = false;
+        boolean offer = false;
+        timestamp = false;
+        entryType = 0;
+
+        int i = 0;
+        while (i < length) {
+            int tag = 0;
+            int tagFrom = i;
+            char c;
+            while (i < length && (c = message.charAt(i)) != '=') {
+                int digit = c - '0';
+                if (digit < 0 || digit > 9 || i - tagFrom >= MAX_TAG_DIGITS) {
+                    return false;
+                }
+                tag = tag * 10 + digit;
+                i++;
+            }
+            if (i == length || i == tagFrom) {
+                return false;
+            }
+
+            int valueFrom = ++i;
+            while (i < length && message.charAt(i) != SOH) {
+                i++;
+            }
+            int valueTo = i++;
+
+            switch (tag) {
+                case SYMBOL:
+                    symbolFrom = valueFrom;
+                    symbolTo = valueTo;
+                    break;
+                case MD_ENTRY_TYPE:
+                    // A new group entry starts
+                    finishEntry();
+                    entryType = valueTo - valueFrom == 1 ? message.charAt(valueFrom) : 0;
+                    entryDays = -1;
+                    entryNanosOfDay = -1;
+                    break;
+                case MD_ENTRY_PX:
+                    if (entryType == BID || entryType == OFFER) {
+                        // Price: [-]digits[.digits], no exponent
+                        if (values.parseDecimal(message, valueFrom, valueTo, false) != valueTo) {
+                            return false;
+                        }
+                        if (entryType == BID) {
+                            bidUnscaled = values.getUnscaled();
+                            bidScale = values.getScale();
+                            bid = true;
+                        } else {
+                            askUnscaled = values.getUnscaled();
+                            askScale = values.getScale();
+                            offer = true;
+                        }
+                    }
+                    break;
+                case MD_ENTRY_DATE:
+                    entryDays = TextValueParser.parseBasicDate(message, valueFrom, valueTo);
+                    break;
+                case MD_ENTRY_TIME:
+                    // UTCTimeOnly HH:mm:ss[.fffffffff]
+                    entryNanosOfDay = TextValueParser.parseTime(message, valueFrom, valueTo, true);
+                    break;
+                default:
+                    break;
+            }
+        }
+        finishEntry();
+
+        if (!bid || !offer || symbolTo <= symbolFrom) {
+            return false;
+        }
+
+        // The symbol is only resolved for a valid message, so malformed messages do not fill the table
+        symbol = symbols.resolve(message, symbolFrom, symbolTo);
+        return true;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public double getBid() {
+        return TcpTick.toDouble(bidUnscaled, bidScale);
+    }
+
+    public double getAsk() {
+        return TcpTick.toDouble(askUnscaled, askScale);
+    }
+
+    /**
+     * @return True if the bid or offer entry carried MDEntryDate and MDEntryTime
+     */
+    public boolean hasTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return Nanoseconds since the epoch of the entry's date and time, taken from the bid entry
+     * or, if it has none, from the offer entry; only valid if {@link #hasTimestamp()}
+     */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    private void finishEntry() {
+        if (entryDays < 0 || entryNanosOfDay < 0) {
+            return;
+        }
+        if (entryType == BID || (entryType == OFFER && !timestamp)) {
+            epochNanos = entryDays * NANOS_PER_DAY + entryNanosOfDay;
+            timestamp = true;
+        }
+    }
+}
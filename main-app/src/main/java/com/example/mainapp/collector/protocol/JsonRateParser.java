@@ -0,0 +1,209 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.TickBatch;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming decoder for the REST platform's rate JSON.
+ * <p>
+ * Walks the tokens of Jackson's {@link JsonParser} and writes rateName, bid, ask and timestamp of each
+ * rate straight into a {@link TickBatch}: prices are read from the number's characters as an unscaled
+ * long with a scale, the ISO-8601 local timestamp becomes epoch nanoseconds and rate names are resolved
+ * through a {@link SymbolTable}, so no {@link java.util.Map}, boxed number or
+ * {@link java.time.LocalDateTime} is created per rate. Accepted bodies are a single rate object, an array
+ * of rate objects, or an object mapping rate names to rate objects (bulk and stream responses; the key
+ * is the rate name). Unknown fields are skipped. Not thread safe; each connector owns one parser.
+ */
+public final class JsonRateParser {
+
+    private static final String RATE_NAME = "rateName";
+    private static final String BID = "bid";
+    private static final String ASK = "ask";
+    private static final String TIMESTAMP = "timestamp";
+
+    // TcpTick.toDouble gives the same result as Double.parseDouble up to this scale
+    private static final int MAX_EXACT_SCALE = 22;
+
+    // The factory is thread safe; its field name table is shared between parsers
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final SymbolTable symbols;
+    private final CharArrayView text = new CharArrayView();
+    private final TextValueParser values = new TextValueParser();
+
+    private int skipped;
+
+    public JsonRateParser() {
+        this(new SymbolTable(64));
+    }
+
+    /**
+     * Constructor
+     * @param symbols Symbol table used to resolve rate names
+     */
+    public JsonRateParser(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Parses a response body and appends one row per well-formed rate to the batch. A rate without a
+     * name, bid or ask is skipped and counted; a missing or malformed timestamp is replaced by the
+     * current time.
+     * @param json Response body, UTF-8
+     * @param batch Batch the rates are appended to
+     * @throws IOException If the body is not valid JSON or not one of the accepted shapes
+     */
+    public void parse(byte[] json, TickBatch batch) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parse(parser, batch);
+        }
+    }
+
+    /**
+     * Parses a body already decoded to text, such as the data of a Server-Sent Event
+     * @see #parse(byte[], TickBatch)
+     */
+    public void parse(String json, TickBatch batch) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parse(parser, batch);
+        }
+    }
+
+    private void parse(JsonParser parser, TickBatch batch) throws IOException {
+        skipped = 0;
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                readRate(parser, parser.nextToken(), null, batch);
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Expected rate object in array, got " + token);
+            }
+        } else if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+            if (token == JsonToken.FIELD_NAME && isRateField(parser.currentName())) {
+                // A single rate object
+                readRate(parser, token, null, batch);
+                return;
+            }
+
+            // Rate names mapped to rate objects; the keys come from Jackson's field name table
+            boolean first = true;
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String rateName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT) {
+                    readRate(parser, parser.nextToken(), rateName, batch);
+                } else if (first && value.isScalarValue()) {
+                    // A single rate object starting with an unknown field
+                    readRate(parser, parser.nextToken(), null, batch);
+                    return;
+                } else {
+                    parser.skipChildren();
+                    skipped++;
+                }
+                first = false;
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Expected rate name, got " + token);
+            }
+        } else {
+            throw new JsonParseException(parser, "Expected rate object or array, got " + token);
+        }
+    }
+
+    /**
+     * @return Number of rates skipped by the last {@link #parse} because they lacked a name, bid or ask
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    private static boolean isRateField(String name) {
+        return RATE_NAME.equals(name) || BID.equals(name) || ASK.equals(name) || TIMESTAMP.equals(name);
+    }
+
+    /**
+     * Reads the fields of a rate object up to and including its END_OBJECT
+     * @param token First token inside the object
+     * @param rateName Rate name given by the enclosing key, or null to take it from the rateName field
+     */
+    private void readRate(JsonParser parser, JsonToken token, String rateName, TickBatch batch) throws IOException {
+        double bid = 0;
+        double ask = 0;
+        boolean hasBid = false;
+        boolean hasAsk = false;
+        boolean hasTimestamp = false;
+
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case RATE_NAME:
+                    if (rateName == null && value == JsonToken.VALUE_STRING) {
+                        text.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        rateName = text.length() > 0 ? symbols.resolve(text, 0, text.length()) : null;
+                    }
+                    break;
+                case BID:
+                    if (value.isNumeric() && parseDecimal(parser)) {
+                        bid = toDouble(parser);
+                        hasBid = true;
+                    }
+                    break;
+                case ASK:
+                    if (value.isNumeric() && parseDecimal(parser)) {
+                        ask = toDouble(parser);
+                        hasAsk = true;
+                    }
+                    break;
+                case TIMESTAMP:
+                    if (value == JsonToken.VALUE_STRING) {
+                        text.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        hasTimestamp = values.parseDateTime(text, 0, text.length());
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new JsonParseException(parser, "Expected field of rate object, got " + token);
+        }
+
+        if (rateName == null || !hasBid || !hasAsk) {
+            skipped++;
+            return;
+        }
+        // Without a timestamp the time of receipt is used
+        long epochNanos = hasTimestamp ? values.getEpochNanos() : TickBatch.toEpochNanos(LocalDateTime.now());
+        batch.add(rateName, bid, ask, epochNanos);
+    }
+
+    /**
+     * Parses the current number token, [-]digits[.digits][(E|e)[+-]digits]
+     */
+    private boolean parseDecimal(JsonParser parser) throws IOException {
+        text.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        return values.parseDecimal(text, 0, text.length(), true) == text.length();
+    }
+
+    /**
+     * @return The number parsed by {@link #parseDecimal}; very small or large values, which the exact
+     * conversion does not cover, are left to Jackson so the result always equals {@link Double#parseDouble}
+     */
+    private double toDouble(JsonParser parser) throws IOException {
+        int scale = values.getScale();
+        if (scale > MAX_EXACT_SCALE || scale < -MAX_EXACT_SCALE) {
+            return parser.getDoubleValue();
+        }
+        return TcpTick.toDouble(values.getUnscaled(), scale);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.mainapp.collector.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation free decoder for the sequenced datagrams of the simulator's multicast feed.
+ * <p>
+ * Layout, big-endian: {@code byte version | byte type | long session | long seq}, followed for a tick by
+ * {@code long epochNanos | double bid | double ask | byte symbolLength | symbol (ASCII)}. Ticks are numbered
+ * consecutively from 1 within a publisher session; a heartbeat carries the sequence number of the last
+ * published tick without taking a new one. A restarted publisher starts a new session and numbers from 1
+ * again. The symbol is resolved through a {@link SymbolTable}, so a tick for a known symbol creates no
+ * objects. Not thread safe; each connector owns one decoder.
+ */
+public final class MulticastTickDecoder {
+
+    public static final byte VERSION = 2;
+    public static final byte TYPE_TICK = 'T';
+    public static final byte TYPE_HEARTBEAT = 'H';
+
+    private static final int HEADER_LENGTH = 18;
+    private static final int TICK_BODY_LENGTH = 25;
+
+    private final SymbolTable symbols;
+
+    private byte type;
+    private long session;
+    private long sequence;
+    private long epochNanos;
+    private double bid;
+    private double ask;
+    private String symbol;
+
+    public MulticastTickDecoder() {
+        this(new SymbolTable(64));
+    }
+
+    /**
+     * Constructor
+     * @param symbols Symbol table used to resolve names
+     */
+    public MulticastTickDecoder(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Decodes the readable bytes of a buffer holding exactly one datagram, without moving its position
+     * @param buffer Heap buffer holding the datagram
+     * @return True if the datagram is a well formed tick or heartbeat of a known version
+     */
+    public boolean decode(ByteBuffer buffer) {
+        int offset = buffer.position();
+        int length = buffer.remaining();
+        if (length < HEADER_LENGTH || buffer.get(offset) != VERSION) {
+            return false;
+        }
+
+        type = buffer.get(offset + 1);
+        session = buffer.getLong(offset + 2);
+        sequence = buffer.getLong(offset + 10);
+        if (type == TYPE_HEARTBEAT) {
+            return true;
+        }
+        if (type != TYPE_TICK || length < HEADER_LENGTH + TICK_BODY_LENGTH) {
+            return false;
+        }
+
+        int body = offset + HEADER_LENGTH;
+        epochNanos = buffer.getLong(body);
+        bid = buffer.getDouble(body + 8);
+        ask = buffer.getDouble(body + 16);
+        int symbolLength = buffer.get(body + 24) & 0xFF;
+        int symbolStart = body + TICK_BODY_LENGTH;
+        if (symbolLength == 0 || symbolStart + symbolLength > offset + length) {
+            return false;
+        }
+        symbol = symbols.resolve(buffer.array(), buffer.arrayOffset() + symbolStart,
+                buffer.arrayOffset() + symbolStart + symbolLength);
+        return true;
+    }
+
+    public boolean isHeartbeat() {
+        return type == TYPE_HEARTBEAT;
+    }
+
+    /**
+     * @return Session of the publisher that sent the datagram
+     */
+    public long getSession() {
+        return session;
+    }
+
+    /**
+     * @return Sequence number of the tick, or of the last published tick for a heartbeat
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public double getBid() {
+        return bid;
+    }
+
+    public double getAsk() {
+        return ask;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+}
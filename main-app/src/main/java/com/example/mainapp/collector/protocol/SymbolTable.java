@@ -0,0 +1,143 @@
+package com.example.mainapp.collector.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Resolves symbol names given as byte ranges to canonical {@link String} instances.
+ * <p>
+ * Open addressing table keyed by the raw bytes; a symbol already seen is found without creating a
+ * String, so only the first occurrence of each symbol allocates. Not thread safe, meant to be owned
+ * by a single connector thread.
+ */
+public final class SymbolTable {
+
+    private byte[][] keys;
+    private String[] values;
+    private int[] hashes;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructor
+     * @param expectedSymbols Expected number of distinct symbols
+     */
+    public SymbolTable(int expectedSymbols) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSymbols * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the symbol for the given bytes, creating it on first sight
+     * @param buffer Source bytes
+     * @param from Start index (inclusive)
+     * @param to End index (exclusive)
+     * @return Canonical symbol name
+     */
+    public String resolve(byte[] buffer, int from, int to) {
+        int hash = hash(buffer, from, to);
+        int slot = hash & mask;
+
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && Arrays.equals(keys[slot], 0, keys[slot].length, buffer, from, to)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // First sighting of the symbol
+        String symbol = new String(buffer, from, to - from, StandardCharsets.UTF_8);
+        keys[slot] = Arrays.copyOfRange(buffer, from, to);
+        values[slot] = symbol;
+        hashes[slot] = hash;
+
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+        return symbol;
+    }
+
+    /**
+     * Returns the symbol for the given characters, creating it on first sight
+     * @param text Source text
+     * @param from Start index (inclusive)
+     * @param to End index (exclusive)
+     * @return Canonical symbol name
+     */
+    public String resolve(CharSequence text, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c > 0x7F) {
+                // Non-ASCII symbols are resolved as bytes
+                byte[] bytes = text.subSequence(from, to).toString().getBytes(StandardCharsets.UTF_8);
+                return resolve(bytes, 0, bytes.length);
+            }
+            hash = 31 * hash + c;
+        }
+        hash ^= hash >>> 16;
+        int slot = hash & mask;
+
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && equals(keys[slot], text, from, to)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // First sighting of the symbol
+        String symbol = text.subSequence(from, to).toString();
+        return resolve(symbol.getBytes(StandardCharsets.US_ASCII), 0, symbol.length());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean equals(byte[] key, CharSequence text, int from, int to) {
+        if (key.length != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != text.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] buffer, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        // Spread into the low bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new byte[capacity][];
+        values = new String[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
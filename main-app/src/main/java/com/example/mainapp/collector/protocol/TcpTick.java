@@ -0,0 +1,161 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.TickBatch;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reusable holder for one tick decoded by {@link TcpTickParser}.
+ * <p>
+ * Prices are kept as unscaled value and scale (value = unscaled * 10^-scale, as in
+ * {@link java.math.BigDecimal}); the timestamp as nanoseconds since the epoch of the platform's
+ * local date-time. The holder is overwritten by every parse, copy what must be kept.
+ */
+public final class TcpTick {
+
+    private static final int MAX_EXACT_POWER = 22;
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER + 1];
+    private static final long[] POWERS_OF_FIVE = new long[MAX_EXACT_POWER + 1];
+    private static final long MAX_EXACT_UNSCALED = 1L << 53;
+
+    static {
+        double power = 1;
+        long powerOfFive = 1;
+        for (int i = 0; i <= MAX_EXACT_POWER; i++) {
+            POWERS_OF_TEN[i] = power;
+            POWERS_OF_FIVE[i] = powerOfFive;
+            power *= 10;
+            powerOfFive *= 5;
+        }
+    }
+
+    String symbol;
+    long bidUnscaled;
+    int bidScale;
+    long askUnscaled;
+    int askScale;
+    long epochNanos;
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public long getBidUnscaled() {
+        return bidUnscaled;
+    }
+
+    public int getBidScale() {
+        return bidScale;
+    }
+
+    public long getAskUnscaled() {
+        return askUnscaled;
+    }
+
+    public int getAskScale() {
+        return askScale;
+    }
+
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public double getBid() {
+        return toDouble(bidUnscaled, bidScale);
+    }
+
+    public double getAsk() {
+        return toDouble(askUnscaled, askScale);
+    }
+
+    /**
+     * @return Timestamp as a local date-time (allocates)
+     */
+    public LocalDateTime getTimestamp() {
+        return TickBatch.toLocalDateTime(epochNanos);
+    }
+
+    /**
+     * Converts an unscaled value and scale to the nearest double, giving the same result as
+     * {@link Double#parseDouble} for every price with a scale between -22 and 22. Larger scales
+     * (values below 1e-5 with 17 significant digits) fall back to {@link Math#pow} and may differ by an ulp.
+     */
+    static double toDouble(long unscaled, int scale) {
+        if (scale == 0) {
+            return unscaled;
+        }
+        if (scale < 0) {
+            if (-scale > MAX_EXACT_POWER) {
+                return unscaled * Math.pow(10, -scale);
+            }
+            if (Math.abs(unscaled) < MAX_EXACT_UNSCALED) {
+                // Both operands are exact, so there is a single rounding
+                return unscaled * POWERS_OF_TEN[-scale];
+            }
+            double magnitude = multiply(Math.abs(unscaled), -scale);
+            return unscaled < 0 ? -magnitude : magnitude;
+        }
+        if (scale > MAX_EXACT_POWER) {
+            return unscaled / Math.pow(10, scale);
+        }
+
+        double divisor = POWERS_OF_TEN[scale];
+        double quotient = unscaled / divisor;
+        if (Math.abs(unscaled) < MAX_EXACT_UNSCALED) {
+            // Both operands are exact, so there is a single rounding
+            return quotient;
+        }
+
+        // unscaled was rounded when converted to double; compute the exact remainder and correct to the nearest double
+        double unscaledHigh = (double) unscaled;
+        double unscaledLow = unscaled - (long) unscaledHigh;
+        for (int i = 0; i < 2; i++) {
+            double product = quotient * divisor;
+            double productError = Math.fma(quotient, divisor, -product);
+            // unscaled - quotient * divisor (unscaledHigh - product is exact by Sterbenz)
+            double remainder = (unscaledHigh - product) + (unscaledLow - productError);
+            double halfUlp = Math.ulp(quotient) * divisor / 2;
+            double excess = Math.abs(remainder) - halfUlp;
+            if (excess < 0 || (excess == 0 && (Double.doubleToRawLongBits(quotient) & 1) == 0)) {
+                // Nearest, or a tie already on the even neighbour
+                break;
+            }
+            quotient = remainder > 0 ? Math.nextUp(quotient) : Math.nextDown(quotient);
+        }
+        return quotient;
+    }
+
+    /**
+     * @return magnitude * 10^power with a single rounding: the exact product magnitude * 5^power (at most
+     * 115 bits) is cut to 63 bits, keeping a sticky bit for the rest, converted, then scaled by 2^power
+     */
+    private static double multiply(long magnitude, int power) {
+        long factor = POWERS_OF_FIVE[power];
+        long high = Math.multiplyHigh(magnitude, factor);
+        long low = magnitude * factor;
+
+        double product;
+        if (high == 0 && low >= 0) {
+            product = low;
+        } else {
+            int shift = 65 - Long.numberOfLeadingZeros(high);
+            long top = (high << (64 - shift)) | (low >>> shift);
+            if ((low & ((1L << shift) - 1)) != 0) {
+                // Far below the rounding position; only breaks a false tie
+                top |= 1;
+            }
+            product = Math.scalb((double) top, shift);
+        }
+        return Math.scalb(product, power);
+    }
+
+    @Override
+    public String toString() {
+        return "TcpTick{" +
+                "symbol='" + symbol + '\'' +
+                ", bid=" + getBid() +
+                ", ask=" + getAsk() +
+                ", epochNanos=" + epochNanos +
+                '}';
+    }
+}
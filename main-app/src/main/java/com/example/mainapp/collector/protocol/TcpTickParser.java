@@ -0,0 +1,119 @@
+package com.example.mainapp.collector.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation free parser for the TCP tick line
+ * {@code NAME|22:number:BID|25:number:ASK|5:timestamp:yyyy-MM-ddTHH:mm[:ss[.fffffffff]]}.
+ * <p>
+ * Works directly on the received bytes: prices become unscaled longs with a scale, the timestamp
+ * becomes epoch nanoseconds and the symbol is resolved through a {@link SymbolTable}, so a tick for a
+ * known symbol creates no objects. Not thread safe; each connection owns one parser.
+ */
+public final class TcpTickParser {
+
+    private static final byte[] BID_TAG = "|22:number:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ASK_TAG = "|25:number:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TIMESTAMP_TAG = "|5:timestamp:".getBytes(StandardCharsets.US_ASCII);
+
+    private final SymbolTable symbols;
+    private final ByteArrayView text = new ByteArrayView();
+    private final TextValueParser values = new TextValueParser();
+
+    public TcpTickParser() {
+        this(new SymbolTable(64));
+    }
+
+    /**
+     * Constructor
+     * @param symbols Symbol table used to resolve names
+     */
+    public TcpTickParser(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Parses the readable bytes of a buffer without moving its position
+     * @param buffer Heap buffer holding exactly one line
+     * @param tick Holder to fill
+     * @return True if the line is a well formed tick
+     */
+    public boolean parse(ByteBuffer buffer, TcpTick tick) {
+        int from = buffer.arrayOffset() + buffer.position();
+        return parse(buffer.array(), from, from + buffer.remaining(), tick);
+    }
+
+    /**
+     * Parses one line (without line terminator)
+     * @param line Source bytes
+     * @param from Start index (inclusive)
+     * @param to End index (exclusive)
+     * @param tick Holder to fill; left in an undefined state if the line is not a tick
+     * @return True if the line is a well formed tick
+     */
+    public boolean parse(byte[] line, int from, int to, TcpTick tick) {
+        int symbolEnd = indexOf(line, from, to, (byte) '|');
+        if (symbolEnd <= from) {
+            return false;
+        }
+
+        text.wrap(line, 0, to);
+
+        int position = expect(line, symbolEnd, to, BID_TAG);
+        if (position < 0 || (position = parseDecimal(position, to)) < 0) {
+            return false;
+        }
+        tick.bidUnscaled = values.getUnscaled();
+        tick.bidScale = values.getScale();
+
+        position = expect(line, position, to, ASK_TAG);
+        if (position < 0 || (position = parseDecimal(position, to)) < 0) {
+            return false;
+        }
+        tick.askUnscaled = values.getUnscaled();
+        tick.askScale = values.getScale();
+
+        // The timestamp runs to the end of the line
+        position = expect(line, position, to, TIMESTAMP_TAG);
+        if (position < 0 || !values.parseDateTime(text, position, to)) {
+            return false;
+        }
+        tick.epochNanos = values.getEpochNanos();
+
+        // The symbol is only resolved for a valid line, so malformed lines do not fill the table
+        tick.symbol = symbols.resolve(line, from, symbolEnd);
+        return true;
+    }
+
+    private static int indexOf(byte[] line, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (line[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int expect(byte[] line, int from, int to, byte[] tag) {
+        if (to - from < tag.length) {
+            return -1;
+        }
+        for (int i = 0; i < tag.length; i++) {
+            if (line[from + i] != tag[i]) {
+                return -1;
+            }
+        }
+        return from + tag.length;
+    }
+
+    /**
+     * Parses the decimal field starting at the given index, which must end at the next '|' or the end
+     * of the line
+     * @return Index of the terminator, or -1 if malformed
+     */
+    private int parseDecimal(int from, int to) {
+        int end = values.parseDecimal(text, from, to, true);
+        return end < 0 || (end < to && text.charAt(end) != '|') ? -1 : end;
+    }
+}
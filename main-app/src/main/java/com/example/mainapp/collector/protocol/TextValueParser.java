@@ -0,0 +1,280 @@
+package com.example.mainapp.collector.protocol;
+
+/**
+ * Allocation free parser for the decimal numbers and date-times of the text protocols, shared by
+ * {@link TcpTickParser}, {@link JsonRateParser} and {@link FixMarketDataParser}.
+ * <p>
+ * Reads ASCII text through {@link CharSequence}, so received bytes and character buffers are parsed in
+ * place through a reusable {@link ByteArrayView} or {@link CharArrayView}. A decimal becomes an unscaled
+ * long with a scale (value = unscaled * 10^-scale, as in {@link java.math.BigDecimal}) and a date-time
+ * becomes nanoseconds since the epoch of the local date-time. Results are kept until the next call. Not
+ * thread safe; each protocol parser owns one.
+ */
+final class TextValueParser {
+
+    // Significant digits that fit in a long; further digits only take part in the rounding
+    private static final int MAX_DIGITS = 18;
+    // Exponent digits stop being read past this value, so a malformed exponent cannot overflow
+    private static final int MAX_EXPONENT = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    // Results of parseDecimal
+    private long unscaled;
+    private int scale;
+    // Result of parseDateTime
+    private long epochNanos;
+
+    /**
+     * Parses [-]digits[.digits], followed by [(E|e)[+-]digits] if exponents are accepted, into
+     * {@link #getUnscaled()} and {@link #getScale()}
+     * @param text Source text
+     * @param from Start index (inclusive)
+     * @param to End index (exclusive)
+     * @param exponent True if an exponent may follow the digits
+     * @return Index of the first character after the number, or -1 if there is no digit or an exponent
+     * marker is not followed by one; the caller checks that the number ends where its field does
+     */
+    int parseDecimal(CharSequence text, int from, int to, boolean exponent) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && text.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long value = 0;
+        int significant = 0;
+        int decimalExponent = 0;
+        boolean digits = false;
+        boolean fraction = false;
+        boolean truncated = false;
+
+        for (; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (value == 0 && c == '0') {
+                    // Leading zeros are not significant digits
+                    if (fraction) {
+                        decimalExponent++;
+                    }
+                } else if (significant < MAX_DIGITS) {
+                    value = value * 10 + (c - '0');
+                    significant++;
+                    if (fraction) {
+                        decimalExponent++;
+                    }
+                } else {
+                    // Digits that do not fit; integer ones still count for the magnitude
+                    truncated |= c != '0';
+                    if (!fraction) {
+                        decimalExponent--;
+                    }
+                }
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+
+        if (!digits) {
+            return -1;
+        }
+
+        if (exponent && i < to && (text.charAt(i) == 'E' || text.charAt(i) == 'e')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < to && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            int exponentValue = 0;
+            int exponentStart = i;
+            for (; i < to && exponentValue < MAX_EXPONENT; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                exponentValue = exponentValue * 10 + digit;
+            }
+            if (i == exponentStart) {
+                return -1;
+            }
+            decimalExponent += negativeExponent ? exponentValue : -exponentValue;
+        }
+
+        unscaled = negative ? -value : value;
+        scale = value == 0 ? 0 : decimalExponent;
+        if (truncated && TcpTick.toDouble(value, scale) != TcpTick.toDouble(value + 1, scale)) {
+            // The dropped digits decide the rounding
+            roundTruncated(text, from, i);
+        }
+        return i;
+    }
+
+    /**
+     * Replaces the truncated result by the shortest decimal of the correctly rounded double, so that
+     * {@link TcpTick#toDouble} gives the same result as {@link Double#parseDouble}. Allocates, but only
+     * numbers with more than {@value #MAX_DIGITS} significant digits can get here.
+     */
+    private void roundTruncated(CharSequence text, int from, int to) {
+        double value = Double.parseDouble(text.subSequence(from, to).toString());
+        if (value != 0 && !Double.isInfinite(value)) {
+            String shortest = Double.toString(value);
+            parseDecimal(shortest, 0, shortest.length(), true);
+        }
+    }
+
+    /**
+     * @return Unscaled value of the last decimal parsed
+     */
+    long getUnscaled() {
+        return unscaled;
+    }
+
+    /**
+     * @return Scale of the last decimal parsed
+     */
+    int getScale() {
+        return scale;
+    }
+
+    /**
+     * Parses an ISO-8601 local date-time yyyy-MM-ddTHH:mm[:ss[.fffffffff]] filling the whole range into
+     * {@link #getEpochNanos()}
+     * @return True if well formed
+     */
+    boolean parseDateTime(CharSequence text, int from, int to) {
+        // yyyy-MM-ddTHH:mm
+        if (to - from < 16
+                || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-' || text.charAt(from + 10) != 'T') {
+            return false;
+        }
+
+        int year = digits(text, from, 4);
+        int month = digits(text, from + 5, 2);
+        int day = digits(text, from + 8, 2);
+        if (!isValidDate(year, month, day)) {
+            return false;
+        }
+        long nanosOfDay = parseTime(text, from + 11, to, false);
+        if (nanosOfDay < 0) {
+            return false;
+        }
+
+        epochNanos = daysFromCivil(year, month, day) * SECONDS_PER_DAY * NANOS_PER_SECOND + nanosOfDay;
+        return true;
+    }
+
+    /**
+     * @return Nanoseconds since the epoch of the last date-time parsed
+     */
+    long getEpochNanos() {
+        return epochNanos;
+    }
+
+    /**
+     * Parses a basic format date yyyyMMdd (FIX LocalMktDate)
+     * @return Days since 1970-01-01, or -1 if malformed
+     */
+    static long parseBasicDate(CharSequence text, int from, int to) {
+        if (to - from != 8) {
+            return -1;
+        }
+        int year = digits(text, from, 4);
+        int month = digits(text, from + 4, 2);
+        int day = digits(text, from + 6, 2);
+        if (!isValidDate(year, month, day)) {
+            return -1;
+        }
+        return daysFromCivil(year, month, day);
+    }
+
+    /**
+     * Parses a time of day HH:mm[:ss[.fffffffff]] filling the whole range
+     * @param seconds True if the seconds are mandatory (FIX UTCTimeOnly)
+     * @return Nanoseconds of the day, or -1 if malformed
+     */
+    static long parseTime(CharSequence text, int from, int to, boolean seconds) {
+        // HH:mm
+        if (to - from < 5 || text.charAt(from + 2) != ':') {
+            return -1;
+        }
+        int hour = digits(text, from, 2);
+        int minute = digits(text, from + 3, 2);
+        int second = 0;
+        long nanos = 0;
+
+        int i = from + 5;
+        if (i < to) {
+            if (to - i < 3 || text.charAt(i) != ':') {
+                return -1;
+            }
+            second = digits(text, i + 1, 2);
+            i += 3;
+
+            if (i < to) {
+                int fractionDigits = to - i - 1;
+                if (text.charAt(i) != '.' || fractionDigits < 1 || fractionDigits > 9) {
+                    return -1;
+                }
+                int fraction = digits(text, i + 1, fractionDigits);
+                if (fraction < 0) {
+                    return -1;
+                }
+                nanos = fraction;
+                for (int d = fractionDigits; d < 9; d++) {
+                    nanos *= 10;
+                }
+            }
+        } else if (seconds) {
+            return -1;
+        }
+
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return (hour * 3600L + minute * 60L + second) * NANOS_PER_SECOND + nanos;
+    }
+
+    /**
+     * @return Value of the given number of ASCII digits, or -1 if one is not a digit
+     */
+    private static int digits(CharSequence text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    static int daysInMonth(int year, int month) {
+        if (month == 2 && (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.mainapp.collector.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides when each polled key (a rate, or the whole set in bulk mode) is due, within a per-platform
+ * request budget.
+ * <p>
+ * Every key has its own interval between {@code minIntervalMs} and {@code maxIntervalMs}. A poll that
+ * returns a change shortens it, an unchanged poll lengthens it, so the interval settles at about a third
+ * of the key's observed change period: active keys are polled faster, quiet ones back off. Polls are
+ * additionally limited by a token bucket of {@code budgetPerSecond} requests; keys held back by the
+ * budget stay due and go first once tokens are available.
+ * <p>
+ * Target and effective (measured) intervals and the hit ratio of each key are exposed as gauges.
+ * Not thread safe; owned by the connector's poller thread.
+ */
+public final class AdaptivePollScheduler {
+
+    private static final double SPEED_UP = 0.7;
+    private static final double BACK_OFF = 1.2;
+    private static final double HIT_RATIO_ALPHA = 0.1;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final String platformName;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long initialIntervalMs;
+    private final long slackNanos;
+    private final double budgetPerSecond;
+    private final MeterRegistry meterRegistry;
+    private final Counter budgetDeferrals;
+
+    private final Map<String, KeyState> states = new HashMap<>();
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Constructor
+     * @param platformName Platform name, used as metric tag
+     * @param minIntervalMs Shortest interval between polls of a key
+     * @param maxIntervalMs Longest interval between polls of a key
+     * @param initialIntervalMs Interval of a newly seen key
+     * @param slackMs A key due within this time is treated as due, to absorb tick jitter
+     * @param budgetPerSecond Maximum requests per second for the platform, 0 for no limit
+     * @param meterRegistry Registry for the gauges
+     */
+    public AdaptivePollScheduler(String platformName, long minIntervalMs, long maxIntervalMs, long initialIntervalMs,
+                                 long slackMs, double budgetPerSecond, MeterRegistry meterRegistry) {
+        this.platformName = platformName;
+        this.minIntervalMs = Math.max(1, minIntervalMs);
+        this.maxIntervalMs = Math.max(this.minIntervalMs, maxIntervalMs);
+        this.initialIntervalMs = Math.min(this.maxIntervalMs, Math.max(this.minIntervalMs, initialIntervalMs));
+        this.slackNanos = slackMs * NANOS_PER_MILLI;
+        this.budgetPerSecond = budgetPerSecond;
+        this.meterRegistry = meterRegistry;
+        this.budgetDeferrals = Counter.builder("connector.rest.poll.budgetDeferrals")
+                .description("Attempts to start a due poll that had to wait for the platform request budget")
+                .tag("platform", platformName)
+                .register(meterRegistry);
+
+        this.tokens = Math.max(1, budgetPerSecond);
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Keys due for a poll, most overdue first; keys seen for the first time are due immediately
+     * @param keys Keys to consider
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return Due keys
+     */
+    public List<String> dueKeys(Collection<String> keys, long nowNanos) {
+        List<KeyState> due = new ArrayList<>();
+        for (String key : keys) {
+            KeyState state = states.computeIfAbsent(key, k -> new KeyState(k, nowNanos));
+            if (nowNanos - state.nextDueNanos >= -slackNanos) {
+                due.add(state);
+            }
+        }
+        due.sort((a, b) -> Long.compare(a.nextDueNanos, b.nextDueNanos));
+
+        List<String> result = new ArrayList<>(due.size());
+        for (KeyState state : due) {
+            result.add(state.key);
+        }
+        return result;
+    }
+
+    /**
+     * Take one request from the budget
+     * @return False if the budget is exhausted; the poll should wait for a later tick
+     */
+    public boolean tryAcquire(long nowNanos) {
+        if (budgetPerSecond <= 0) {
+            return true;
+        }
+
+        // The bucket refills budgetPerSecond tokens per second and holds at most one second's worth
+        tokens = Math.min(Math.max(1, budgetPerSecond),
+                tokens + (nowNanos - lastRefillNanos) * budgetPerSecond / 1e9);
+        lastRefillNanos = nowNanos;
+        if (tokens < 1) {
+            budgetDeferrals.increment();
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Record the start of a poll
+     */
+    public void onPollStarted(String key, long nowNanos) {
+        KeyState state = states.get(key);
+        if (state == null) {
+            return;
+        }
+        if (state.lastStartNanos != 0) {
+            state.effectiveIntervalMs = (nowNanos - state.lastStartNanos) / (double) NANOS_PER_MILLI;
+        }
+        state.lastStartNanos = nowNanos;
+        // Not queued again until the response arrives
+        state.nextDueNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Adapt the key's interval to a poll result and schedule its next poll
+     * @param changed True if the poll returned new data
+     * @param failed True if the poll failed; the interval is kept
+     */
+    public void onPollCompleted(String key, boolean changed, boolean failed) {
+        KeyState state = states.get(key);
+        if (state == null) {
+            return;
+        }
+
+        if (!failed) {
+            double interval = changed ? state.intervalMs * SPEED_UP : state.intervalMs * BACK_OFF;
+            state.intervalMs = Math.min(maxIntervalMs, Math.max(minIntervalMs, interval));
+            state.hitRatio += HIT_RATIO_ALPHA * ((changed ? 1 : 0) - state.hitRatio);
+        }
+        state.nextDueNanos = state.lastStartNanos + (long) (state.intervalMs * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Forget keys that are no longer polled
+     * @param keys Keys still polled
+     */
+    public void retain(Collection<String> keys) {
+        Iterator<KeyState> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            KeyState state = iterator.next();
+            if (!keys.contains(state.key)) {
+                state.removeGauges();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return Current target interval of the key, or the initial interval if unknown
+     */
+    public long getIntervalMs(String key) {
+        KeyState state = states.get(key);
+        return state != null ? (long) state.intervalMs : initialIntervalMs;
+    }
+
+    private final class KeyState {
+        private final String key;
+        private final List<Gauge> gauges = new ArrayList<>(3);
+        private double intervalMs = initialIntervalMs;
+        private double effectiveIntervalMs = Double.NaN;
+        private double hitRatio = 0.5;
+        private long nextDueNanos;
+        private long lastStartNanos;
+
+        private KeyState(String key, long nowNanos) {
+            this.key = key;
+            this.nextDueNanos = nowNanos;
+
+            gauges.add(Gauge.builder("connector.rest.poll.targetInterval", this, s -> s.intervalMs)
+                    .description("Adaptive polling interval (ms)")
+                    .tags("platform", platformName, "rate", key)
+                    .register(meterRegistry));
+            gauges.add(Gauge.builder("connector.rest.poll.effectiveInterval", this, s -> s.effectiveIntervalMs)
+                    .description("Measured time between the last two polls (ms)")
+                    .tags("platform", platformName, "rate", key)
+                    .register(meterRegistry));
+            gauges.add(Gauge.builder("connector.rest.poll.hitRatio", this, s -> s.hitRatio)
+                    .description("Moving share of polls that returned a change")
+                    .tags("platform", platformName, "rate", key)
+                    .register(meterRegistry));
+        }
+
+        private void removeGauges() {
+            gauges.forEach(meterRegistry::remove);
+        }
+    }
+}
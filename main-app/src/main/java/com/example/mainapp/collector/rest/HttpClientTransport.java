@@ -0,0 +1,90 @@
+package com.example.mainapp.collector.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking transport on {@link HttpClient}.
+ * <p>
+ * One client per platform keeps its connections alive between polls. With HTTP/2 enabled, concurrent
+ * requests share a single multiplexed connection; plain {@code http://} servers without h2c support
+ * are served over HTTP/1.1 instead. Responses complete on a small daemon pool owned by the transport.
+ */
+public class HttpClientTransport implements RestTransport {
+
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    /**
+     * Constructor
+     * @param platformName Platform name, used for thread names
+     * @param http2 Prefer HTTP/2
+     * @param timeoutMs Connect and request timeout
+     * @param threads Threads completing responses
+     */
+    public HttpClientTransport(String platformName, boolean http2, long timeoutMs, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "RestClient-" + platformName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<RestResponse> get(String url, String ifNoneMatch) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> new RestResponse(response.statusCode(), response.body(),
+                        response.headers().firstValue("ETag").orElse(null)));
+    }
+
+    @Override
+    public RestStream openStream(String url, String lastEventId) throws IOException {
+        // The request timeout covers the headers only; the body is read without a time limit
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept", "text/event-stream")
+                .GET();
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+
+        try {
+            HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            InputStream body = response.body();
+            return new RestStream(response.statusCode(), body, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while opening stream " + url);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
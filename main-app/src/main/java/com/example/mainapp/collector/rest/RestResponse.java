@@ -0,0 +1,37 @@
+package com.example.mainapp.collector.rest;
+
+/**
+ * Status code, raw body and ETag of a {@link RestTransport} response
+ */
+public final class RestResponse {
+
+    private final int statusCode;
+    private final byte[] body;
+    private final String eTag;
+
+    public RestResponse(int statusCode, byte[] body, String eTag) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.eTag = eTag;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+
+    public boolean isOk() {
+        return statusCode == 200 && body != null && body.length > 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.mainapp.collector.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Long-lived response opened by {@link RestTransport#openStream}; the body is read as it arrives.
+ * Closing it from another thread ends a blocked read.
+ */
+public final class RestStream implements Closeable {
+
+    private final int statusCode;
+    private final InputStream body;
+    private final Closeable closer;
+
+    public RestStream(int statusCode, InputStream body, Closeable closer) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.closer = closer;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closer.close();
+    }
+}
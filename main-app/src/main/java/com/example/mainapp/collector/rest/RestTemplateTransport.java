@@ -0,0 +1,71 @@
+package com.example.mainapp.collector.rest;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Blocking transport on a {@link RestTemplate}; the request runs on the calling thread and the
+ * returned future is already complete. Streams use a plain {@link HttpURLConnection}, since RestTemplate
+ * closes the body before returning.
+ */
+public class RestTemplateTransport implements RestTransport {
+
+    private final RestTemplate restTemplate;
+
+    public RestTemplateTransport() {
+        this(new RestTemplate());
+    }
+
+    public RestTemplateTransport(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public CompletableFuture<RestResponse> get(String url, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+
+        try {
+            // The URL is already encoded; passed as a URI so it is not expanded as a template
+            ResponseEntity<byte[]> response = restTemplate.exchange(URI.create(url), HttpMethod.GET,
+                    new HttpEntity<>(headers), byte[].class);
+            return CompletableFuture.completedFuture(new RestResponse(response.getStatusCode().value(),
+                    response.getBody(), response.getHeaders().getETag()));
+        } catch (HttpStatusCodeException e) {
+            return CompletableFuture.completedFuture(
+                    new RestResponse(e.getStatusCode().value(), e.getResponseBodyAsByteArray(), null));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public RestStream openStream(String url, String lastEventId) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setRequestProperty("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            connection.setRequestProperty("Last-Event-ID", lastEventId);
+        }
+
+        int statusCode = connection.getResponseCode();
+        // disconnect closes the socket, ending a read blocked on another thread
+        return new RestStream(statusCode, statusCode < 400 ? connection.getInputStream() : connection.getErrorStream(),
+                connection::disconnect);
+    }
+
+    @Override
+    public void close() {
+        // RestTemplate's default factory keeps no connections
+    }
+}
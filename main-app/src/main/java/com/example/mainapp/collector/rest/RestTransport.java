@@ -0,0 +1,44 @@
+package com.example.mainapp.collector.rest;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP transport used by {@link com.example.mainapp.collector.impl.RestPlatformConnector} to fetch rate data.
+ * <p>
+ * Implementations may complete the returned future on their own threads; callers decide where the
+ * result is processed.
+ */
+public interface RestTransport {
+
+    /**
+     * Issue a GET request
+     * @param url Absolute, already encoded URL
+     * @return Response of any status; completes exceptionally on I/O errors and timeouts
+     */
+    default CompletableFuture<RestResponse> get(String url) {
+        return get(url, null);
+    }
+
+    /**
+     * Issue a conditional GET request
+     * @param url Absolute, already encoded URL
+     * @param ifNoneMatch ETag of the representation the caller already has, or null
+     * @return Response of any status (304 if the ETag still matches); completes exceptionally on I/O errors and timeouts
+     */
+    CompletableFuture<RestResponse> get(String url, String ifNoneMatch);
+
+    /**
+     * Open a long-lived GET (e.g. a Server-Sent Events stream), blocking until the response headers arrive
+     * @param url Absolute, already encoded URL
+     * @param lastEventId Last-Event-ID header for resuming a stream, or null
+     * @return Open stream of any status; the caller reads and closes it
+     * @throws IOException if the request fails
+     */
+    RestStream openStream(String url, String lastEventId) throws IOException;
+
+    /**
+     * Release connections and threads held by the transport
+     */
+    void close();
+}
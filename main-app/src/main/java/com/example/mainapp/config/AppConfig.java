@@ -1,19 +1,32 @@
 package com.example.mainapp.config;
 
-import com.example.mainapp.calculator.RateCalculator;
-import com.example.mainapp.calculator.impl.JavaRateCalculator;
+import com.example.mainapp.calculator.formula.DerivedRateDefinition;
+import com.example.mainapp.coordinator.plan.DerivedRateCatalog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * Application configuration
  */
 @Configuration
 public class AppConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+
     /**
      * Configure object mapper with Java 8 time module
      * @return Configured object mapper
@@ -27,12 +40,34 @@ public class AppConfig {
     }
 
     /**
-     * Configure default rate calculator
-     * @return Default rate calculator implementation
+     * Load derived rate definitions and compile them into formulas and a calculation plan.
+     * The file is read from the configured path, falling back to rate-calculations.json on the classpath.
+     * @param objectMapper Object mapper
+     * @param rateCalculationsConfig Path of the derived rate definitions
+     * @return Compiled derived rate catalog
+     * @throws IOException if the definitions cannot be read
      */
     @Bean
-    @Primary
-    public RateCalculator rateCalculator() {
-        return new JavaRateCalculator();
+    public DerivedRateCatalog derivedRateCatalog(ObjectMapper objectMapper,
+                                                 @Value("${app.rate-calculations-config:rate-calculations.json}") String rateCalculationsConfig)
+            throws IOException {
+        File configFile = new File(rateCalculationsConfig);
+        try (InputStream inputStream = configFile.exists()
+                ? new FileInputStream(configFile)
+                : getClass().getClassLoader().getResourceAsStream("rate-calculations.json")) {
+
+            if (inputStream == null) {
+                throw new IllegalStateException("Could not find derived rate definitions: " + rateCalculationsConfig);
+            }
+
+            JsonNode root = objectMapper.readTree(inputStream);
+            List<DerivedRateDefinition> definitions = objectMapper.convertValue(root.path("rates"),
+                    new TypeReference<List<DerivedRateDefinition>>() { });
+
+            DerivedRateCatalog catalog = DerivedRateCatalog.compile(definitions);
+            logger.info("Loaded {} derived rate definitions from {}", catalog.size(),
+                    configFile.exists() ? configFile.getAbsolutePath() : "classpath:rate-calculations.json");
+            return catalog;
+        }
     }
 }
@@ -1,6 +1,5 @@
 package com.example.mainapp.config;
 
-import com.example.mainapp.cache.RateCache;
 import com.example.mainapp.cache.impl.InMemoryRateCache;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -13,7 +12,7 @@ public class CacheConfig {
     @Bean
     @Primary
     @ConditionalOnProperty(name = "cache.type", havingValue = "memory", matchIfMissing = true)
-    public RateCache inMemoryRateCache() {
+    public InMemoryRateCache inMemoryRateCache() {
         return new InMemoryRateCache();
     }
 }
\ No newline at end of file
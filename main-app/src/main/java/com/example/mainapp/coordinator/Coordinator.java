@@ -104,4 +104,13 @@ public interface Coordinator extends CoordinatorCallBack {
      * @return True if the calculation was successful
      */
     boolean calculateRate(String targetRateName);
+
+    /**
+     * Requests recalculation of a derived rate on the thread that owns it. Implementations
+     * without their own calculation threads calculate immediately.
+     * @param targetRateName The target rate name
+     */
+    default void requestRecalculation(String targetRateName) {
+        calculateRate(targetRateName);
+    }
 }
\ No newline at end of file
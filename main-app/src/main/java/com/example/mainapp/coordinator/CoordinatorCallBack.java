@@ -2,6 +2,7 @@ package com.example.mainapp.coordinator;
 import com.example.mainapp.model.Rate;
 import com.example.mainapp.model.RateFields;
 import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
 
 /**
  * Interface defining callback methods for rate data and platform connections
@@ -38,6 +39,20 @@ public interface CoordinatorCallBack {
      */
     void onRateUpdate(String platformName, String rateName, RateFields rateFields);
 
+    /**
+     * Called with all ticks a connector decoded in one read (e.g. one socket read or one poll).
+     * The batch is reused by the connector and must not be retained after the call.
+     * Implementations that do not process batches receive the ticks as individual updates.
+     * @param platformName Platform name
+     * @param batch Ticks in arrival order
+     */
+    default void onRateBatch(String platformName, TickBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            onRateUpdate(platformName, batch.getRateName(i),
+                    new RateFields(batch.getBid(i), batch.getAsk(i), batch.getTimestamp(i)));
+        }
+    }
+
     /**
      * Called when the status of requested rate data changes
      * @param platformName Platform name
@@ -1,74 +1,192 @@
 package com.example.mainapp.coordinator.impl;
 
-import com.example.mainapp.cache.RateCache;
+import com.example.mainapp.cache.SymbolState;
+import com.example.mainapp.cache.SymbolStateCache;
 import com.example.mainapp.calculator.RateCalculator;
 import com.example.mainapp.collector.PlatformConnector;
 import com.example.mainapp.coordinator.Coordinator;
+import com.example.mainapp.coordinator.pipeline.CoordinatorShards;
+import com.example.mainapp.coordinator.pipeline.RateEvent;
+import com.example.mainapp.coordinator.pipeline.RateEventHandler;
+import com.example.mainapp.coordinator.plan.DerivedRateCatalog;
+import com.example.mainapp.coordinator.plan.DerivedRateConflator;
+import com.example.mainapp.coordinator.plan.DerivedRatePlan;
 import com.example.mainapp.model.Rate;
 import com.example.mainapp.model.RateFields;
 import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
 import com.example.mainapp.services.KafkaProducerService;
+import com.example.mainapp.validation.RateValidationChain;
+import com.example.mainapp.validation.factory.ValidationChainFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 @Component
 public class DefaultCoordinator implements Coordinator {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultCoordinator.class);
-    private static final double TOLERANCE_THRESHOLD = 0.01;
-
     private final Map<String, PlatformConnector> connectors = new ConcurrentHashMap<>();
-    private final Map<String, Set<String>> calculatedRateDependencies = new ConcurrentHashMap<>();
-    private final Map<String, Rate> lastRates = new ConcurrentHashMap<>();
 
-    private final RateCache rateCache;
+    // Sembol başına tek durum hücresi: son kabul edilen değer, sürüm ve doğrulama durumu
+    private final SymbolStateCache rateCache;
+    private final Function<String, int[]> dependentIndexLookup;
+    private final Function<String, RateValidationChain> validationChainLookup;
     private final RateCalculator rateCalculator;
     private final KafkaProducerService kafkaProducerService;
 
+    // Bağlayıcı thread'leri ile koordinatör shard'ları arasındaki ring buffer hattı (kapalıysa null).
+    // Bir sembolün tüm olayları aynı shard'da işlenir; sembolün durum hücresini yalnızca o shard yazar.
+    private final CoordinatorShards shards;
+
+    // Türev kurlar için ters bağımlılık indeksi ve topolojik hesaplama planı
+    private final DerivedRatePlan derivedRatePlan;
+    private final DerivedRateCatalog derivedRateCatalog;
+    // Plan indeksine göre türev kurun kendi hücresi ve formül sırasıyla girdi hücreleri (açılışta çözümlenir)
+    private final SymbolState[] derivedCells;
+    private final SymbolState[][] inputCells;
+
+    // Aynı aşamadaki bağımsız türev kurları paralel hesaplamak için havuz (paralellik 1 ise null)
+    private final ExecutorService calculationExecutor;
+
+    // Shard başına türev kur konflatörü (yalnızca pipeline açıkken). Her türev kurun bir ana shard'ı
+    // vardır; girdileri başka shard'larda olsa da yalnızca ana shard'ında hesaplanır. Konflasyon
+    // kapalıyken de devir bu işaretlerle yapılır, ana shard işaretleri her olaydan sonra hesaplar.
+    private final DerivedRateConflator[] conflators;
+    private final int[] homeShards;
+    private final boolean conflationEnabled;
+    // Pipeline kapalıyken türev kurların sahibi bir thread yoktur; hesaplamalar bu kilitle sıralanır
+    private final Object derivedCalculationLock = new Object();
+    private final DerivedRateConflator.StageHandler stageHandler = this::calculateStage;
+
     @Autowired
-    public DefaultCoordinator(@Qualifier("inMemoryRateCache") RateCache rateCache,
+    public DefaultCoordinator(@Qualifier("inMemoryRateCache") SymbolStateCache rateCache,
                               RateCalculator rateCalculator,
-                              KafkaProducerService kafkaProducerService) {
+                              KafkaProducerService kafkaProducerService,
+                              ValidationChainFactory validationChainFactory,
+                              DerivedRateCatalog derivedRateCatalog,
+                              @Value("${coordinator.pipeline.enabled:true}") boolean pipelineEnabled,
+                              @Value("${coordinator.pipeline.ringSize:8192}") int ringSize,
+                              @Value("${coordinator.pipeline.maxIdleParkMicros:1000}") long maxIdleParkMicros,
+                              @Value("${coordinator.pipeline.shards:0}") int shardCount,
+                              @Value("${coordinator.derived.parallelism:1}") int derivedParallelism,
+                              @Value("${coordinator.conflation.enabled:true}") boolean conflationEnabled,
+                              @Value("${coordinator.conflation.windowMicros:0}") long conflationWindowMicros,
+                              MeterRegistry meterRegistry) {
         this.rateCache = rateCache;
         this.rateCalculator = rateCalculator;
         this.kafkaProducerService = kafkaProducerService;
+        this.validationChainLookup = validationChainFactory::createChain;
+        this.calculationExecutor = derivedParallelism > 1 ? new ForkJoinPool(derivedParallelism) : null;
+        this.derivedRateCatalog = derivedRateCatalog;
+        this.derivedRatePlan = derivedRateCatalog.getPlan();
+        this.dependentIndexLookup = derivedRatePlan::dependentIndicesOf;
+
+        // Hücreler hiç silinmediğinden bir kez çözümlenip hesaplama boyunca indeksle kullanılır
+        this.derivedCells = new SymbolState[derivedRatePlan.size()];
+        this.inputCells = new SymbolState[derivedRatePlan.size()][];
+        for (int i = 0; i < derivedCells.length; i++) {
+            derivedCells[i] = rateCache.resolve(derivedRatePlan.rateAt(i));
+            String[] inputs = derivedRateCatalog.formulaAt(i).getInputs();
+            inputCells[i] = new SymbolState[inputs.length];
+            for (int j = 0; j < inputs.length; j++) {
+                inputCells[i][j] = rateCache.resolve(inputs[j]);
+            }
+        }
 
-        initializeCalculatedRateDependencies();
-    }
-
-    private void initializeCalculatedRateDependencies() {
+        logger.info("Derived rate plan compiled, calculation order: {}", derivedRatePlan.getTopologicalOrder());
 
-        Set<String> usdtryDeps = new HashSet<>();
-        usdtryDeps.add("PF1_USDTRY");
-        usdtryDeps.add("PF2_USDTRY");
-        calculatedRateDependencies.put("USDTRY", usdtryDeps);
+        int effectiveShards = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        if (pipelineEnabled) {
+            RateEventHandler[] handlers = new RateEventHandler[effectiveShards];
+            for (int i = 0; i < effectiveShards; i++) {
+                handlers[i] = new ShardHandler(i);
+            }
+            this.shards = new CoordinatorShards("Coordinator", handlers, ringSize,
+                    TimeUnit.MICROSECONDS.toNanos(maxIdleParkMicros));
+        } else {
+            this.shards = null;
+        }
 
+        // Türev kur hücrelerinin tek yazarı ana shard'larıdır; konflasyon kapalı olsa da girdiler başka
+        // shard'larda ise hesaplama ana shard'a işaretle devredilir
+        this.conflationEnabled = conflationEnabled;
+        if (shards != null) {
+            long windowNanos = conflationEnabled ? TimeUnit.MICROSECONDS.toNanos(conflationWindowMicros) : 0;
+            this.conflators = new DerivedRateConflator[effectiveShards];
+            for (int i = 0; i < effectiveShards; i++) {
+                conflators[i] = new DerivedRateConflator(derivedRatePlan, windowNanos);
+            }
+            this.homeShards = new int[derivedRatePlan.size()];
+            for (int i = 0; i < homeShards.length; i++) {
+                homeShards[i] = CoordinatorShards.shardOf(derivedRatePlan.rateAt(i), effectiveShards);
+            }
+            if (conflationEnabled) {
+                registerConflationMetrics(meterRegistry);
+            }
+        } else {
+            this.conflators = null;
+            this.homeShards = null;
+        }
 
-        Set<String> eurtryDeps = new HashSet<>();
-        eurtryDeps.add("PF1_EURUSD");
-        eurtryDeps.add("PF2_EURUSD");
-        eurtryDeps.add("PF1_USDTRY");
-        eurtryDeps.add("PF2_USDTRY");
-        calculatedRateDependencies.put("EURTRY", eurtryDeps);
+        if (shards != null) {
+            for (int i = 0; i < effectiveShards; i++) {
+                int shard = i;
+                Gauge.builder("coordinator.shard.backlog", shards, s -> s.backlog(shard))
+                        .description("Events waiting in the rings of a coordinator shard")
+                        .tag("shard", String.valueOf(shard))
+                        .register(meterRegistry);
+            }
+        }
+    }
 
+    private void registerConflationMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("coordinator.derived.recalculations.requested", conflators,
+                        c -> sum(c, DerivedRateConflator::getRequestedCount))
+                .description("Derived rate recalculations requested by incoming ticks")
+                .register(meterRegistry);
+        FunctionCounter.builder("coordinator.derived.recalculations.performed", conflators,
+                        c -> sum(c, DerivedRateConflator::getPerformedCount))
+                .description("Derived rate recalculations actually performed after conflation")
+                .register(meterRegistry);
+        FunctionCounter.builder("coordinator.derived.recalculations.saved", conflators,
+                        c -> sum(c, DerivedRateConflator::getSavedCount))
+                .description("Derived rate recalculations avoided by conflation")
+                .register(meterRegistry);
+    }
 
-        Set<String> gbptryDeps = new HashSet<>();
-        gbptryDeps.add("PF1_GBPUSD");
-        gbptryDeps.add("PF2_GBPUSD");
-        gbptryDeps.add("PF1_USDTRY");
-        gbptryDeps.add("PF2_USDTRY");
-        calculatedRateDependencies.put("GBPTRY", gbptryDeps);
+    private static double sum(DerivedRateConflator[] conflators, ToLongFunction<DerivedRateConflator> counter) {
+        long total = 0;
+        for (DerivedRateConflator conflator : conflators) {
+            total += counter.applyAsLong(conflator);
+        }
+        return total;
     }
 
     @Override
     public void start() {
         logger.info("Starting coordinator");
+        if (shards != null) {
+            shards.start();
+        }
         connectors.values().forEach(PlatformConnector::start);
     }
 
@@ -76,6 +194,12 @@ public class DefaultCoordinator implements Coordinator {
     public void stop() {
         logger.info("Stopping coordinator");
         connectors.values().forEach(PlatformConnector::stop);
+        if (shards != null) {
+            shards.stop();
+        }
+        if (calculationExecutor != null) {
+            calculationExecutor.shutdown();
+        }
     }
 
     @Override
@@ -83,7 +207,8 @@ public class DefaultCoordinator implements Coordinator {
         String platformName = connector.getPlatformName();
         logger.info("Adding connector for platform: {}", platformName);
 
-        connector.setCallback(this);
+        // Pipeline açıksa bağlayıcı doğrudan koordinatörü değil, shard başına kendi ring buffer'larını çağırır
+        connector.setCallback(shards != null ? shards.register(platformName) : this);
         connectors.put(platformName, connector);
     }
 
@@ -94,6 +219,9 @@ public class DefaultCoordinator implements Coordinator {
         PlatformConnector connector = connectors.remove(platformName);
         if (connector != null) {
             connector.stop();
+            if (shards != null) {
+                shards.unregister(platformName);
+            }
             return true;
         }
         return false;
@@ -188,64 +316,157 @@ public class DefaultCoordinator implements Coordinator {
 
     @Override
     public boolean calculateRate(String targetRateName) {
-        logger.info("Hesaplanıyor: {}", targetRateName);
-
-        Set<String> dependencies = calculatedRateDependencies.get(targetRateName);
-        if (dependencies == null || dependencies.isEmpty()) {
-            logger.warn("Hesaplanacak kur için bağımlılık tanımlanmamış: {}", targetRateName);
+        int index = derivedRatePlan.indexOf(targetRateName);
+        if (index < 0) {
+            logger.warn("Hesaplanacak kur için formül tanımlanmamış: {}", targetRateName);
             return false;
         }
+        return calculateRate(index);
+    }
 
-        // Tüm bağımlılıkların mevcut olup olmadığını kontrol edelim
-        Map<String, Rate> dependencyRates = new HashMap<>();
-        for (String depRateName : dependencies) {
-            Rate depRate = rateCache.getRate(depRateName);
-            if (depRate == null) {
-                logger.warn("Bağımlı kur mevcut değil {}, {} hesaplanamıyor",
-                        depRateName, targetRateName);
-                return false;
+    /**
+     * Pipeline açıkken türev kuru ana shard'ında kirli işaretler; hesaplama o shard'ın thread'inde
+     * yapılır ve doğrulama zinciri tek yazarlı kalır, çağıran thread hiç hesaplama yapmaz. Pipeline
+     * kapalıyken diğer türev hesaplamalarıyla aynı kilit altında hesaplar.
+     * @param targetRateName Hedef kur adı
+     */
+    @Override
+    public void requestRecalculation(String targetRateName) {
+        int index = derivedRatePlan.indexOf(targetRateName);
+        if (index < 0) {
+            logger.warn("Recalculation requested for unknown derived rate: {}", targetRateName);
+            return;
+        }
+        if (conflators != null) {
+            conflators[homeShards[index]].markDirty(index);
+        } else {
+            synchronized (derivedCalculationLock) {
+                calculateRate(index);
             }
-            dependencyRates.put(depRateName, depRate);
+        }
+    }
+
+    private boolean calculateRate(int index) {
+        logger.debug("Hesaplanıyor: {}", derivedRatePlan.rateAt(index));
+
+        Rate calculatedRate = computeRate(index);
+        return calculatedRate != null && applyCalculatedRate(index, calculatedRate);
+    }
+
+    /**
+     * Girdi hücrelerini okuyup türev kuru hesaplar; önbelleğe ve Kafka'ya yazmaz.
+     * Paralel hesaplamada havuz thread'lerinden çağrılabilir.
+     * @param index Türev kurun plan indeksi
+     * @return Hesaplanan kur veya hesaplanamazsa null
+     */
+    private Rate computeRate(int index) {
+        String targetRateName = derivedRatePlan.rateAt(index);
+        String[] inputNames = derivedRateCatalog.formulaAt(index).getInputs();
+
+        // Girdiler tek tek değil, tutarlı bir anlık görüntü olarak okunur
+        Rate[] snapshot = new Rate[inputNames.length];
+        if (!rateCache.getSnapshot(inputCells[index], snapshot)) {
+            for (int i = 0; i < inputNames.length; i++) {
+                if (snapshot[i] == null) {
+                    logger.warn("Bağımlı kur mevcut değil {}, {} hesaplanamıyor",
+                            inputNames[i], targetRateName);
+                    return null;
+                }
+            }
+            // Girdiler sürekli değişiyor; değiştiren tick türev kuru zaten yeniden tetikleyecek
+            logger.debug("Tutarlı girdi görüntüsü alınamadı, {} hesaplaması atlandı", targetRateName);
+            return null;
+        }
+
+        Map<String, Long> inputVersions = new LinkedHashMap<>();
+        for (int i = 0; i < inputNames.length; i++) {
+            inputVersions.put(inputNames[i], snapshot[i].getVersion());
         }
 
         try {
-            // Kur hesaplaması
-            Rate calculatedRate = rateCalculator.calculate(targetRateName, dependencyRates);
+            // Kur hesaplaması; formül plan indeksiyle bulunur, girdiler formül sırasıyla slot olarak verilir
+            Rate calculatedRate = rateCalculator.calculate(index, targetRateName, inputNames, snapshot);
             if (calculatedRate == null) {
                 logger.error("{} için hesaplama başarısız oldu", targetRateName);
-                return false;
+            } else {
+                calculatedRate.setInputVersions(inputVersions);
             }
+            return calculatedRate;
+        } catch (Exception e) {
+            logger.error("{} hesaplanırken hata oluştu", targetRateName, e);
+            return null;
+        }
+    }
 
-            // Veri temizleme - tolerans kontrolü
-            Rate previousRate = lastRates.get(targetRateName);
-            if (isWithinTolerance(calculatedRate, previousRate)) {
-                // Hesaplanan kuru önbelleğe al
-                rateCache.putRate(calculatedRate);
-                lastRates.put(targetRateName, calculatedRate);
-
-                // Kafka'ya gönder
-                kafkaProducerService.sendRate(calculatedRate);
-                logger.info("Kur başarıyla hesaplandı ve Kafka'ya gönderildi: {}", calculatedRate);
+    /**
+     * Hesaplanan kuru doğrulama zincirinden geçirip önbelleğe ve Kafka'ya yazar
+     * @param index Türev kurun plan indeksi
+     * @param calculatedRate Hesaplanan kur
+     * @return Yeni değer ya da (reddedildiyse) önceki değer kullanılabiliyorsa true
+     */
+    private boolean applyCalculatedRate(int index, Rate calculatedRate) {
+        try {
+            SymbolState state = derivedCells[index];
 
+            // Daha yeni girdilerle üretilmiş bir sonuç zaten yayınlandıysa bu hesaplama eskidir
+            Rate previousRate = state.getRate();
+            if (previousRate != null && isSupersededBy(calculatedRate, previousRate)) {
+                logger.debug("{} için eski girdilerle yapılan hesaplama atlandı", state.getSymbol());
                 return true;
-            } else {
-                logger.warn("Hesaplanan kur tolerans eşiğini aşıyor: {}", calculatedRate);
-                if (previousRate != null) {
-                    logger.info("Önceki kur değeri kullanılıyor: {}", previousRate);
-                    return true;
-                }
+            }
 
-                // İlk hesaplama ise toleransı geçse bile kabul et
-                rateCache.putRate(calculatedRate);
-                lastRates.put(targetRateName, calculatedRate);
-                kafkaProducerService.sendRate(calculatedRate);
-                return true;
+            // Veri temizleme - doğrulama zinciri
+            if (!isValid(state, calculatedRate.getBid(), calculatedRate.getAsk(), calculatedRate.getTimestamp())) {
+                return previousRate != null;
             }
+
+            // Hesaplanan kuru önbelleğe al
+            rateCache.update(state, calculatedRate);
+
+            // Kafka'ya gönder
+            kafkaProducerService.sendRate(calculatedRate);
+            logger.debug("Kur başarıyla hesaplandı ve Kafka'ya gönderildi: {}", calculatedRate);
+
+            // Pipeline açıkken bir üst seviyedeki türev kurlar seviye seviye (gerekirse başka shard'a) devredilir
+            if (conflators != null) {
+                onSymbolUpdated(state);
+            }
+
+            return true;
         } catch (Exception e) {
-            logger.error("{} hesaplanırken hata oluştu", targetRateName, e);
+            logger.error("{} hesaplanırken hata oluştu", derivedRatePlan.rateAt(index), e);
             return false;
         }
     }
+
+    private void handleEvent(RateEvent event) {
+        switch (event.getType()) {
+            case CONNECT:
+                onConnect(event.getPlatformName(), event.getStatus());
+                break;
+            case DISCONNECT:
+                onDisConnect(event.getPlatformName(), event.getStatus());
+                break;
+            case RATE_AVAILABLE:
+                onRateAvailable(event.getPlatformName(), event.getRateName(),
+                        new Rate(event.getRateName(), event.getPlatformName(),
+                                event.getBid(), event.getAsk(), event.getTimestamp(), false));
+                break;
+            case RATE_UPDATE:
+                processRateUpdate(event.getPlatformName(), event.getRateName(),
+                        event.getBid(), event.getAsk(), event.getTimestamp());
+                break;
+            case RATE_BATCH:
+                processBatch(event.getPlatformName(), event.getBatch());
+                break;
+            case RATE_STATUS:
+                onRateStatus(event.getPlatformName(), event.getRateName(), event.getRateStatus());
+                break;
+            default:
+                logger.warn("Unknown coordinator event type: {}", event.getType());
+        }
+    }
+
     // Coordinator callback methods implementation
     @Override
     public void onConnect(String platformName, boolean status) {
@@ -261,62 +482,134 @@ public class DefaultCoordinator implements Coordinator {
     public void onRateAvailable(String platformName, String rateName, Rate rate) {
         logger.info("Rate {} available from platform {}", rateName, platformName);
 
-        String fullRateName = platformName + "_" + rateName;
-        Rate previousRate = lastRates.get(fullRateName);
-        if (isWithinTolerance(rate, previousRate)) {
-            rateCache.putRate(rate);
-            lastRates.put(fullRateName, rate);
+        SymbolState state = rateCache.resolve(platformName, rateName);
+        if (isValid(state, rate.getBid(), rate.getAsk(), rate.getTimestamp())) {
+            rateCache.update(state, rate);
 
             kafkaProducerService.sendRate(rate);
             logger.debug("Sent rate to Kafka: {}", rate);
 
-            checkAndCalculateDependentRates(rateName);
-        } else {
-            logger.warn("Rate change exceeds tolerance threshold: {}", rate);
-            if (previousRate != null) {
-                logger.info("Using previous rate value: {}", previousRate);
-            } else {
-                rateCache.putRate(rate);
-                lastRates.put(fullRateName, rate);
-                kafkaProducerService.sendRate(rate);
-                checkAndCalculateDependentRates(rateName);
-            }
+            onSymbolUpdated(state);
         }
     }
 
     @Override
     public void onRateUpdate(String platformName, String rateName, RateFields rateFields) {
-        logger.info("Rate {} updated from platform {}", rateName, platformName);
-
-        Rate existingRate = rateCache.getRate(platformName, rateName);
-        if (existingRate != null) {
-            Rate updatedRate = new Rate(
-                    existingRate.getRateName(),
-                    existingRate.getPlatformName(),
-                    rateFields.getBid(),
-                    rateFields.getAsk(),
-                    rateFields.getTimestamp(),
-                    existingRate.isCalculated()
-            );
-
-            String fullRateName = platformName + "_" + rateName;
-            Rate previousRate = lastRates.get(fullRateName);
-            if (isWithinTolerance(updatedRate, previousRate)) {
-                rateCache.putRate(updatedRate);
-                lastRates.put(fullRateName, updatedRate);
-
-                kafkaProducerService.sendRate(updatedRate);
-                logger.debug("Sent updated rate to Kafka: {}", updatedRate);
-
-                checkAndCalculateDependentRates(rateName);
+        processRateUpdate(platformName, rateName,
+                rateFields.getBid(), rateFields.getAsk(), rateFields.getTimestamp());
+    }
+
+    private void processRateUpdate(String platformName, String rateName,
+                                   double bid, double ask, LocalDateTime timestamp) {
+        logger.debug("Rate {} updated from platform {}", rateName, platformName);
+
+        // Sembol hücresi tick başına bir kez çözümlenir; önbellek ve doğrulama aynı hücreden okunur.
+        // Boş hücre (bayatladığı ya da hata bildirildiği için kaldırılmış kur) grup yolundaki gibi
+        // yeni kur olarak kabul edilir; bazı bağlayıcılar böyle bir kur için onRateAvailable'ı
+        // yeniden göndermez. Doğrulama ilkel alanlar üzerinde yapılır; reddedilen tick için nesne oluşturulmaz.
+        SymbolState state = rateCache.resolve(platformName, rateName);
+        Rate updatedRate = acceptTick(state, platformName, rateName, bid, ask, timestamp);
+        if (updatedRate == null) {
+            return;
+        }
+
+        kafkaProducerService.sendRate(updatedRate);
+        logger.debug("Sent updated rate to Kafka: {}", updatedRate);
+
+        onSymbolUpdated(state);
+    }
+
+    @Override
+    public void onRateBatch(String platformName, TickBatch batch) {
+        processBatch(platformName, batch);
+    }
+
+    /**
+     * Bir tick grubunu işler: tüm tick'ler tek geçişte doğrulanıp hücrelere yazılır, kabul edilenler
+     * Kafka'ya tek çağrıda verilir ve etkilenen türev kurlar grup sonunda bir kez hesaplanır
+     * (konflasyon açıksa shard'ın parti sonundaki konflasyon turuna bırakılır).
+     * Tanınmayan sembolün ilk tick'i yeni kur olarak kabul edilir.
+     * @param platformName Platform adı
+     * @param batch Tick grubu
+     */
+    private void processBatch(String platformName, TickBatch batch) {
+        logger.debug("Processing batch of {} ticks from platform {}", batch.size(), platformName);
+
+        List<Rate> accepted = new ArrayList<>(batch.size());
+        boolean[] dirty = conflators == null && derivedRatePlan.size() > 0 ? new boolean[derivedRatePlan.size()] : null;
+
+        for (int i = 0; i < batch.size(); i++) {
+            String rateName = batch.getRateName(i);
+            SymbolState state = rateCache.resolve(platformName, rateName);
+            Rate rate = acceptTick(state, platformName, rateName,
+                    batch.getBid(i), batch.getAsk(i), batch.getTimestamp(i));
+            if (rate == null) {
+                continue;
+            }
+
+            accepted.add(rate);
+            if (dirty == null) {
+                onSymbolUpdated(state);
             } else {
-                logger.warn("Rate update exceeds tolerance threshold: {}", updatedRate);
-                if (previousRate != null) {
-                    logger.info("Using previous rate value: {}", previousRate);
+                for (int index : derivedRatePlan.affectedIndicesFor(state.getSymbol())) {
+                    dirty[index] = true;
                 }
             }
-        } else {
-            logger.warn("Received update for unknown rate {} from platform {}", rateName, platformName);
+        }
+
+        if (!accepted.isEmpty()) {
+            kafkaProducerService.sendRates(accepted);
+        }
+        if (dirty != null) {
+            synchronized (derivedCalculationLock) {
+                calculateDirty(dirty);
+            }
+        }
+    }
+
+    /**
+     * Tick'i doğrular ve kabul edilirse sembol hücresine yazar
+     * @return Önbelleğe yazılan kur veya reddedildiyse null
+     */
+    private Rate acceptTick(SymbolState state, String platformName, String rateName,
+                            double bid, double ask, LocalDateTime timestamp) {
+        if (!isValid(state, bid, ask, timestamp)) {
+            return null;
+        }
+
+        Rate existingRate = state.getRate();
+        Rate rate = existingRate != null
+                ? new Rate(existingRate.getRateName(), existingRate.getPlatformName(), bid, ask, timestamp,
+                        existingRate.isCalculated())
+                : new Rate(rateName, platformName, bid, ask, timestamp, false);
+
+        rateCache.update(state, rate);
+        return rate;
+    }
+
+    /**
+     * İşaretli türev kurları plan sırasıyla, aynı seviyedekileri tek aşama olarak hesaplar
+     * @param dirty Plan indeksine göre hesaplanacak kurlar
+     */
+    private void calculateDirty(boolean[] dirty) {
+        int[] stage = new int[dirty.length];
+        int count = 0;
+        int level = -1;
+
+        for (int index = 0; index < dirty.length; index++) {
+            if (!dirty[index]) {
+                continue;
+            }
+            if (count > 0 && derivedRatePlan.levelAt(index) != level) {
+                calculateStage(stage, count);
+                count = 0;
+            }
+            level = derivedRatePlan.levelAt(index);
+            stage[count++] = index;
+        }
+
+        if (count > 0) {
+            calculateStage(stage, count);
         }
     }
 
@@ -330,45 +623,148 @@ public class DefaultCoordinator implements Coordinator {
         }
     }
 
-    private void checkAndCalculateDependentRates(String updatedRateName) {
-        for (Map.Entry<String, Set<String>> entry : calculatedRateDependencies.entrySet()) {
-            String calculatedRateName = entry.getKey();
-            Set<String> dependencies = entry.getValue();
+    /**
+     * Kabul edilen bir tick sonrası bağımlı türev kurları tetikler. Konflasyon açıksa doğrudan bağımlı
+     * kurlar ana shard'larının konflatöründe kirli işaretlenir ve o shard'da parti/pencere sonunda
+     * bir kez hesaplanır.
+     * @param state Güncellenen sembolün (ham ya da türev) durum hücresi
+     */
+    private void onSymbolUpdated(SymbolState state) {
+        if (conflators != null) {
+            for (int index : state.dependentIndices(dependentIndexLookup)) {
+                conflators[homeShards[index]].markDirty(index);
+            }
+        } else {
+            checkAndCalculateDependentRates(state.getSymbol());
+        }
+    }
+
+    /**
+     * Güncellenen sembole bağlı türev kurları plan sırasıyla yeniden hesaplar
+     * @param updatedSymbol Platform önekli kur adı (ör. PF1_USDTRY)
+     */
+    private void checkAndCalculateDependentRates(String updatedSymbol) {
+        synchronized (derivedCalculationLock) {
+            for (int[] stage : derivedRatePlan.stagesFor(updatedSymbol)) {
+                logger.debug("Rate {} triggers calculation of {} derived rates", updatedSymbol, stage.length);
+                calculateStage(stage, stage.length);
+            }
+        }
+    }
 
-            if (dependencies.contains(updatedRateName)) {
-                logger.debug("Rate {} is a dependency for calculated rate {}, triggering calculation",
-                        updatedRateName, calculatedRateName);
-                calculateRate(calculatedRateName);
+    /**
+     * Bir aşamadaki türev kurları hesaplar. Aşamadaki kurlar birbirinden bağımsızdır; paralellik
+     * açıksa birlikte hesaplanır, sonuçlar yine çağıran thread üzerinde sırayla uygulanır.
+     * @param stage Türev kurların plan indeksleri (yeniden kullanılan tampon olabilir)
+     * @param count Geçerli kur sayısı
+     */
+    private void calculateStage(int[] stage, int count) {
+        if (calculationExecutor == null || count == 1) {
+            for (int i = 0; i < count; i++) {
+                calculateRate(stage[i]);
+            }
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Rate>[] futures = new CompletableFuture[count];
+        for (int i = 0; i < count; i++) {
+            int index = stage[i];
+            futures[i] = CompletableFuture.supplyAsync(() -> computeRate(index), calculationExecutor);
+        }
+
+        for (int i = 0; i < count; i++) {
+            Rate calculatedRate = futures[i].join();
+            if (calculatedRate != null) {
+                applyCalculatedRate(stage[i], calculatedRate);
             }
         }
     }
 
     /**
-     * Tolerans kontrolü - yeni değerin eski değerle karşılaştırılması
-     * @param newRate Yeni kur değeri
-     * @param previousRate Eski kur değeri
-     * @return Tolerans içinde ise true
+     * Hesaplanan kurun hiçbir girdisi önceki sonucunkinden yeni değilse ve en az biri daha eskiyse
+     * true döner (ör. paralel ya da zamanlanmış bir hesaplama daha yeni bir sonucun arkasından gelirse)
+     * @param candidate Yeni hesaplanan kur
+     * @param previous Son yayınlanan kur
+     * @return Yeni sonuç daha eski girdilerden üretildiyse true
      */
-    private boolean isWithinTolerance(Rate newRate, Rate previousRate) {
-        if (previousRate == null) {
-            return true; // İlk veri ise tolerans kontrolü yapma
+    private static boolean isSupersededBy(Rate candidate, Rate previous) {
+        Map<String, Long> candidateVersions = candidate.getInputVersions();
+        Map<String, Long> previousVersions = previous.getInputVersions();
+        if (candidateVersions == null || previousVersions == null) {
+            return false;
         }
 
-        if (previousRate.getBid() == 0 || previousRate.getAsk() == 0) {
-            logger.warn("Önceki kur değerleri sıfır, tolerans kontrolü yapılamıyor");
-            return true;
+        boolean older = false;
+        for (Map.Entry<String, Long> entry : candidateVersions.entrySet()) {
+            Long previousVersion = previousVersions.get(entry.getKey());
+            if (previousVersion == null || entry.getValue() > previousVersion) {
+                return false;
+            }
+            older |= entry.getValue() < previousVersion;
         }
+        return older;
+    }
 
-        double bidDiff = Math.abs((newRate.getBid() - previousRate.getBid()) / previousRate.getBid());
-        double askDiff = Math.abs((newRate.getAsk() - previousRate.getAsk()) / previousRate.getAsk());
+    /**
+     * Tick'i sembolün doğrulama zincirinden geçirir. Reddedilen tick'ler her seferinde loglanmaz,
+     * filtre bazlı red sayaçları (rate.validation.rejected) üzerinden izlenir.
+     * @param state Sembolün durum hücresi
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestamp Tick zaman damgası
+     * @return Tick kabul edildiyse true
+     */
+    private boolean isValid(SymbolState state, double bid, double ask, LocalDateTime timestamp) {
+        RateValidationChain chain = state.validationChain(validationChainLookup);
+
+        long nowMillis = System.currentTimeMillis();
+        long timestampMillis = timestamp != null ? toEpochMillis(timestamp) : nowMillis;
+
+        int rejectedBy = chain.validate(bid, ask, timestampMillis, nowMillis);
+        if (rejectedBy != RateValidationChain.ACCEPTED) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Rate {} rejected by {} filter: bid={}, ask={}",
+                        state.getSymbol(), chain.getFilterName(rejectedBy), bid, ask);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Yerel saat olarak gelen zaman damgasını yaş kontrolü için epoch milisaniyeye çevirir. Ofset her
+     * dönüşümde o anki saat dilimi kurallarından alınır; yaz saati geçişinden sonra da doğru kalır.
+     */
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(timestamp);
+        return timestamp.toEpochSecond(offset) * 1000 + timestamp.getNano() / 1_000_000;
+    }
+
+    /**
+     * Bir shard'ın ring'lerinden gelen olayları işler ve parti sonunda shard'ın türev kurlarını hesaplar
+     */
+    private final class ShardHandler implements RateEventHandler {
 
-        boolean isValid = bidDiff <= TOLERANCE_THRESHOLD && askDiff <= TOLERANCE_THRESHOLD;
+        private final int shard;
 
-        if (!isValid) {
-            logger.warn("Kur değişimi tolerans limitini aşıyor: bid farkı = {}%, ask farkı = {}%",
-                    bidDiff * 100, askDiff * 100);
+        private ShardHandler(int shard) {
+            this.shard = shard;
         }
 
-        return isValid;
+        @Override
+        public void onEvent(RateEvent event) {
+            handleEvent(event);
+            if (!conflationEnabled) {
+                // Konflasyon kapalı: tick'in işaretlediği türev kurlar parti sonunu beklemeden hesaplanır
+                conflators[shard].flushIfDue(stageHandler);
+            }
+        }
+
+        @Override
+        public void onEndOfBatch() {
+            // Diğer shard'ların devrettiği türev kurlar
+            conflators[shard].flushIfDue(stageHandler);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dedicated coordinator thread that drains the per-connector ring buffers of one shard.
+ * All events of the shard are handled on this single thread, so the handler can keep its
+ * tick-path state without locks.
+ */
+public class CoordinatorEventLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordinatorEventLoop.class);
+
+    // Maximum events drained from one ring per pass (fair sharing between rings)
+    private static final int MAX_BATCH = 256;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    private final String name;
+    private final RateEventHandler handler;
+    private final int ringSize;
+    private final long maxIdleParkNanos;
+
+    private final Map<String, RateEventRingBuffer> ringsByPlatform = new ConcurrentHashMap<>();
+    private volatile RateEventRingBuffer[] rings = new RateEventRingBuffer[0];
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Constructor
+     * @param name Thread name
+     * @param handler Event handler invoked on the coordinator thread
+     * @param ringSize Slots per connector ring (power of two)
+     * @param maxIdleParkNanos Upper bound for parking when all rings are empty
+     */
+    public CoordinatorEventLoop(String name, RateEventHandler handler, int ringSize, long maxIdleParkNanos) {
+        this.name = name;
+        this.handler = handler;
+        this.ringSize = ringSize;
+        this.maxIdleParkNanos = maxIdleParkNanos;
+    }
+
+    /**
+     * Creates (or returns) the ring of a platform
+     * @param platformName Platform name
+     * @return Ring drained by this loop
+     */
+    public synchronized RateEventRingBuffer register(String platformName) {
+        RateEventRingBuffer ring = ringsByPlatform.computeIfAbsent(platformName,
+                key -> new RateEventRingBuffer(key, ringSize));
+        rings = ringsByPlatform.values().toArray(new RateEventRingBuffer[0]);
+
+        logger.info("Registered ring buffer for platform {} on {} ({} slots)", platformName, name, ringSize);
+        return ring;
+    }
+
+    /**
+     * Removes the ring of a platform; events still in it are discarded
+     * @param platformName Platform name
+     */
+    public synchronized void unregister(String platformName) {
+        RateEventRingBuffer ring = ringsByPlatform.remove(platformName);
+        if (ring != null) {
+            ring.close();
+            rings = ringsByPlatform.values().toArray(new RateEventRingBuffer[0]);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Coordinator event loop {} started", name);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        for (RateEventRingBuffer ring : rings) {
+            ring.close();
+        }
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                logger.error("Interrupted while waiting for coordinator event loop to stop", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Coordinator event loop {} stopped", name);
+    }
+
+    /**
+     * Total number of events waiting in all rings
+     * @return Backlog size
+     */
+    public long backlog() {
+        long total = 0;
+        for (RateEventRingBuffer ring : rings) {
+            total += ring.backlog();
+        }
+        return total;
+    }
+
+    @Override
+    public void run() {
+        int idleCount = 0;
+        long parkNanos = 1000;
+
+        while (running) {
+            int processed = drainOnce();
+
+            if (processed > 0) {
+                idleCount = 0;
+                parkNanos = 1000;
+            } else if (idleCount < SPIN_TRIES) {
+                idleCount++;
+                Thread.onSpinWait();
+            } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                idleCount++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos << 1, maxIdleParkNanos);
+            }
+        }
+
+        // Handle the events still queued at shutdown
+        drainOnce();
+    }
+
+    private int drainOnce() {
+        int processed = 0;
+        for (RateEventRingBuffer ring : rings) {
+            processed += ring.drain(handler, MAX_BATCH);
+        }
+
+        try {
+            handler.onEndOfBatch();
+        } catch (Exception e) {
+            logger.error("Error at end of coordinator batch", e);
+        }
+        return processed;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Group of coordinator event loops, one thread per shard.
+ * <p>
+ * Every connector gets one ring per shard and routes each rate event by its rate name
+ * (see {@link #shardOf(String, int)}), so a symbol is always handled by the same shard
+ * and its events keep their order. Shards never block each other; work that spans shards
+ * (e.g. derived rates) has to be handed off by the handlers themselves.
+ */
+public class CoordinatorShards {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordinatorShards.class);
+
+    private final CoordinatorEventLoop[] loops;
+
+    /**
+     * Constructor
+     * @param name Thread name prefix
+     * @param handlers Event handler of each shard, the array length is the shard count
+     * @param ringSize Slots per connector ring (power of two)
+     * @param maxIdleParkNanos Upper bound for parking when all rings of a shard are empty
+     */
+    public CoordinatorShards(String name, RateEventHandler[] handlers, int ringSize, long maxIdleParkNanos) {
+        if (handlers.length == 0) {
+            throw new IllegalArgumentException("At least one coordinator shard is required");
+        }
+
+        this.loops = new CoordinatorEventLoop[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            String loopName = handlers.length == 1 ? name : name + "-" + i;
+            loops[i] = new CoordinatorEventLoop(loopName, handlers[i], ringSize, maxIdleParkNanos);
+        }
+        logger.info("Coordinator pipeline configured with {} shard(s)", handlers.length);
+    }
+
+    /**
+     * Returns the shard of a symbol. Uses the cached {@link String#hashCode()} so that
+     * routing does not allocate.
+     * @param symbol Rate name
+     * @param shardCount Number of shards
+     * @return Shard index in [0, shardCount)
+     */
+    public static int shardOf(String symbol, int shardCount) {
+        int hash = symbol.hashCode();
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % shardCount;
+    }
+
+    public int getShardCount() {
+        return loops.length;
+    }
+
+    /**
+     * Creates the rings of a platform on every shard and a callback routing into them
+     * @param platformName Platform name
+     * @return Callback to hand to the connector
+     */
+    public RingBufferCallBack register(String platformName) {
+        RateEventRingBuffer[] rings = new RateEventRingBuffer[loops.length];
+        for (int i = 0; i < loops.length; i++) {
+            rings[i] = loops[i].register(platformName);
+        }
+        return new RingBufferCallBack(rings);
+    }
+
+    /**
+     * Removes the rings of a platform from every shard
+     * @param platformName Platform name
+     */
+    public void unregister(String platformName) {
+        for (CoordinatorEventLoop loop : loops) {
+            loop.unregister(platformName);
+        }
+    }
+
+    public void start() {
+        for (CoordinatorEventLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    public void stop() {
+        for (CoordinatorEventLoop loop : loops) {
+            loop.stop();
+        }
+    }
+
+    /**
+     * Number of events waiting in the rings of a shard
+     * @param shard Shard index
+     * @return Backlog size
+     */
+    public long backlog(int shard) {
+        return loops[shard].backlog();
+    }
+
+    /**
+     * Total number of events waiting in all shards
+     * @return Backlog size
+     */
+    public long backlog() {
+        long total = 0;
+        for (CoordinatorEventLoop loop : loops) {
+            total += loop.backlog();
+        }
+        return total;
+    }
+}
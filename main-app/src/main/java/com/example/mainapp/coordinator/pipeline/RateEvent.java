@@ -0,0 +1,109 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mutable, pre-allocated ring buffer slot.
+ * Producers copy callback arguments into a claimed slot; the coordinator thread
+ * reads them back and the slot is cleared and reused for the next lap.
+ */
+public final class RateEvent {
+
+    private RateEventType type;
+    private String platformName;
+    private String rateName;
+    private double bid;
+    private double ask;
+    private LocalDateTime timestamp;
+    private RateStatus rateStatus;
+    private boolean status;
+    // Tick batch reused with the slot, created on the first batch event
+    private TickBatch batch;
+
+    void setConnection(RateEventType type, String platformName, boolean status) {
+        this.type = type;
+        this.platformName = platformName;
+        this.status = status;
+    }
+
+    void setTick(RateEventType type, String platformName, String rateName,
+                 double bid, double ask, LocalDateTime timestamp) {
+        this.type = type;
+        this.platformName = platformName;
+        this.rateName = rateName;
+        this.bid = bid;
+        this.ask = ask;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Prepares the slot for a batch; the caller copies the ticks into {@link #getBatch()}
+     */
+    void setBatch(String platformName) {
+        this.type = RateEventType.RATE_BATCH;
+        this.platformName = platformName;
+        if (batch == null) {
+            batch = new TickBatch();
+        }
+    }
+
+    void setRateStatus(String platformName, String rateName, RateStatus rateStatus) {
+        this.type = RateEventType.RATE_STATUS;
+        this.platformName = platformName;
+        this.rateName = rateName;
+        this.rateStatus = rateStatus;
+    }
+
+    /**
+     * Drops references held by the slot so that it does not pin objects between laps
+     */
+    void clear() {
+        type = null;
+        platformName = null;
+        rateName = null;
+        timestamp = null;
+        rateStatus = null;
+        if (batch != null) {
+            batch.clear();
+        }
+    }
+
+    public RateEventType getType() {
+        return type;
+    }
+
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    public String getRateName() {
+        return rateName;
+    }
+
+    public double getBid() {
+        return bid;
+    }
+
+    public double getAsk() {
+        return ask;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public RateStatus getRateStatus() {
+        return rateStatus;
+    }
+
+    public boolean getStatus() {
+        return status;
+    }
+
+    public TickBatch getBatch() {
+        return batch;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mainapp.coordinator.pipeline;
+
+/**
+ * Consumer side of the coordinator ring buffer
+ */
+public interface RateEventHandler {
+
+    /**
+     * Called on the coordinator thread for every published event.
+     * The event is reused after this method returns and must not be retained.
+     * @param event The event slot
+     */
+    void onEvent(RateEvent event);
+
+    /**
+     * Called on the coordinator thread after every pass over the rings, including empty passes,
+     * so that time-based work (e.g. conflation windows) can be flushed
+     */
+    default void onEndOfBatch() {
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pre-allocated ring buffer of {@link RateEvent} slots with a single consumer.
+ * <p>
+ * Each platform connector gets its own ring, so in the common case the claim CAS is uncontended.
+ * Claiming still uses CAS because a connector may call back from more than one thread
+ * (reader thread, subscribe caller, health checker). Slot availability is tracked per slot
+ * with the lap number of the sequence that wrote it, as in the Disruptor multi-producer sequencer.
+ */
+public final class RateEventRingBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateEventRingBuffer.class);
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final String name;
+    private final RateEvent[] slots;
+    private final int[] available;
+    private final int mask;
+    private final int indexShift;
+
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+    private volatile long consumerSequence = -1;
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     * @param name Ring name (platform name)
+     * @param size Number of slots, must be a power of two
+     */
+    public RateEventRingBuffer(String name, int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring buffer size must be a power of two: " + size);
+        }
+
+        this.name = name;
+        this.slots = new RateEvent[size];
+        this.available = new int[size];
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new RateEvent();
+        }
+        Arrays.fill(available, -1);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return slots.length;
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring is full
+     * @return The claimed sequence, or -1 if the ring has been closed
+     */
+    public long next() {
+        while (true) {
+            if (closed) {
+                return -1;
+            }
+
+            long current = claimSequence.get();
+            long next = current + 1;
+
+            // Slot of the previous lap has not been consumed yet - back-pressure the producer
+            if (next - slots.length > consumerSequence) {
+                LockSupport.parkNanos(1000);
+                continue;
+            }
+
+            if (claimSequence.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot for a claimed sequence
+     * @param sequence Claimed sequence
+     * @return Slot to fill
+     */
+    public RateEvent get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Makes a filled slot visible to the consumer
+     * @param sequence Claimed sequence
+     */
+    public void publish(long sequence) {
+        AVAILABLE.setRelease(available, (int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * Hands published events to the handler in sequence order. Must only be called by the consumer thread.
+     * @param handler Event handler
+     * @param maxBatch Maximum number of events to drain
+     * @return Number of events drained
+     */
+    public int drain(RateEventHandler handler, int maxBatch) {
+        long next = consumerSequence + 1;
+        int count = 0;
+
+        while (count < maxBatch) {
+            int index = (int) next & mask;
+            if ((int) AVAILABLE.getAcquire(available, index) != (int) (next >>> indexShift)) {
+                break;
+            }
+
+            RateEvent event = slots[index];
+            try {
+                handler.onEvent(event);
+            } catch (Exception e) {
+                logger.error("Error handling {} event from ring {}", event.getType(), name, e);
+            } finally {
+                event.clear();
+            }
+
+            next++;
+            count++;
+        }
+
+        if (count > 0) {
+            consumerSequence = next - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Number of published or claimed events not yet consumed
+     * @return Backlog size
+     */
+    public long backlog() {
+        return claimSequence.get() - consumerSequence;
+    }
+
+    /**
+     * Closes the ring; producers blocked on a full ring give up and further claims fail
+     */
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.mainapp.coordinator.pipeline;
+
+/**
+ * Types of events carried through the coordinator ring buffer
+ */
+public enum RateEventType {
+    CONNECT,          // Platform bağlantısı kuruldu
+    DISCONNECT,       // Platform bağlantısı kapandı
+    RATE_AVAILABLE,   // Kur verisi ilk kez geldi
+    RATE_UPDATE,      // Kur verisi güncellendi
+    RATE_BATCH,       // Tek okumada gelen tick grubu
+    RATE_STATUS       // Kur durumu değişti
+}
@@ -0,0 +1,160 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import com.example.mainapp.coordinator.CoordinatorCallBack;
+import com.example.mainapp.model.Rate;
+import com.example.mainapp.model.RateFields;
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Callback handed to a platform connector when the coordinator pipeline is enabled.
+ * Every call is copied into a reused ring slot and returns immediately; the coordinator
+ * shards perform the actual processing.
+ * <p>
+ * The connector owns one ring per shard. Rate events are routed by rate name, so all events
+ * of a symbol land on the same shard and keep their order. Connection events go to shard 0.
+ * A tick batch is split by shard and each part is copied into a single slot of that shard's ring.
+ */
+public class RingBufferCallBack implements CoordinatorCallBack {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferCallBack.class);
+
+    private static final long UNCLAIMED = -2;
+    private static final long CLOSED = -1;
+
+    private final RateEventRingBuffer[] ringBuffers;
+
+    /**
+     * Constructor
+     * @param ringBuffers Ring buffers owned by the connector, indexed by shard
+     */
+    public RingBufferCallBack(RateEventRingBuffer... ringBuffers) {
+        this.ringBuffers = ringBuffers;
+    }
+
+    public RateEventRingBuffer getRingBuffer(int shard) {
+        return ringBuffers[shard];
+    }
+
+    @Override
+    public void onConnect(String platformName, boolean status) {
+        publishConnection(RateEventType.CONNECT, platformName, status);
+    }
+
+    @Override
+    public void onDisConnect(String platformName, boolean status) {
+        publishConnection(RateEventType.DISCONNECT, platformName, status);
+    }
+
+    @Override
+    public void onRateAvailable(String platformName, String rateName, Rate rate) {
+        publishTick(RateEventType.RATE_AVAILABLE, platformName, rateName,
+                rate.getBid(), rate.getAsk(), rate.getTimestamp());
+    }
+
+    @Override
+    public void onRateUpdate(String platformName, String rateName, RateFields rateFields) {
+        publishTick(RateEventType.RATE_UPDATE, platformName, rateName,
+                rateFields.getBid(), rateFields.getAsk(), rateFields.getTimestamp());
+    }
+
+    @Override
+    public void onRateBatch(String platformName, TickBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (ringBuffers.length == 1) {
+            RateEventRingBuffer ringBuffer = ringBuffers[0];
+            long sequence = claimBatch(ringBuffer, platformName);
+            if (sequence >= 0) {
+                TickBatch target = ringBuffer.get(sequence).getBatch();
+                for (int i = 0; i < batch.size(); i++) {
+                    target.add(batch, i);
+                }
+                ringBuffer.publish(sequence);
+            }
+            return;
+        }
+
+        // At most one slot per shard, claimed on the shard's first tick
+        long[] sequences = new long[ringBuffers.length];
+        Arrays.fill(sequences, UNCLAIMED);
+
+        for (int i = 0; i < batch.size(); i++) {
+            int shard = CoordinatorShards.shardOf(batch.getRateName(i), ringBuffers.length);
+            if (sequences[shard] == UNCLAIMED) {
+                sequences[shard] = claimBatch(ringBuffers[shard], platformName);
+            }
+            if (sequences[shard] >= 0) {
+                ringBuffers[shard].get(sequences[shard]).getBatch().add(batch, i);
+            }
+        }
+
+        for (int shard = 0; shard < sequences.length; shard++) {
+            if (sequences[shard] >= 0) {
+                ringBuffers[shard].publish(sequences[shard]);
+            }
+        }
+    }
+
+    @Override
+    public void onRateStatus(String platformName, String rateName, RateStatus rateStatus) {
+        RateEventRingBuffer ringBuffer = ringFor(rateName);
+        long sequence = ringBuffer.next();
+        if (sequence < 0) {
+            logger.warn("Coordinator pipeline closed, dropping status {} for rate {}", rateStatus, rateName);
+            return;
+        }
+
+        ringBuffer.get(sequence).setRateStatus(platformName, rateName, rateStatus);
+        ringBuffer.publish(sequence);
+    }
+
+    private void publishConnection(RateEventType type, String platformName, boolean status) {
+        RateEventRingBuffer ringBuffer = ringBuffers[0];
+        long sequence = ringBuffer.next();
+        if (sequence < 0) {
+            logger.warn("Coordinator pipeline closed, dropping {} event for platform {}", type, platformName);
+            return;
+        }
+
+        ringBuffer.get(sequence).setConnection(type, platformName, status);
+        ringBuffer.publish(sequence);
+    }
+
+    private void publishTick(RateEventType type, String platformName, String rateName,
+                             double bid, double ask, LocalDateTime timestamp) {
+        RateEventRingBuffer ringBuffer = ringFor(rateName);
+        long sequence = ringBuffer.next();
+        if (sequence < 0) {
+            logger.debug("Coordinator pipeline closed, dropping tick for rate {}", rateName);
+            return;
+        }
+
+        ringBuffer.get(sequence).setTick(type, platformName, rateName, bid, ask, timestamp);
+        ringBuffer.publish(sequence);
+    }
+
+    private long claimBatch(RateEventRingBuffer ringBuffer, String platformName) {
+        long sequence = ringBuffer.next();
+        if (sequence < 0) {
+            logger.debug("Coordinator pipeline closed, dropping tick batch from platform {}", platformName);
+            return CLOSED;
+        }
+
+        ringBuffer.get(sequence).setBatch(platformName);
+        return sequence;
+    }
+
+    private RateEventRingBuffer ringFor(String rateName) {
+        return ringBuffers.length == 1
+                ? ringBuffers[0]
+                : ringBuffers[CoordinatorShards.shardOf(rateName, ringBuffers.length)];
+    }
+}
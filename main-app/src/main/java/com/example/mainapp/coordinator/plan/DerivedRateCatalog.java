@@ -0,0 +1,79 @@
+package com.example.mainapp.coordinator.plan;
+
+import com.example.mainapp.calculator.formula.DerivedRateDefinition;
+import com.example.mainapp.calculator.formula.RateFormula;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derived rates declared in rate-calculations.json, compiled at startup.
+ * <p>
+ * Holds the compiled formula of every derived rate together with the {@link DerivedRatePlan}
+ * built from their inputs. Formulas are also indexed by plan index, so the tick path can go
+ * from a plan index to its formula without a name lookup.
+ */
+public final class DerivedRateCatalog {
+
+    private final DerivedRatePlan plan;
+    private final Map<String, RateFormula> formulasByName;
+    private final RateFormula[] formulasByIndex;
+
+    private DerivedRateCatalog(DerivedRatePlan plan, Map<String, RateFormula> formulasByName) {
+        this.plan = plan;
+        this.formulasByName = formulasByName;
+        this.formulasByIndex = new RateFormula[plan.size()];
+        for (int i = 0; i < formulasByIndex.length; i++) {
+            formulasByIndex[i] = formulasByName.get(plan.rateAt(i));
+        }
+    }
+
+    /**
+     * Compiles the definitions into formulas and a dependency plan
+     * @param definitions Derived rate definitions
+     * @return Compiled catalog
+     * @throws IllegalArgumentException if a definition is invalid, duplicated or cyclic
+     */
+    public static DerivedRateCatalog compile(List<DerivedRateDefinition> definitions) {
+        Map<String, RateFormula> formulasByName = new LinkedHashMap<>();
+        Map<String, List<String>> inputsByRate = new LinkedHashMap<>();
+
+        for (DerivedRateDefinition definition : definitions) {
+            RateFormula formula = RateFormula.compile(definition);
+            if (formulasByName.putIfAbsent(formula.getRateName(), formula) != null) {
+                throw new IllegalArgumentException("Derived rate defined more than once: " + formula.getRateName());
+            }
+            inputsByRate.put(formula.getRateName(), List.of(formula.getInputs()));
+        }
+
+        return new DerivedRateCatalog(DerivedRatePlan.compile(inputsByRate),
+                Collections.unmodifiableMap(new HashMap<>(formulasByName)));
+    }
+
+    public DerivedRatePlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @param rateName Derived rate name
+     * @return Compiled formula, or null if the rate is not declared
+     */
+    public RateFormula getFormula(String rateName) {
+        return formulasByName.get(rateName);
+    }
+
+    /**
+     * @param index Plan index
+     * @return Compiled formula of the derived rate at the index
+     */
+    public RateFormula formulaAt(int index) {
+        return formulasByIndex[index];
+    }
+
+    public int size() {
+        return formulasByIndex.length;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.mainapp.coordinator.plan;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Micro-batch conflation of derived rate recalculation.
+ * <p>
+ * Ticks only mark the affected derived rates dirty. Dirty rates are recalculated once
+ * when the conflation window has elapsed since the first mark, or at the end of every
+ * drained event batch when the window is zero. A rate marked several times before a
+ * flush is recalculated (and published) once.
+ * <p>
+ * Each coordinator shard owns one conflator and only flushes its own derived rates.
+ * Marking is lock-free and may happen from any shard: this is the hand-off used when
+ * the inputs of a derived rate live on other shards. Rates marked while a flush is running
+ * are picked up by the same flush if they come later in plan order (e.g. the next level),
+ * otherwise by the next one.
+ */
+public final class DerivedRateConflator {
+
+    /**
+     * Receives one stage of dirty derived rates. Rates within a stage share the same level
+     * and do not depend on each other.
+     */
+    @FunctionalInterface
+    public interface StageHandler {
+
+        /**
+         * @param indices Reused buffer holding the plan indices of the stage
+         * @param count Number of valid entries in the buffer
+         */
+        void onStage(int[] indices, int count);
+    }
+
+    private static final long NOT_DIRTY = Long.MIN_VALUE;
+    private static final LongBinaryOperator AND = (left, right) -> left & right;
+    private static final LongBinaryOperator OR = (left, right) -> left | right;
+
+    private final DerivedRatePlan plan;
+    private final long windowNanos;
+    private final AtomicLongArray dirty;
+    private final int[] stageBuffer;
+
+    private final AtomicLong firstDirtyNanos = new AtomicLong(NOT_DIRTY);
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong performed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param plan Derived rate plan
+     * @param windowNanos Conflation window, 0 to flush at the end of every drained batch
+     */
+    public DerivedRateConflator(DerivedRatePlan plan, long windowNanos) {
+        this.plan = plan;
+        this.windowNanos = windowNanos;
+        this.dirty = new AtomicLongArray(Math.max(1, (plan.size() + 63) >>> 6));
+        this.stageBuffer = new int[Math.max(1, plan.size())];
+    }
+
+    /**
+     * Marks a derived rate as dirty; may be called from any thread
+     * @param index Plan index of the derived rate
+     */
+    public void markDirty(int index) {
+        dirty.getAndAccumulate(index >>> 6, 1L << index, OR);
+        requested.incrementAndGet();
+
+        // Set the bit before starting the window, so a flush never misses a mark
+        if (firstDirtyNanos.get() == NOT_DIRTY) {
+            firstDirtyNanos.compareAndSet(NOT_DIRTY, System.nanoTime());
+        }
+    }
+
+    /**
+     * Flushes dirty rates if the window has elapsed; called by the owning shard at the end of
+     * every drained batch
+     * @param handler Stage handler performing the recalculation
+     * @return Number of rates handed to the handler
+     */
+    public int flushIfDue(StageHandler handler) {
+        long first = firstDirtyNanos.get();
+        if (first == NOT_DIRTY) {
+            return 0;
+        }
+        if (windowNanos > 0 && System.nanoTime() - first < windowNanos) {
+            return 0;
+        }
+        return flush(handler);
+    }
+
+    /**
+     * Flushes all dirty rates stage by stage in dependency order; called by the owning shard
+     * @param handler Stage handler performing the recalculation
+     * @return Number of rates handed to the handler
+     */
+    public int flush(StageHandler handler) {
+        firstDirtyNanos.set(NOT_DIRTY);
+
+        int total = 0;
+        int count = 0;
+        int stageLevel = -1;
+        int lastIndex = -1;
+        int index = nextDirty(0);
+
+        while (true) {
+            if (index < 0 || (count > 0 && plan.levelAt(index) != stageLevel)) {
+                if (count == 0) {
+                    break;
+                }
+                handler.onStage(stageBuffer, count);
+                total += count;
+                count = 0;
+
+                // The stage may have marked rates of the next level dirty
+                index = nextDirty(lastIndex + 1);
+                continue;
+            }
+
+            dirty.getAndAccumulate(index >>> 6, ~(1L << index), AND);
+            stageLevel = plan.levelAt(index);
+            stageBuffer[count++] = index;
+            lastIndex = index;
+            index = nextDirty(index + 1);
+        }
+
+        if (total > 0) {
+            performed.addAndGet(total);
+            flushes.incrementAndGet();
+        }
+        return total;
+    }
+
+    private int nextDirty(int fromIndex) {
+        int size = plan.size();
+        if (fromIndex >= size) {
+            return -1;
+        }
+
+        int word = fromIndex >>> 6;
+        long bits = dirty.get(word) & (-1L << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return index < size ? index : -1;
+            }
+            if (++word >= dirty.length()) {
+                return -1;
+            }
+            bits = dirty.get(word);
+        }
+    }
+
+    /**
+     * @return Number of recalculations requested by ticks
+     */
+    public long getRequestedCount() {
+        return requested.get();
+    }
+
+    /**
+     * @return Number of recalculations actually performed
+     */
+    public long getPerformedCount() {
+        return performed.get();
+    }
+
+    /**
+     * @return Number of recalculations saved by conflation
+     */
+    public long getSavedCount() {
+        return requested.get() - performed.get();
+    }
+
+    /**
+     * @return Number of flushes that recalculated at least one rate
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.mainapp.coordinator.plan;
+
+import java.util.*;
+
+/**
+ * Immutable recalculation plan for derived (calculated) rates.
+ * <p>
+ * Built once from the derived rate definitions (derived rate name -> input rate names).
+ * Inputs may be raw, platform-prefixed symbols (e.g. PF1_USDTRY) or other derived rates
+ * (e.g. EURGBP computed from EURTRY and GBPTRY). At build time the plan
+ * <ul>
+ *     <li>orders derived rates topologically and rejects cycles,</li>
+ *     <li>assigns each derived rate a level (1 + highest level of its derived inputs),</li>
+ *     <li>precomputes, for every input symbol, the minimal set of derived rates to recalculate,
+ *     grouped into stages by level. Rates inside one stage do not depend on each other and
+ *     may be calculated in parallel; stages must run in order.</li>
+ * </ul>
+ * Looking up the work for a tick is a single map lookup.
+ */
+public final class DerivedRatePlan {
+
+    private static final List<int[]> NO_STAGES = Collections.emptyList();
+    private static final int[] NO_INDICES = new int[0];
+
+    private final Map<String, String[]> inputsByRate;
+    private final Map<String, Integer> levels;
+    private final List<String> topologicalOrder;
+    private final Map<String, List<int[]>> stagesBySymbol;
+    private final Map<String, int[]> affectedIndicesBySymbol;
+    private final Map<String, int[]> dependentIndicesBySymbol;
+    private final String[] ratesByIndex;
+    private final int[] levelsByIndex;
+    private final Map<String, Integer> indicesByRate = new HashMap<>();
+
+    private DerivedRatePlan(Map<String, String[]> inputsByRate,
+                            Map<String, Integer> levels,
+                            List<String> topologicalOrder,
+                            Map<String, List<int[]>> stagesBySymbol,
+                            Map<String, int[]> affectedIndicesBySymbol,
+                            Map<String, int[]> dependentIndicesBySymbol) {
+        this.inputsByRate = inputsByRate;
+        this.levels = levels;
+        this.topologicalOrder = topologicalOrder;
+        this.stagesBySymbol = stagesBySymbol;
+        this.affectedIndicesBySymbol = affectedIndicesBySymbol;
+        this.dependentIndicesBySymbol = dependentIndicesBySymbol;
+        this.ratesByIndex = topologicalOrder.toArray(new String[0]);
+        this.levelsByIndex = new int[ratesByIndex.length];
+        for (int i = 0; i < ratesByIndex.length; i++) {
+            levelsByIndex[i] = levels.get(ratesByIndex[i]);
+            indicesByRate.put(ratesByIndex[i], i);
+        }
+    }
+
+    /**
+     * Compiles derived rate definitions into a plan
+     * @param definitions Derived rate name -> input rate names
+     * @return Compiled plan
+     * @throws IllegalArgumentException if the definitions contain a cycle
+     */
+    public static DerivedRatePlan compile(Map<String, ? extends Collection<String>> definitions) {
+        Map<String, String[]> inputsByRate = new LinkedHashMap<>();
+        definitions.forEach((rateName, inputs) ->
+                inputsByRate.put(rateName, new LinkedHashSet<>(inputs).toArray(new String[0])));
+
+        // Reverse index: input symbol -> derived rates using it directly
+        Map<String, List<String>> dependents = new HashMap<>();
+        Map<String, Integer> pendingInputs = new HashMap<>();
+        for (Map.Entry<String, String[]> entry : inputsByRate.entrySet()) {
+            int derivedInputs = 0;
+            for (String input : entry.getValue()) {
+                dependents.computeIfAbsent(input, key -> new ArrayList<>()).add(entry.getKey());
+                if (inputsByRate.containsKey(input)) {
+                    derivedInputs++;
+                }
+            }
+            pendingInputs.put(entry.getKey(), derivedInputs);
+        }
+
+        // Topological sort and level assignment (Kahn's algorithm)
+        List<String> order = new ArrayList<>();
+        Map<String, Integer> levels = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (String rateName : inputsByRate.keySet()) {
+            if (pendingInputs.get(rateName) == 0) {
+                ready.add(rateName);
+                levels.put(rateName, 1);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            String rateName = ready.poll();
+            order.add(rateName);
+
+            for (String dependent : dependents.getOrDefault(rateName, Collections.emptyList())) {
+                levels.merge(dependent, levels.get(rateName) + 1, Math::max);
+                if (pendingInputs.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (order.size() != inputsByRate.size()) {
+            Set<String> cyclic = new TreeSet<>(inputsByRate.keySet());
+            cyclic.removeAll(order);
+            throw new IllegalArgumentException("Cyclic derived rate definitions: " + cyclic);
+        }
+
+        // A stable sort by level is still a topological order and keeps same-level rates contiguous
+        order.sort(Comparator.comparing(levels::get));
+
+        Map<String, Integer> orderIndex = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            orderIndex.put(order.get(i), i);
+        }
+
+        // Precompute the closure of affected derived rates for every input symbol
+        Map<String, List<int[]>> stagesBySymbol = new HashMap<>();
+        Map<String, int[]> affectedIndicesBySymbol = new HashMap<>();
+        Map<String, int[]> dependentIndicesBySymbol = new HashMap<>();
+        for (String symbol : dependents.keySet()) {
+            dependentIndicesBySymbol.put(symbol,
+                    dependents.get(symbol).stream().mapToInt(orderIndex::get).sorted().toArray());
+
+            Set<String> affected = new HashSet<>();
+            Deque<String> toVisit = new ArrayDeque<>(dependents.get(symbol));
+            while (!toVisit.isEmpty()) {
+                String rateName = toVisit.poll();
+                if (affected.add(rateName)) {
+                    toVisit.addAll(dependents.getOrDefault(rateName, Collections.emptyList()));
+                }
+            }
+
+            // Plan order is by level, so the indices of one stage are contiguous
+            int[] affectedIndices = affected.stream().mapToInt(orderIndex::get).sorted().toArray();
+            List<int[]> stages = new ArrayList<>();
+            int stageStart = 0;
+            for (int i = 1; i <= affectedIndices.length; i++) {
+                if (i == affectedIndices.length
+                        || !levels.get(order.get(affectedIndices[i])).equals(levels.get(order.get(affectedIndices[stageStart])))) {
+                    stages.add(Arrays.copyOfRange(affectedIndices, stageStart, i));
+                    stageStart = i;
+                }
+            }
+            stagesBySymbol.put(symbol, Collections.unmodifiableList(stages));
+            affectedIndicesBySymbol.put(symbol, affectedIndices);
+        }
+
+        return new DerivedRatePlan(
+                Collections.unmodifiableMap(inputsByRate),
+                Collections.unmodifiableMap(levels),
+                Collections.unmodifiableList(order),
+                Collections.unmodifiableMap(stagesBySymbol),
+                Collections.unmodifiableMap(affectedIndicesBySymbol),
+                Collections.unmodifiableMap(dependentIndicesBySymbol));
+    }
+
+    /**
+     * Returns the plan indices of the derived rates to recalculate after a symbol changes, grouped
+     * into ordered stages. The returned arrays are shared and must not be modified.
+     * @param symbol Updated symbol (raw platform-prefixed name or derived rate name)
+     * @return Stages in dependency order, empty if nothing depends on the symbol
+     */
+    public List<int[]> stagesFor(String symbol) {
+        return stagesBySymbol.getOrDefault(symbol, NO_STAGES);
+    }
+
+    /**
+     * Returns the plan indices of the derived rates affected by a symbol, in ascending (dependency) order.
+     * The returned array is shared and must not be modified.
+     * @param symbol Updated symbol
+     * @return Affected derived rate indices
+     */
+    public int[] affectedIndicesFor(String symbol) {
+        return affectedIndicesBySymbol.getOrDefault(symbol, NO_INDICES);
+    }
+
+    /**
+     * Returns the plan indices of the derived rates that use a symbol directly as an input.
+     * Used when recalculation cascades level by level (e.g. across coordinator shards).
+     * The returned array is shared and must not be modified.
+     * @param symbol Updated symbol
+     * @return Direct dependent indices in ascending order
+     */
+    public int[] dependentIndicesOf(String symbol) {
+        return dependentIndicesBySymbol.getOrDefault(symbol, NO_INDICES);
+    }
+
+    /**
+     * Returns the number of derived rates in the plan
+     * @return Derived rate count
+     */
+    public int size() {
+        return ratesByIndex.length;
+    }
+
+    /**
+     * Returns the derived rate at a plan index. Indices follow the topological order,
+     * so same-level rates occupy a contiguous range.
+     * @param index Plan index
+     * @return Derived rate name
+     */
+    public String rateAt(int index) {
+        return ratesByIndex[index];
+    }
+
+    /**
+     * Returns the plan index of a derived rate
+     * @param rateName Derived rate name
+     * @return Plan index, or -1 if the rate is not derived
+     */
+    public int indexOf(String rateName) {
+        return indicesByRate.getOrDefault(rateName, -1);
+    }
+
+    /**
+     * Returns the level of the derived rate at a plan index
+     * @param index Plan index
+     * @return Level
+     */
+    public int levelAt(int index) {
+        return levelsByIndex[index];
+    }
+
+    /**
+     * Returns the inputs of a derived rate
+     * @param rateName Derived rate name
+     * @return Input rate names, or null if the rate is not a derived rate
+     */
+    public String[] inputsOf(String rateName) {
+        return inputsByRate.get(rateName);
+    }
+
+    /**
+     * Returns true if the rate is a derived rate of this plan
+     * @param rateName Rate name
+     * @return True if derived
+     */
+    public boolean isDerived(String rateName) {
+        return inputsByRate.containsKey(rateName);
+    }
+
+    /**
+     * Returns the level of a derived rate (1 = only raw inputs)
+     * @param rateName Derived rate name
+     * @return Level, or 0 if the rate is not derived
+     */
+    public int levelOf(String rateName) {
+        return levels.getOrDefault(rateName, 0);
+    }
+
+    /**
+     * Returns all derived rates in dependency order (ascending level)
+     * @return Topologically ordered derived rate names
+     */
+    public List<String> getTopologicalOrder() {
+        return topologicalOrder;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.mainapp.model;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,6 +19,8 @@ public class Rate implements Serializable {
     private double ask;               // Satış fiyatı
     private LocalDateTime timestamp;  // Zaman damgası
     private boolean calculated;       // Hesaplanmış kur mu?
+    private long version;             // Önbelleğe yazılırken atanan artan sıra numarası (0 = atanmamış)
+    private Map<String, Long> inputVersions; // Hesaplanmış kurun üretildiği girdi kurların sürümleri
 
     /**
      * Boş constructor
@@ -87,6 +90,22 @@ public class Rate implements Serializable {
         this.calculated = calculated;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Map<String, Long> getInputVersions() {
+        return inputVersions;
+    }
+
+    public void setInputVersions(Map<String, Long> inputVersions) {
+        this.inputVersions = inputVersions;
+    }
+
     /**
      * Kafka formatına dönüştürür
      */
@@ -122,6 +141,7 @@ public class Rate implements Serializable {
                 ", ask=" + ask +
                 ", timestamp=" + timestamp +
                 ", calculated=" + calculated +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
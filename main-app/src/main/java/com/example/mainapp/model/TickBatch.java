@@ -0,0 +1,163 @@
+package com.example.mainapp.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Tek seferde teslim edilen tick'lerin yeniden kullanılan sütunlu (columnar) tamponu.
+ * <p>
+ * Her tick bir satırdır: kur adı, alış, satış ve zaman damgası (platformun yerel saatinin
+ * epoch nanosaniyesi). Kur adları bağlayıcının kanonik String örnekleridir, sembol kimliği gibi
+ * kullanılır; tampon tick başına nesne oluşturmaz. Tampon sahibi tarafından yeniden kullanılır,
+ * geri çağrı dışında saklanmamalıdır.
+ */
+public final class TickBatch {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private String[] rateNames;
+    private double[] bids;
+    private double[] asks;
+    private long[] timestampNanos;
+    private int size;
+
+    public TickBatch() {
+        this(64);
+    }
+
+    /**
+     * Constructor
+     * @param initialCapacity Başlangıç kapasitesi, gerektiğinde büyür
+     */
+    public TickBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        rateNames = new String[capacity];
+        bids = new double[capacity];
+        asks = new double[capacity];
+        timestampNanos = new long[capacity];
+    }
+
+    /**
+     * Tampona bir tick ekler
+     * @param rateName Kur adı
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param epochNanos Zaman damgası, yerel saatin epoch nanosaniyesi
+     */
+    public void add(String rateName, double bid, double ask, long epochNanos) {
+        if (size == rateNames.length) {
+            grow();
+        }
+        rateNames[size] = rateName;
+        bids[size] = bid;
+        asks[size] = ask;
+        timestampNanos[size] = epochNanos;
+        size++;
+    }
+
+    /**
+     * Tampona bir tick ekler
+     * @param rateName Kur adı
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestamp Zaman damgası
+     */
+    public void add(String rateName, double bid, double ask, LocalDateTime timestamp) {
+        add(rateName, bid, ask, toEpochNanos(timestamp));
+    }
+
+    /**
+     * Başka bir tampondaki tick'i kopyalar
+     * @param source Kaynak tampon
+     * @param index Kaynaktaki satır
+     */
+    public void add(TickBatch source, int index) {
+        add(source.rateNames[index], source.bids[index], source.asks[index], source.timestampNanos[index]);
+    }
+
+    /**
+     * Satırı tampon içinde daha önceki bir satırın yerine kopyalar; yerinde süzme için
+     * @param from Kopyalanacak satır
+     * @param to Hedef satır
+     */
+    public void move(int from, int to) {
+        rateNames[to] = rateNames[from];
+        bids[to] = bids[from];
+        asks[to] = asks[from];
+        timestampNanos[to] = timestampNanos[from];
+    }
+
+    /**
+     * Tamponu ilk satırlarına kısaltır
+     * @param newSize Kalacak satır sayısı
+     */
+    public void truncate(int newSize) {
+        if (newSize < size) {
+            Arrays.fill(rateNames, newSize, size, null);
+            size = newSize;
+        }
+    }
+
+    /**
+     * Tamponu boşaltır; kapasite korunur
+     */
+    public void clear() {
+        Arrays.fill(rateNames, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String getRateName(int index) {
+        return rateNames[index];
+    }
+
+    public double getBid(int index) {
+        return bids[index];
+    }
+
+    public double getAsk(int index) {
+        return asks[index];
+    }
+
+    public long getTimestampNanos(int index) {
+        return timestampNanos[index];
+    }
+
+    /**
+     * @return Satırın zaman damgası (nesne oluşturur)
+     */
+    public LocalDateTime getTimestamp(int index) {
+        return toLocalDateTime(timestampNanos[index]);
+    }
+
+    /**
+     * Yerel zaman damgasını epoch nanosaniyeye çevirir (saat dilimi dönüşümü yapılmaz)
+     */
+    public static long toEpochNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + timestamp.getNano();
+    }
+
+    /**
+     * {@link #toEpochNanos(LocalDateTime)} işleminin tersi
+     */
+    public static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private void grow() {
+        int capacity = rateNames.length << 1;
+        rateNames = Arrays.copyOf(rateNames, capacity);
+        bids = Arrays.copyOf(bids, capacity);
+        asks = Arrays.copyOf(asks, capacity);
+        timestampNanos = Arrays.copyOf(timestampNanos, capacity);
+    }
+}
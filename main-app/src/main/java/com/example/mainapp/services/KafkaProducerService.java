@@ -2,6 +2,8 @@ package com.example.mainapp.services;
 
 import com.example.mainapp.model.Rate;
 
+import java.util.List;
+
 /**
  * Kafka producer service interface
  */
@@ -12,4 +14,14 @@ public interface KafkaProducerService {
      * @param rate Rate to send
      */
     void sendRate(Rate rate);
-}
\ No newline at end of file
+
+    /**
+     * Send a group of rates to Kafka, e.g. all rates accepted from one tick batch
+     * @param rates Rates to send, in order
+     */
+    default void sendRates(List<Rate> rates) {
+        for (Rate rate : rates) {
+            sendRate(rate);
+        }
+    }
+}
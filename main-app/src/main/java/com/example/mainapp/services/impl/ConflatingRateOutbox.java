@@ -0,0 +1,260 @@
+package com.example.mainapp.services.impl;
+
+import com.example.mainapp.model.Rate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, latest-value-wins hand-off between the coordinator and the Kafka producer.
+ * <p>
+ * {@link #offer(Rate)} only overwrites the pending value of the rate and returns; a dedicated
+ * publisher thread drains the rates in first-dirty order and publishes the freshest value of each.
+ * Every pending rate has exactly one entry in the dirty queue, so the queue capacity bounds the
+ * number of distinct pending rates. A slow or unavailable broker only blocks the publisher thread.
+ * <p>
+ * {@link #offerAll(List)} hands a whole group over with one lock acquisition and one wake-up, and the
+ * publisher drains every queued key per wake-up, so both sides pay the hand-off once per group.
+ */
+public class ConflatingRateOutbox implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflatingRateOutbox.class);
+
+    private final String name;
+    private final Consumer<Rate> publisher;
+    private final Map<String, Rate> pending = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final ArrayDeque<String> dirtyKeys;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Constructor
+     * @param name Publisher thread name
+     * @param capacity Maximum number of distinct pending rates
+     * @param publisher Publishes a rate to the broker; called on the publisher thread only
+     */
+    public ConflatingRateOutbox(String name, int capacity, Consumer<Rate> publisher) {
+        this.name = name;
+        this.publisher = publisher;
+        this.capacity = capacity;
+        this.dirtyKeys = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Replaces the pending value of the rate; never blocks
+     * @param rate Rate to publish
+     * @return false if the outbox is full and the rate was dropped
+     */
+    public boolean offer(Rate rate) {
+        offered.incrementAndGet();
+
+        String key = rate.getRateName();
+        if (pending.put(key, rate) != null) {
+            // Anahtar zaten kuyrukta; yayıncı en güncel değeri alacak
+            conflated.incrementAndGet();
+            return true;
+        }
+
+        lock.lock();
+        try {
+            if (!enqueue(key)) {
+                return false;
+            }
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the pending values of a group of rates under a single hand-off; never blocks
+     * @param rates Rates to publish, in order
+     * @return Number of rates dropped because the outbox was full
+     */
+    public int offerAll(List<Rate> rates) {
+        offered.addAndGet(rates.size());
+
+        int droppedRates = 0;
+        boolean enqueued = false;
+        lock.lock();
+        try {
+            for (Rate rate : rates) {
+                String key = rate.getRateName();
+                if (pending.put(key, rate) != null) {
+                    conflated.incrementAndGet();
+                } else if (enqueue(key)) {
+                    enqueued = true;
+                } else {
+                    droppedRates++;
+                }
+            }
+            // Grup için yayıncı tek kez uyandırılır
+            if (enqueued) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return droppedRates;
+    }
+
+    /**
+     * Queues a newly pending key; must be called with the lock held
+     */
+    private boolean enqueue(String key) {
+        if (dirtyKeys.size() >= capacity) {
+            // Koşulsuz silinir; aksi halde araya giren bir değer kuyruksuz kalıp hiç gönderilmezdi
+            pending.remove(key);
+            dropped.incrementAndGet();
+            logger.warn("Kafka outbox {} is full ({} pending rates), dropping rate {}", name, pending.size(), key);
+            return false;
+        }
+        dirtyKeys.addLast(key);
+        return true;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        running = true;
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Kafka outbox {} started", name);
+    }
+
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                logger.error("Interrupted while waiting for Kafka outbox to stop", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Kafka outbox {} stopped, {} rates left unpublished", name, pending.size());
+    }
+
+    @Override
+    public void run() {
+        List<String> batch = new ArrayList<>();
+        while (running) {
+            try {
+                drainTo(batch, 100);
+            } catch (InterruptedException e) {
+                if (running) {
+                    logger.warn("Kafka outbox {} interrupted unexpectedly", name);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            }
+            publishAll(batch);
+        }
+
+        // Kapanışta bekleyen en güncel değerleri göndermeyi dene
+        Thread.interrupted();
+        try {
+            drainTo(batch, 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        publishAll(batch);
+    }
+
+    /**
+     * Moves every queued key to the batch, waiting up to the timeout if none is queued
+     */
+    private void drainTo(List<String> batch, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            if (dirtyKeys.isEmpty() && timeoutMillis > 0) {
+                notEmpty.await(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            String key;
+            while ((key = dirtyKeys.pollFirst()) != null) {
+                batch.add(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishAll(List<String> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            publish(batch.get(i));
+        }
+        batch.clear();
+    }
+
+    private void publish(String key) {
+        // Kuyruktan alındıktan sonra gelen değer de burada okunur; anahtar yeniden kuyruğa girmez
+        Rate rate = pending.remove(key);
+        if (rate == null) {
+            return;
+        }
+
+        try {
+            publisher.accept(rate);
+            published.incrementAndGet();
+        } catch (Exception e) {
+            logger.error("Error publishing rate {} from Kafka outbox: {}", key, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Number of distinct rates waiting to be published
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getOfferedCount() {
+        return offered.get();
+    }
+
+    /**
+     * @return Number of pending values overwritten by a newer value before being published
+     */
+    public long getConflatedCount() {
+        return conflated.get();
+    }
+
+    /**
+     * @return Number of rates dropped because the outbox was full
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+}
@@ -2,6 +2,12 @@ package com.example.mainapp.services.impl;
 
 import com.example.mainapp.model.Rate;
 import com.example.mainapp.services.KafkaProducerService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +16,9 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -17,16 +26,66 @@ public class DefaultKafkaProducerService implements KafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultKafkaProducerService.class);
 
+    // Mesaj formatı (name|bid|ask|timestamp) değişmesin diye sürüm bilgileri header olarak gönderilir
+    public static final String VERSION_HEADER = "rate-version";
+    public static final String INPUT_VERSIONS_HEADER = "rate-input-versions";
+
     @Value("${kafka.topic.rates}")
     private String ratesTopic;
 
     private final KafkaTemplate<String, String> kafkaTemplate;
 
+    // Koordinatör ile Kafka arasındaki son-değer-kazanır tamponu (kapalıysa null, gönderim doğrudan yapılır)
+    private final ConflatingRateOutbox outbox;
+
     @Autowired
-    public DefaultKafkaProducerService(KafkaTemplate<String, String> kafkaTemplate) {
+    public DefaultKafkaProducerService(KafkaTemplate<String, String> kafkaTemplate,
+                                       @Value("${kafka.outbox.enabled:true}") boolean outboxEnabled,
+                                       @Value("${kafka.outbox.capacity:4096}") int outboxCapacity,
+                                       MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.outbox = outboxEnabled
+                ? new ConflatingRateOutbox("KafkaOutbox", outboxCapacity, this::publishRate)
+                : null;
+        if (outbox != null) {
+            registerOutboxMetrics(meterRegistry);
+        }
+    }
+
+    private void registerOutboxMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("kafka.outbox.pending", outbox, ConflatingRateOutbox::getPendingCount)
+                .description("Distinct rates waiting to be published to Kafka")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.outbox.conflated", outbox, ConflatingRateOutbox::getConflatedCount)
+                .description("Pending rates overwritten by a newer value before being published")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.outbox.dropped", outbox, ConflatingRateOutbox::getDroppedCount)
+                .description("Rates dropped because the Kafka outbox was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.outbox.published", outbox, ConflatingRateOutbox::getPublishedCount)
+                .description("Rates handed to the Kafka producer by the outbox")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (outbox != null) {
+            outbox.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (outbox != null) {
+            outbox.stop();
+        }
     }
 
+    /**
+     * Kuru gönderim için sıraya alır. Outbox açıkken çağıran thread hiçbir zaman broker'ı beklemez;
+     * aynı kurun henüz gönderilmemiş değeri yenisiyle değiştirilir.
+     * @param rate Gönderilecek kur
+     */
     @Override
     public void sendRate(Rate rate) {
         if (rate == null) {
@@ -34,6 +93,31 @@ public class DefaultKafkaProducerService implements KafkaProducerService {
             return;
         }
 
+        if (outbox != null) {
+            outbox.offer(rate);
+        } else {
+            publishRate(rate);
+        }
+    }
+
+    /**
+     * Bir grup kuru gönderime alır. Outbox açıkken grup tek kilit ve tek uyandırma ile devredilir;
+     * kapalıyken kurlar sırayla doğrudan gönderilir.
+     * @param rates Gönderilecek kurlar
+     */
+    @Override
+    public void sendRates(List<Rate> rates) {
+        logger.debug("Sending {} rates to Kafka", rates.size());
+        if (outbox != null) {
+            outbox.offerAll(rates);
+        } else {
+            for (Rate rate : rates) {
+                publishRate(rate);
+            }
+        }
+    }
+
+    private void publishRate(Rate rate) {
         try {
             // Convert rate to Kafka format
             String message = rate.toKafkaString();
@@ -41,10 +125,12 @@ public class DefaultKafkaProducerService implements KafkaProducerService {
             // Use rate name as key
             String key = rate.getRateName();
 
-            logger.info("Sending rate to Kafka: key={}, message={}", key, message);
+            logger.debug("Sending rate to Kafka: key={}, message={}", key, message);
 
             // Send to Kafka with improved error handling
-            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(ratesTopic, key, message);
+            ProducerRecord<String, String> record = new ProducerRecord<>(ratesTopic, key, message);
+            addVersionHeaders(record, rate);
+            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(record);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -64,4 +150,27 @@ public class DefaultKafkaProducerService implements KafkaProducerService {
             logger.error("Error sending rate to Kafka: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Kur sürümünü ve hesaplanmış kurlar için girdi sürümlerini (ör. "PF1_USDTRY=12,PF2_USDTRY=15")
+     * header olarak ekler; tüketiciler bunlarla eski yeniden hesaplamaları ayırt edebilir
+     */
+    private static void addVersionHeaders(ProducerRecord<String, String> record, Rate rate) {
+        if (rate.getVersion() > 0) {
+            record.headers().add(VERSION_HEADER,
+                    Long.toString(rate.getVersion()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        Map<String, Long> inputVersions = rate.getInputVersions();
+        if (inputVersions != null && !inputVersions.isEmpty()) {
+            StringBuilder value = new StringBuilder();
+            for (Map.Entry<String, Long> entry : inputVersions.entrySet()) {
+                if (value.length() > 0) {
+                    value.append(',');
+                }
+                value.append(entry.getKey()).append('=').append(entry.getValue());
+            }
+            record.headers().add(INPUT_VERSIONS_HEADER, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
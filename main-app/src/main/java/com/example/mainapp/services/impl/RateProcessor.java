@@ -1,62 +1,151 @@
 package com.example.mainapp.services.impl;
 
 import com.example.mainapp.coordinator.Coordinator;
+import com.example.mainapp.coordinator.plan.DerivedRateCatalog;
+import com.example.mainapp.coordinator.plan.DerivedRatePlan;
+import com.example.mainapp.model.Rate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Rate calculation processor that periodically calculates derived rates
+ * Safety net for derived rates.
+ * <p>
+ * Derived rates are normally recalculated by the coordinator when their inputs tick. This
+ * processor periodically compares the current input versions with the versions the last published
+ * value was built from, and only requests recalculation when an input changed without the rate
+ * following it, or when the published value is about to go stale.
  */
 @Service
-@EnableScheduling
 public class RateProcessor {
 
     private static final Logger logger = LoggerFactory.getLogger(RateProcessor.class);
 
     private final Coordinator coordinator;
+    private final DerivedRatePlan derivedRatePlan;
+    private final long intervalMs;
+    private final long maxOutputAgeMs;
+
+    private final Counter inputsChangedCounter;
+    private final Counter staleCounter;
+    private final Counter upToDateCounter;
+
+    private ScheduledExecutorService scheduler;
 
     @Autowired
-    public RateProcessor(Coordinator coordinator) {
+    public RateProcessor(Coordinator coordinator,
+                         DerivedRateCatalog derivedRateCatalog,
+                         @Value("${rate.processor.intervalMs:5000}") long intervalMs,
+                         @Value("${rate.processor.maxOutputAgeMs:30000}") long maxOutputAgeMs,
+                         MeterRegistry meterRegistry) {
         this.coordinator = coordinator;
+        this.derivedRatePlan = derivedRateCatalog.getPlan();
+        this.intervalMs = intervalMs;
+        this.maxOutputAgeMs = maxOutputAgeMs;
+
+        this.inputsChangedCounter = recalculationCounter(meterRegistry, "inputs_changed");
+        this.staleCounter = recalculationCounter(meterRegistry, "stale");
+        this.upToDateCounter = Counter.builder("rate.processor.skipped")
+                .description("Derived rates skipped by the periodic pass because they were up to date")
+                .register(meterRegistry);
+    }
+
+    private static Counter recalculationCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("rate.processor.recalculations")
+                .description("Derived rate recalculations requested by the periodic pass")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "RateProcessor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::safeCalculateRates, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Rate processor started, interval {} ms, max output age {} ms", intervalMs, maxOutputAgeMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void safeCalculateRates() {
+        try {
+            calculateRates();
+        } catch (Exception e) {
+            // Hata zamanlayıcıyı durdurmasın
+            logger.error("Error in periodic derived rate pass", e);
+        }
     }
 
     /**
-     * Periodically calculate all derived rates based on raw data
+     * Recalculates derived rates whose inputs changed since their last published value,
+     * or whose value would be older than the maximum age before the next pass
      */
-    @Scheduled(fixedRate = 5000) // Every 5 seconds
     public void calculateRates() {
-        logger.debug("Calculating derived rates");
+        logger.debug("Checking derived rates");
 
-        // Get available raw rates
-        Set<String> rawRateNames = coordinator.getAllRateNames();
+        LocalDateTime refreshBefore = LocalDateTime.now()
+                .minus(Duration.ofMillis(Math.max(0, maxOutputAgeMs - intervalMs)));
 
-        // Check if all required dependencies are available
-        boolean hasUsdTryDependencies = rawRateNames.contains("PF1_USDTRY") && rawRateNames.contains("PF2_USDTRY");
-        boolean hasEurUsdDependencies = rawRateNames.contains("PF1_EURUSD") && rawRateNames.contains("PF2_EURUSD");
-        boolean hasGbpUsdDependencies = rawRateNames.contains("PF1_GBPUSD") && rawRateNames.contains("PF2_GBPUSD");
+        // Plan (bağımlılık) sırasıyla; üst seviyeler girdilerinin yeni sürümlerini aynı turda görür
+        for (int i = 0; i < derivedRatePlan.size(); i++) {
+            String rateName = derivedRatePlan.rateAt(i);
+            String[] inputs = derivedRatePlan.inputsOf(rateName);
+            Rate output = coordinator.getRate(rateName);
 
-        // Calculate USD/TRY
-        if (hasUsdTryDependencies) {
-            boolean success = coordinator.calculateRate("USDTRY");
-            logger.info("USDTRY calculation " + (success ? "successful" : "failed"));
+            if (inputsChanged(inputs, output)) {
+                inputsChangedCounter.increment();
+                logger.debug("{} inputs changed since last calculation, requesting recalculation", rateName);
+                coordinator.requestRecalculation(rateName);
+            } else if (output != null && output.getTimestamp() != null
+                    && output.getTimestamp().isBefore(refreshBefore)) {
+                staleCounter.increment();
+                logger.debug("{} is about to go stale, requesting recalculation", rateName);
+                coordinator.requestRecalculation(rateName);
+            } else {
+                upToDateCounter.increment();
+            }
         }
+    }
 
-        // Calculate EUR/TRY
-        if (hasUsdTryDependencies && hasEurUsdDependencies) {
-            boolean success = coordinator.calculateRate("EURTRY");
-            logger.info("EURTRY calculation " + (success ? "successful" : "failed"));
-        }
+    /**
+     * Girdilerden biri, çıktının hesaplandığı sürümden daha yeniyse true döner.
+     * Girdilerden biri henüz yoksa hesaplama yapılamayacağı için false döner.
+     */
+    private boolean inputsChanged(String[] inputs, Rate output) {
+        Map<String, Long> builtFrom = output != null ? output.getInputVersions() : null;
+        boolean changed = output == null;
 
-        // Calculate GBP/TRY
-        if (hasUsdTryDependencies && hasGbpUsdDependencies) {
-            boolean success = coordinator.calculateRate("GBPTRY");
-            logger.info("GBPTRY calculation " + (success ? "successful" : "failed"));
+        for (String input : inputs) {
+            Rate inputRate = coordinator.getRate(input);
+            if (inputRate == null) {
+                return false;
+            }
+            if (!changed) {
+                Long version = builtFrom != null ? builtFrom.get(input) : null;
+                changed = version == null || inputRate.getVersion() > version;
+            }
         }
+        return changed;
     }
-}
\ No newline at end of file
+}
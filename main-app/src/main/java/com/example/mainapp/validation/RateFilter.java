@@ -0,0 +1,34 @@
+package com.example.mainapp.validation;
+
+/**
+ * Tek bir kur doğrulama adımı için arayüz.
+ * <p>
+ * Her sembolün kendi filtre örneği vardır; filtreler durumlarını yalnızca ilkel alanlarda tutar
+ * ve tick başına nesne oluşturmaz.
+ */
+public interface RateFilter {
+
+    /**
+     * Filtre adı (metrik etiketi olarak kullanılır)
+     * @return Filtre adı
+     */
+    String getName();
+
+    /**
+     * Yeni tick'i doğrular
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestampMillis Tick zaman damgası (epoch milisaniye)
+     * @param nowMillis Şu anki zaman (epoch milisaniye)
+     * @return Tick kabul edilebilir ise true
+     */
+    boolean test(double bid, double ask, long timestampMillis, long nowMillis);
+
+    /**
+     * Zincirdeki tüm filtrelerden geçen tick ile durumu günceller
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestampMillis Tick zaman damgası (epoch milisaniye)
+     */
+    void onAccepted(double bid, double ask, long timestampMillis);
+}
@@ -0,0 +1,77 @@
+package com.example.mainapp.validation;
+
+/**
+ * Bir sembol için sıralı filtre zinciri.
+ * <p>
+ * İlk reddeden filtrede durur ve o filtrenin red sayacını artırır; tick kabul edilirse
+ * tüm filtrelerin durumu güncellenir. Zincir tek bir yazar thread'i (koordinatör) tarafından
+ * kullanılmak üzere tasarlanmıştır, sayaçlar herhangi bir thread'den okunabilir.
+ */
+public final class RateValidationChain {
+
+    /** Tick tüm filtrelerden geçtiğinde {@link #validate} tarafından döndürülen değer */
+    public static final int ACCEPTED = -1;
+
+    private final String symbol;
+    private final RateFilter[] filters;
+    private final long[] rejected;
+    private volatile long acceptedCount;
+
+    /**
+     * Constructor
+     * @param symbol Sembol adı
+     * @param filters Sırayla uygulanacak filtreler
+     */
+    public RateValidationChain(String symbol, RateFilter[] filters) {
+        this.symbol = symbol;
+        this.filters = filters;
+        this.rejected = new long[filters.length];
+    }
+
+    /**
+     * Tick'i zincirden geçirir
+     * @param bid Alış fiyatı
+     * @param ask Satış fiyatı
+     * @param timestampMillis Tick zaman damgası (epoch milisaniye)
+     * @param nowMillis Şu anki zaman (epoch milisaniye)
+     * @return Kabul edildiyse {@link #ACCEPTED}, aksi halde reddeden filtrenin sırası
+     */
+    public int validate(double bid, double ask, long timestampMillis, long nowMillis) {
+        for (int i = 0; i < filters.length; i++) {
+            if (!filters[i].test(bid, ask, timestampMillis, nowMillis)) {
+                rejected[i]++;
+                return i;
+            }
+        }
+
+        for (RateFilter filter : filters) {
+            filter.onAccepted(bid, ask, timestampMillis);
+        }
+        acceptedCount++;
+        return ACCEPTED;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getFilterCount() {
+        return filters.length;
+    }
+
+    public String getFilterName(int index) {
+        return filters[index].getName();
+    }
+
+    /**
+     * @param index Filtre sırası
+     * @return Filtrenin reddettiği tick sayısı
+     */
+    public long getRejectedCount(int index) {
+        return rejected[index];
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+}
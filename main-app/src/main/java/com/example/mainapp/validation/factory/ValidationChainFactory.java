@@ -0,0 +1,122 @@
+package com.example.mainapp.validation.factory;
+
+import com.example.mainapp.validation.RateFilter;
+import com.example.mainapp.validation.RateValidationChain;
+import com.example.mainapp.validation.impl.CrossedMarketFilter;
+import com.example.mainapp.validation.impl.EwmaZScoreFilter;
+import com.example.mainapp.validation.impl.MaxTickAgeFilter;
+import com.example.mainapp.validation.impl.PercentageBandFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory for per-symbol validation chains.
+ * <p>
+ * Rules are read from the environment, first {@code validation.rules.<SYMBOL>} and then
+ * {@code validation.rules.default}, as a comma separated list of filters with colon separated
+ * parameters, for example {@code crossed,percentage:0.01,zscore:0.05:6:20,maxAge:60000}.
+ */
+@Component
+public class ValidationChainFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationChainFactory.class);
+
+    private static final String RULES_PREFIX = "validation.rules.";
+    private static final String DEFAULT_RULES = "crossed,percentage:0.01";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ValidationChainFactory(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create a validation chain with fresh filter state for a symbol
+     * @param symbol Symbol name (platform-prefixed raw rate or derived rate)
+     * @return Validation chain
+     */
+    public RateValidationChain createChain(String symbol) {
+        String rules = environment.getProperty(RULES_PREFIX + symbol,
+                environment.getProperty(RULES_PREFIX + "default", DEFAULT_RULES));
+
+        List<RateFilter> filters = new ArrayList<>();
+        for (String rule : rules.split(",")) {
+            String trimmed = rule.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            RateFilter filter = createFilter(trimmed);
+            if (filter != null) {
+                filters.add(filter);
+            }
+        }
+
+        RateValidationChain chain = new RateValidationChain(symbol, filters.toArray(new RateFilter[0]));
+        registerMetrics(chain);
+
+        logger.info("Validation chain for {}: {}", symbol, rules);
+        return chain;
+    }
+
+    /**
+     * Create a single filter from its rule definition
+     * @param rule Rule definition (name[:param...])
+     * @return Filter or null if the rule is invalid
+     */
+    private RateFilter createFilter(String rule) {
+        String[] parts = rule.split(":");
+
+        try {
+            switch (parts[0]) {
+                case "percentage":
+                    return new PercentageBandFilter(doubleParam(parts, 1, 0.01));
+                case "zscore":
+                    return new EwmaZScoreFilter(doubleParam(parts, 1, 0.05),
+                            doubleParam(parts, 2, 6.0),
+                            (int) doubleParam(parts, 3, 20));
+                case "crossed":
+                    return new CrossedMarketFilter();
+                case "maxAge":
+                    return new MaxTickAgeFilter((long) doubleParam(parts, 1, 60000));
+                default:
+                    logger.error("Unknown validation filter: {}", rule);
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            logger.error("Invalid parameter in validation filter: {}", rule);
+            return null;
+        }
+    }
+
+    private static double doubleParam(String[] parts, int index, double defaultValue) {
+        return parts.length > index ? Double.parseDouble(parts[index].trim()) : defaultValue;
+    }
+
+    private void registerMetrics(RateValidationChain chain) {
+        FunctionCounter.builder("rate.validation.accepted", chain, RateValidationChain::getAcceptedCount)
+                .tag("rate", chain.getSymbol())
+                .description("Ticks accepted by the validation chain")
+                .register(meterRegistry);
+
+        for (int i = 0; i < chain.getFilterCount(); i++) {
+            int index = i;
+            FunctionCounter.builder("rate.validation.rejected", chain, c -> c.getRejectedCount(index))
+                    .tag("rate", chain.getSymbol())
+                    .tag("filter", chain.getFilterName(i))
+                    .description("Ticks rejected by a validation filter")
+                    .register(meterRegistry);
+        }
+    }
+}
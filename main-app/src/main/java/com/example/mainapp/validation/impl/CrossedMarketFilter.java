@@ -0,0 +1,24 @@
+package com.example.mainapp.validation.impl;
+
+import com.example.mainapp.validation.RateFilter;
+
+/**
+ * Çapraz piyasa kontrolü: alış fiyatı satış fiyatına eşit ya da büyükse tick reddedilir.
+ */
+public class CrossedMarketFilter implements RateFilter {
+
+    @Override
+    public String getName() {
+        return "crossed";
+    }
+
+    @Override
+    public boolean test(double bid, double ask, long timestampMillis, long nowMillis) {
+        return bid > 0 && bid < ask;
+    }
+
+    @Override
+    public void onAccepted(double bid, double ask, long timestampMillis) {
+        // Durumsuz filtre
+    }
+}
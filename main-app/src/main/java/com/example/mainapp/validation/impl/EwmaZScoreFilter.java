@@ -0,0 +1,64 @@
+package com.example.mainapp.validation.impl;
+
+import com.example.mainapp.validation.RateFilter;
+
+/**
+ * Orta fiyat getirileri üzerinde EWMA ortalama/varyans ile z-skor bandı.
+ * <p>
+ * Her kabul edilen tick'te orta fiyatın son kabul edilen orta fiyata göre getirisi hesaplanır ve
+ * üssel ağırlıklı ortalama ile varyans güncellenir. Isınma süresi dolduktan sonra z-skoru
+ * eşiği aşan tick'ler reddedilir.
+ */
+public class EwmaZScoreFilter implements RateFilter {
+
+    private final double alpha;
+    private final double maxZScore;
+    private final int warmupTicks;
+
+    private double lastMid;
+    private double mean;
+    private double variance;
+    private int samples;
+
+    /**
+     * Constructor
+     * @param alpha EWMA ağırlığı (0-1 arası, ör. 0.05)
+     * @param maxZScore İzin verilen en büyük z-skoru (ör. 6)
+     * @param warmupTicks Kontrol başlamadan önce gereken örnek sayısı
+     */
+    public EwmaZScoreFilter(double alpha, double maxZScore, int warmupTicks) {
+        this.alpha = alpha;
+        this.maxZScore = maxZScore;
+        this.warmupTicks = warmupTicks;
+    }
+
+    @Override
+    public String getName() {
+        return "zscore";
+    }
+
+    @Override
+    public boolean test(double bid, double ask, long timestampMillis, long nowMillis) {
+        if (lastMid == 0 || samples < warmupTicks || variance <= 0) {
+            return true;
+        }
+
+        double mid = (bid + ask) * 0.5;
+        double ret = (mid - lastMid) / lastMid;
+        double deviation = Math.abs(ret - mean);
+        return deviation <= maxZScore * Math.sqrt(variance);
+    }
+
+    @Override
+    public void onAccepted(double bid, double ask, long timestampMillis) {
+        double mid = (bid + ask) * 0.5;
+        if (lastMid != 0) {
+            double ret = (mid - lastMid) / lastMid;
+            double diff = ret - mean;
+            mean += alpha * diff;
+            variance = (1 - alpha) * (variance + alpha * diff * diff);
+            samples++;
+        }
+        lastMid = mid;
+    }
+}
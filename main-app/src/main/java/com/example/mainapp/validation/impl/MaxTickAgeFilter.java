@@ -0,0 +1,37 @@
+package com.example.mainapp.validation.impl;
+
+import com.example.mainapp.validation.RateFilter;
+
+/**
+ * Tick yaşı kontrolü: zaman damgası verilen süreden eski olan ya da son kabul edilen
+ * tick'ten daha eski olan (sırası bozulmuş) tick'ler reddedilir.
+ */
+public class MaxTickAgeFilter implements RateFilter {
+
+    private final long maxAgeMillis;
+
+    private long lastTimestampMillis = Long.MIN_VALUE;
+
+    /**
+     * Constructor
+     * @param maxAgeMillis İzin verilen en büyük tick yaşı (milisaniye)
+     */
+    public MaxTickAgeFilter(long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @Override
+    public String getName() {
+        return "maxAge";
+    }
+
+    @Override
+    public boolean test(double bid, double ask, long timestampMillis, long nowMillis) {
+        return nowMillis - timestampMillis <= maxAgeMillis && timestampMillis >= lastTimestampMillis;
+    }
+
+    @Override
+    public void onAccepted(double bid, double ask, long timestampMillis) {
+        lastTimestampMillis = timestampMillis;
+    }
+}
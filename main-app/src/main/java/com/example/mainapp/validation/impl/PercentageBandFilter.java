@@ -0,0 +1,46 @@
+package com.example.mainapp.validation.impl;
+
+import com.example.mainapp.validation.RateFilter;
+
+/**
+ * Son kabul edilen değere göre yüzde bant kontrolü.
+ * Alış ya da satış fiyatı son kabul edilen değerden eşikten fazla saparsa tick reddedilir.
+ */
+public class PercentageBandFilter implements RateFilter {
+
+    private final double threshold;
+
+    private double lastBid;
+    private double lastAsk;
+
+    /**
+     * Constructor
+     * @param threshold İzin verilen en büyük oransal değişim (ör. 0.01 = %1)
+     */
+    public PercentageBandFilter(double threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String getName() {
+        return "percentage";
+    }
+
+    @Override
+    public boolean test(double bid, double ask, long timestampMillis, long nowMillis) {
+        // İlk veri ya da sıfır referans: kontrol yapılamaz
+        if (lastBid == 0 || lastAsk == 0) {
+            return true;
+        }
+
+        double bidDiff = Math.abs((bid - lastBid) / lastBid);
+        double askDiff = Math.abs((ask - lastAsk) / lastAsk);
+        return bidDiff <= threshold && askDiff <= threshold;
+    }
+
+    @Override
+    public void onAccepted(double bid, double ask, long timestampMillis) {
+        lastBid = bid;
+        lastAsk = ask;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.mainapp.collector.health;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    // Four buckets of 10 ms, so that a 150 ms deadline takes several revolutions
+    private final HashedTimingWheel wheel = new HashedTimingWheel(10, 4);
+
+    @AfterEach
+    void tearDown() {
+        wheel.shutdown();
+    }
+
+    @Test
+    void expiresTimeoutOnlyAfterItsDeadline() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        RecordingTimeout timeout = new RecordingTimeout();
+
+        wheel.schedule(timeout, deadline);
+
+        assertTrue(timeout.expired.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.expiredAt >= deadline);
+        assertEquals(1, timeout.count.get());
+    }
+
+    @Test
+    void waitsWholeRevolutionsForDistantDeadlines() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(150);
+        RecordingTimeout timeout = new RecordingTimeout();
+
+        wheel.schedule(timeout, deadline);
+
+        assertTrue(timeout.expired.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.expiredAt >= deadline);
+    }
+
+    @Test
+    void expiresPastDeadlineOnTheNextTick() throws InterruptedException {
+        RecordingTimeout timeout = new RecordingTimeout();
+
+        wheel.schedule(timeout, System.nanoTime() - TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(timeout.expired.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void dropsCancelledTimeout() throws InterruptedException {
+        RecordingTimeout cancelled = new RecordingTimeout();
+        RecordingTimeout kept = new RecordingTimeout();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30);
+
+        wheel.schedule(cancelled, deadline);
+        wheel.schedule(kept, deadline);
+        cancelled.cancel();
+
+        assertTrue(kept.expired.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertTrue(cancelled.isCancelled());
+        assertEquals(0, cancelled.count.get());
+    }
+
+    @Test
+    void letsExpiredTimeoutScheduleItselfAgain() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(3);
+        HashedTimingWheel.Timeout timeout = new HashedTimingWheel.Timeout() {
+            @Override
+            protected void expire(long nowNanos) {
+                done.countDown();
+                if (done.getCount() > 0) {
+                    wheel.schedule(this, nowNanos + TimeUnit.MILLISECONDS.toNanos(20));
+                }
+            }
+        };
+
+        wheel.schedule(timeout, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keepsExpiringAfterATimeoutThrows() throws InterruptedException {
+        HashedTimingWheel.Timeout failing = new HashedTimingWheel.Timeout() {
+            @Override
+            protected void expire(long nowNanos) {
+                throw new IllegalStateException("Timeout failure");
+            }
+        };
+        RecordingTimeout later = new RecordingTimeout();
+
+        wheel.schedule(failing, System.nanoTime());
+        wheel.schedule(later, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertTrue(later.expired.await(5, TimeUnit.SECONDS));
+    }
+
+    private static final class RecordingTimeout extends HashedTimingWheel.Timeout {
+
+        private final CountDownLatch expired = new CountDownLatch(1);
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long expiredAt;
+
+        @Override
+        protected void expire(long nowNanos) {
+            expiredAt = nowNanos;
+            count.incrementAndGet();
+            expired.countDown();
+        }
+    }
+}
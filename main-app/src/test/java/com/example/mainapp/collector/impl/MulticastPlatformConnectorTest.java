@@ -0,0 +1,448 @@
+package com.example.mainapp.collector.impl;
+
+import com.example.mainapp.collector.nio.NioEventLoopGroup;
+import com.example.mainapp.collector.protocol.MulticastTickDecoder;
+import com.example.mainapp.coordinator.CoordinatorCallBack;
+import com.example.mainapp.model.Rate;
+import com.example.mainapp.model.RateFields;
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the connector against a publisher on the loopback interface that can drop datagrams, and a snapshot
+ * server the test can hold back so that datagrams published meanwhile are buffered
+ */
+class MulticastPlatformConnectorTest {
+
+    private static final String PLATFORM = "PF3";
+    private static final String GROUP = "239.255.42.99";
+    private static final String INTERFACE = "lo";
+    private static final long TIMEOUT_MS = 5000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> delivered = new ArrayList<>();
+
+    private NioEventLoopGroup eventLoopGroup;
+    private Publisher publisher;
+    private SnapshotServer snapshotServer;
+    private MulticastPlatformConnector connector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port;
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        publisher = new Publisher(port);
+        assumeTrue(publisher.loopsBack(), "Multicast on the loopback interface is not available");
+
+        snapshotServer = new SnapshotServer(publisher);
+        Properties config = new Properties();
+        config.setProperty("multicast.group", GROUP);
+        config.setProperty("multicast.port", String.valueOf(port));
+        config.setProperty("multicast.interface", INTERFACE);
+        config.setProperty("multicast.snapshot.host", "127.0.0.1");
+        config.setProperty("multicast.snapshot.port", String.valueOf(snapshotServer.getPort()));
+        config.setProperty("multicast.snapshot.retryIntervalMs", "50");
+
+        eventLoopGroup = new NioEventLoopGroup(1);
+        connector = new MulticastPlatformConnector(PLATFORM, config, eventLoopGroup, registry);
+        connector.setCallback(new RecordingCallback());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connector != null) {
+            connector.stop();
+        }
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdown();
+        }
+        if (snapshotServer != null) {
+            snapshotServer.close();
+        }
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void deliversLastValuesFromSnapshotOnJoin() throws IOException {
+        publisher.publish("PF3_USDTRY", 34.10);
+        publisher.publish("PF3_EURUSD", 1.08);
+
+        connect("PF3_USDTRY", "PF3_EURUSD");
+
+        awaitDelivered("PF3_USDTRY=34.1", "PF3_EURUSD=1.08");
+        assertEquals(0.0, count("connector.multicast.gaps"));
+    }
+
+    @Test
+    void recoversLostDatagramFromSnapshotAndReplaysBufferedOnes() throws IOException {
+        publisher.publish("PF3_USDTRY", 1.0);
+        connect("PF3_USDTRY", "PF3_EURUSD");
+        awaitDelivered("PF3_USDTRY=1.0");
+        publisher.publish("PF3_USDTRY", 2.0);
+        awaitDelivered("PF3_USDTRY=1.0", "PF3_USDTRY=2.0");
+
+        snapshotServer.hold();
+        publisher.lose("PF3_EURUSD", 3.0);
+        publisher.publish("PF3_USDTRY", 4.0);
+        // The gap is detected; the snapshot is taken at sequence 4 and held back while 5 and 6 are buffered
+        awaitTrue(() -> snapshotServer.getHeld() == 1);
+        publisher.publish("PF3_EURUSD", 5.0);
+        publisher.publish("PF3_USDTRY", 6.0);
+        publisher.heartbeat();
+        sleep(100);
+        snapshotServer.release();
+
+        awaitDelivered("PF3_USDTRY=1.0", "PF3_USDTRY=2.0",
+                "PF3_USDTRY=4.0", "PF3_EURUSD=3.0", "PF3_EURUSD=5.0", "PF3_USDTRY=6.0");
+        assertEquals(1.0, count("connector.multicast.gaps"));
+        assertEquals(1.0, count("connector.multicast.missed"));
+        assertEquals(1, registry.get("connector.multicast.recovery.time").timer().count());
+    }
+
+    @Test
+    void requestsAnotherSnapshotWhenDatagramsAreLostDuringRecovery() throws IOException {
+        publisher.publish("PF3_USDTRY", 1.0);
+        connect("PF3_USDTRY");
+        awaitDelivered("PF3_USDTRY=1.0");
+
+        snapshotServer.hold();
+        publisher.lose("PF3_USDTRY", 2.0);
+        publisher.publish("PF3_USDTRY", 3.0);
+        awaitTrue(() -> snapshotServer.getHeld() == 1);
+        publisher.lose("PF3_USDTRY", 4.0);
+        publisher.publish("PF3_USDTRY", 5.0);
+        sleep(100);
+        snapshotServer.release();
+
+        // The first snapshot (sequence 3) leaves a hole before the buffered 5; the second one closes it
+        awaitDelivered("PF3_USDTRY=1.0", "PF3_USDTRY=3.0", "PF3_USDTRY=5.0");
+        assertEquals(2.0, count("connector.multicast.gaps"));
+        assertEquals(2.0, count("connector.multicast.missed"));
+        assertEquals(3, snapshotServer.getRequests());
+    }
+
+    @Test
+    void resynchronizesWhenThePublisherRestarts() throws IOException {
+        publisher.publish("PF3_USDTRY", 1.0);
+        publisher.publish("PF3_USDTRY", 2.0);
+        connect("PF3_USDTRY");
+        awaitDelivered("PF3_USDTRY=2.0");
+
+        // The new publisher numbers from 1 again; its ticks must not be dropped as old datagrams
+        publisher.restart();
+        publisher.heartbeat();
+        awaitTrue(() -> snapshotServer.getRequests() == 2);
+        publisher.publish("PF3_USDTRY", 10.0);
+        publisher.publish("PF3_USDTRY", 11.0);
+
+        awaitDelivered("PF3_USDTRY=2.0", "PF3_USDTRY=10.0", "PF3_USDTRY=11.0");
+        assertEquals(0.0, count("connector.multicast.gaps"));
+    }
+
+    private void connect(String... rateNames) {
+        connector.start();
+        for (String rateName : rateNames) {
+            assertTrue(connector.subscribe(PLATFORM, rateName));
+        }
+    }
+
+    private double count(String meterName) {
+        return registry.get(meterName).counter().count();
+    }
+
+    private void awaitDelivered(String... expected) {
+        awaitTrue(() -> {
+            synchronized (delivered) {
+                return delivered.size() >= expected.length;
+            }
+        });
+        synchronized (delivered) {
+            assertEquals(List.of(expected), delivered);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the bid of every delivered tick as "rate=bid"
+     */
+    private final class RecordingCallback implements CoordinatorCallBack {
+
+        @Override
+        public void onRateBatch(String platformName, TickBatch batch) {
+            synchronized (delivered) {
+                for (int i = 0; i < batch.size(); i++) {
+                    delivered.add(batch.getRateName(i) + "=" + batch.getBid(i));
+                }
+            }
+        }
+
+        @Override
+        public void onConnect(String platformName, boolean status) {
+        }
+
+        @Override
+        public void onDisConnect(String platformName, boolean status) {
+        }
+
+        @Override
+        public void onRateAvailable(String platformName, String rateName, Rate rate) {
+        }
+
+        @Override
+        public void onRateUpdate(String platformName, String rateName, RateFields rateFields) {
+        }
+
+        @Override
+        public void onRateStatus(String platformName, String rateName, RateStatus rateStatus) {
+        }
+    }
+
+    /**
+     * Sequenced publisher of the simulator's datagram format, keeping the last value of each rate for snapshots
+     */
+    private static final class Publisher {
+
+        private final InetSocketAddress target;
+        private final DatagramChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(256);
+        private final Map<String, Tick> latest = new LinkedHashMap<>();
+        private long session = 1000;
+        private long sequence;
+        private long epochNanos = TickBatch.toEpochNanos(LocalDateTime.parse("2024-03-01T12:00"));
+
+        Publisher(int port) throws IOException {
+            NetworkInterface networkInterface = NetworkInterface.getByName(INTERFACE);
+            this.target = new InetSocketAddress(InetAddress.getByName(GROUP), port);
+            this.channel = DatagramChannel.open(StandardProtocolFamily.INET);
+            if (networkInterface != null) {
+                channel.setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
+            }
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        }
+
+        /**
+         * Sends a probe datagram to a group member of its own on the loopback interface
+         */
+        boolean loopsBack() {
+            try (DatagramChannel receiver = DatagramChannel.open(StandardProtocolFamily.INET)) {
+                NetworkInterface networkInterface = NetworkInterface.getByName(INTERFACE);
+                if (networkInterface == null) {
+                    return false;
+                }
+                receiver.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+                receiver.bind(new InetSocketAddress(target.getPort()));
+                receiver.join(target.getAddress(), networkInterface);
+                receiver.configureBlocking(false);
+
+                channel.send(ByteBuffer.wrap(new byte[]{0}), target);
+                ByteBuffer probe = ByteBuffer.allocate(16);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                while (System.nanoTime() < deadline) {
+                    if (receiver.receive(probe) != null) {
+                        return true;
+                    }
+                    sleep(5);
+                }
+                return false;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        synchronized void publish(String symbol, double bid) throws IOException {
+            send(next(symbol, bid));
+        }
+
+        /**
+         * Takes the next sequence number without sending it, as if the datagram were lost on the way
+         */
+        synchronized void lose(String symbol, double bid) {
+            next(symbol, bid);
+        }
+
+        synchronized void heartbeat() throws IOException {
+            buffer.clear();
+            buffer.put(MulticastTickDecoder.VERSION).put(MulticastTickDecoder.TYPE_HEARTBEAT)
+                    .putLong(session).putLong(sequence);
+            buffer.flip();
+            channel.send(buffer, target);
+        }
+
+        /**
+         * Starts a new session numbering from 1, with the last values of the old one forgotten
+         */
+        synchronized void restart() {
+            session++;
+            sequence = 0;
+            latest.clear();
+        }
+
+        /**
+         * @return SNAPSHOT header and one TCP tick line per rate
+         */
+        synchronized List<String> snapshot() {
+            List<String> lines = new ArrayList<>();
+            lines.add("SNAPSHOT|" + sequence + "|" + latest.size() + "|" + session);
+            latest.forEach((symbol, tick) -> lines.add(symbol + "|22:number:" + tick.bid() + "|25:number:" + tick.ask()
+                    + "|5:timestamp:" + TickBatch.toLocalDateTime(tick.epochNanos())));
+            return lines;
+        }
+
+        private ByteBuffer next(String symbol, double bid) {
+            sequence++;
+            // Later timestamps, so that no tick is dropped as older than the last one
+            epochNanos += TimeUnit.MILLISECONDS.toNanos(1);
+            double ask = bid + 0.01;
+            latest.put(symbol, new Tick(bid, ask, epochNanos));
+
+            byte[] name = symbol.getBytes(StandardCharsets.US_ASCII);
+            buffer.clear();
+            buffer.put(MulticastTickDecoder.VERSION).put(MulticastTickDecoder.TYPE_TICK)
+                    .putLong(session).putLong(sequence)
+                    .putLong(epochNanos).putDouble(bid).putDouble(ask)
+                    .put((byte) name.length).put(name);
+            buffer.flip();
+            return buffer;
+        }
+
+        private void send(ByteBuffer datagram) throws IOException {
+            channel.send(datagram, target);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+
+        private record Tick(double bid, double ask, long epochNanos) {
+        }
+    }
+
+    /**
+     * Answers snapshot requests with the publisher's state at the time of the request; a held request is
+     * answered only after {@link #release()}
+     */
+    private static final class SnapshotServer implements Runnable {
+
+        private final Publisher publisher;
+        private final ServerSocket serverSocket;
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger held = new AtomicInteger();
+
+        SnapshotServer(Publisher publisher) throws IOException {
+            this.publisher = publisher;
+            this.serverSocket = new ServerSocket(0, 8, InetAddress.getLoopbackAddress());
+            Thread thread = new Thread(this, "SnapshotServer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getRequests() {
+            return requests.get();
+        }
+
+        int getHeld() {
+            return held.get();
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void run() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    if (!"snapshot".equals(in.readLine())) {
+                        continue;
+                    }
+                    requests.incrementAndGet();
+                    List<String> lines = publisher.snapshot();
+                    CountDownLatch requestGate = gate;
+                    if (requestGate.getCount() > 0) {
+                        held.incrementAndGet();
+                        requestGate.await();
+                    }
+
+                    OutputStream out = socket.getOutputStream();
+                    for (String line : lines) {
+                        out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+                    }
+                    out.flush();
+                    in.readLine();
+                } catch (IOException e) {
+                    // Closed by the test or the connector
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
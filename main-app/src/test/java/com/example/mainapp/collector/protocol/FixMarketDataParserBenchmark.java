@@ -0,0 +1,150 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.RateFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import quickfix.ConfigError;
+import quickfix.DataDictionary;
+import quickfix.FieldNotFound;
+import quickfix.InvalidMessage;
+import quickfix.field.MDEntryDate;
+import quickfix.field.MDEntryPx;
+import quickfix.field.MDEntryTime;
+import quickfix.field.MDEntryType;
+import quickfix.field.MDReqID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.SenderCompID;
+import quickfix.field.SendingTime;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.fix44.MarketDataSnapshotFullRefresh;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per MarketDataSnapshotFullRefresh of reading bid and offer through QuickFIX/J's typed repeating
+ * groups (group copies, field objects, {@link java.time.LocalDate}/{@link java.time.LocalTime}) against
+ * {@link FixMarketDataParser} on the raw message text.
+ * <p>
+ * Messages look like the FIX simulator's output and are parsed by QuickFIX/J with the FIX 4.4 dictionary
+ * during setup, as the session does before {@code fromApp}; that parse is not measured. Not part of the
+ * unit test run, start it with {@link #main(String[])} from the test classpath after
+ * {@code mvn test-compile}; the main method adds the GC profiler to report bytes allocated per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixMarketDataParserBenchmark {
+
+    private static final int MESSAGES = 1024;
+    private static final int SYMBOLS = 64;
+
+    private MarketDataSnapshotFullRefresh[] messages;
+    private FixMarketDataParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ConfigError, InvalidMessage {
+        DataDictionary dictionary = new DataDictionary("FIX44.xml");
+        Random random = new Random(42);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 9, 30);
+        messages = new MarketDataSnapshotFullRefresh[MESSAGES];
+
+        for (int i = 0; i < MESSAGES; i++) {
+            double bid = 1 + random.nextDouble() * 40;
+            double ask = bid + random.nextDouble() / 100;
+            timestamp = timestamp.plusNanos(random.nextInt(5_000) * 1_000_000L);
+            String symbol = "PF3_SYM" + (i % SYMBOLS);
+
+            MarketDataSnapshotFullRefresh message = new MarketDataSnapshotFullRefresh();
+            message.getHeader().setField(new SenderCompID("PF3"));
+            message.getHeader().setField(new TargetCompID("CLIENT"));
+            message.getHeader().setField(new MsgSeqNum(i + 1));
+            message.getHeader().setField(new SendingTime(timestamp));
+            message.set(new Symbol(symbol));
+            message.set(new MDReqID(symbol));
+            message.addGroup(entry(MDEntryType.BID, bid, timestamp));
+            message.addGroup(entry(MDEntryType.OFFER, ask, timestamp));
+
+            // Parsed from text as the session does before fromApp, so the raw text stays in the message
+            MarketDataSnapshotFullRefresh received = new MarketDataSnapshotFullRefresh();
+            received.fromString(message.toString(), dictionary, true);
+            messages[i] = received;
+        }
+
+        parser = new FixMarketDataParser();
+    }
+
+    private static MarketDataSnapshotFullRefresh.NoMDEntries entry(char type, double price, LocalDateTime timestamp) {
+        MarketDataSnapshotFullRefresh.NoMDEntries entry = new MarketDataSnapshotFullRefresh.NoMDEntries();
+        entry.set(new MDEntryType(type));
+        entry.set(new MDEntryPx(price));
+        entry.set(new MDEntryDate(timestamp.toLocalDate()));
+        entry.set(new MDEntryTime(timestamp.toLocalTime()));
+        return entry;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void typedGroups(Blackhole blackhole) throws FieldNotFound {
+        MarketDataSnapshotFullRefresh.NoMDEntries entry = new MarketDataSnapshotFullRefresh.NoMDEntries();
+        for (MarketDataSnapshotFullRefresh message : messages) {
+            String rateName = message.getSymbol().getValue();
+            double bid = Double.NaN;
+            double ask = Double.NaN;
+            LocalDateTime timestamp = null;
+
+            int entries = message.getNoMDEntries().getValue();
+            for (int i = 1; i <= entries; i++) {
+                message.getGroup(i, entry);
+                char type = entry.getMDEntryType().getValue();
+                if (type == MDEntryType.BID) {
+                    bid = entry.getMDEntryPx().getValue();
+                    timestamp = LocalDateTime.of(entry.getMDEntryDate().getValue(), entry.getMDEntryTime().getValue());
+                } else if (type == MDEntryType.OFFER) {
+                    ask = entry.getMDEntryPx().getValue();
+                }
+            }
+            blackhole.consume(rateName);
+            blackhole.consume(new RateFields(bid, ask, timestamp));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void rawParser(Blackhole blackhole) {
+        for (MarketDataSnapshotFullRefresh message : messages) {
+            if (parser.parse(message.toRawString())) {
+                blackhole.consume(parser.getSymbol());
+                blackhole.consume(parser.getBid());
+                blackhole.consume(parser.getAsk());
+                blackhole.consume(parser.getEpochNanos());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FixMarketDataParserBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.TickBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixMarketDataParserTest {
+
+    private final FixMarketDataParser parser = new FixMarketDataParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "0.0", "1", "-1.5", "34.4012", "0.1", "0.3", "007.50", "0.000123", "-0.0001",
+            "00000000000000000000001.25", "123456789012345678", "9007199254740993", "12345678901234567890",
+            "1.2345678901234567890123", "98765432109876543210.123456789", "0.12345678901234567890123"
+    })
+    void parsesPricesLikeDoubleParseDouble(String price) {
+        assertTrue(parser.parse(snapshot("EURUSD", price, price, "20240301", "12:00:01")));
+
+        assertEquals(Double.parseDouble(price), parser.getBid(), price);
+        assertEquals(Double.parseDouble(price), parser.getAsk(), price);
+    }
+
+    @Test
+    void parsesRandomPricesLikeDoubleParseDouble() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // FIX prices have no exponent
+            String price = TcpTickParserTest.randomPrice(random).replaceFirst("e.*", "");
+            assertTrue(parser.parse(snapshot("EURUSD", price, "1", "20240301", "12:00:01")), price);
+            // Zero delta: the parser returns 0.0 for "-0.00" where Double.parseDouble returns -0.0
+            assertEquals(Double.parseDouble(price), parser.getBid(), 0.0, price);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1e3", "1.2E-3", "1.2.3", "", "-", "1,5", "+1"})
+    void rejectsMalformedPrices(String price) {
+        assertFalse(parser.parse(snapshot("EURUSD", price, "1", "20240301", "12:00:01")), price);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "20240229, 10:15:30.123, 2024-02-29T10:15:30.123",
+            "20240101, 00:00:00, 2024-01-01T00:00",
+            "19991231, 23:59:59, 1999-12-31T23:59:59",
+            "20230615, 08:30:05.000000001, 2023-06-15T08:30:05.000000001",
+            "21000301, 00:00:00.5, 2100-03-01T00:00:00.5"
+    })
+    void parsesEntryDateAndTimeLikeLocalDateTimeParse(String date, String time, String expected) {
+        assertTrue(parser.parse(snapshot("EURUSD", "1.0850", "1.0852", date, time)));
+
+        assertTrue(parser.hasTimestamp());
+        assertEquals(TickBatch.toEpochNanos(LocalDateTime.parse(expected)), parser.getEpochNanos());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "20230229, 00:00:00", "20241301, 00:00:00", "2024011, 00:00:00", "20240101, 24:00:00",
+            "20240101, 10:15", "20240101, 10:15:3", "20240101, 10:15:30.", "20240101, 10:15:30.1234567890"
+    })
+    void ignoresMalformedEntryDateAndTime(String date, String time) {
+        assertTrue(parser.parse(snapshot("EURUSD", "1.0850", "1.0852", date, time)));
+
+        assertFalse(parser.hasTimestamp(), date + " " + time);
+    }
+
+    @Test
+    void takesTimestampFromOfferWhenBidHasNone() {
+        String message = "8=FIX.4.4|35=W|55=EURUSD|268=2|269=0|270=1.0850|269=1|270=1.0852|272=20240301|273=12:00:01|";
+
+        assertTrue(parser.parse(message.replace('|', '\u0001')));
+        assertEquals(TickBatch.toEpochNanos(LocalDateTime.parse("2024-03-01T12:00:01")), parser.getEpochNanos());
+    }
+
+    @Test
+    void skipsEntriesOfOtherTypes() {
+        String message = "8=FIX.4.4|35=W|55=EURUSD|268=3|269=2|270=9.99|271=100|269=0|270=1.0850|269=1|270=1.0852|";
+
+        assertTrue(parser.parse(message.replace('|', '\u0001')));
+        assertEquals("EURUSD", parser.getSymbol());
+        assertEquals(1.0850, parser.getBid());
+        assertEquals(1.0852, parser.getAsk());
+        assertFalse(parser.hasTimestamp());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "8=FIX.4.4|35=W|55=EURUSD|268=1|269=0|270=1.0850|",
+            "8=FIX.4.4|35=W|268=2|269=0|270=1.0850|269=1|270=1.0852|",
+            "8=FIX.4.4|35=W|55=EURUSD|268=2|269=0|270=1.0850|269=1|x70=1.0852|",
+            "8=FIX.4.4|35=W|55=EURUSD|268=2|269=0|270=1.0850|269=1|2701.0852|"
+    })
+    void rejectsIncompleteOrMalformedMessages(String message) {
+        assertFalse(parser.parse(message.replace('|', '\u0001')), message);
+    }
+
+    private static String snapshot(String symbol, String bid, String offer, String date, String time) {
+        return ("8=FIX.4.4|9=0|35=W|55=" + symbol + "|268=2"
+                + "|269=0|270=" + bid + "|272=" + date + "|273=" + time
+                + "|269=1|270=" + offer + "|272=" + date + "|273=" + time + "|10=000|").replace('|', '\u0001');
+    }
+}
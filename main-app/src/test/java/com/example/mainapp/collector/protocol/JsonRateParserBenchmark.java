@@ -0,0 +1,122 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.Rate;
+import com.example.mainapp.model.TickBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per rate of decoding a bulk REST response into a generic {@link Map} and converting each entry
+ * (boxed numbers, {@link LocalDateTime#parse}, a {@link Rate}) against {@link JsonRateParser} writing into
+ * a reused {@link TickBatch}.
+ * <p>
+ * Bodies look like the REST simulator's bulk output, an object of rate name to rate. Not part of the unit
+ * test run, start it with {@link #main(String[])} from the test classpath after {@code mvn test-compile};
+ * the main method adds the GC profiler to report bytes allocated per rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRateParserBenchmark {
+
+    private static final int RESPONSES = 64;
+    private static final int RATES_PER_RESPONSE = 16;
+
+    private byte[][] bodies;
+    private ObjectMapper objectMapper;
+    private JsonRateParser parser;
+    private TickBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        Random random = new Random(42);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 9, 30);
+        bodies = new byte[RESPONSES][];
+
+        for (int i = 0; i < RESPONSES; i++) {
+            Map<String, Map<String, Object>> body = new LinkedHashMap<>();
+            for (int j = 0; j < RATES_PER_RESPONSE; j++) {
+                double bid = 1 + random.nextDouble() * 40;
+                double ask = bid + random.nextDouble() / 100;
+                timestamp = timestamp.plusNanos(random.nextInt(1_000_000_000));
+                String rateName = "PF2_SYM" + j;
+
+                Map<String, Object> rate = new LinkedHashMap<>();
+                rate.put("rateName", rateName);
+                rate.put("bid", bid);
+                rate.put("ask", ask);
+                rate.put("timestamp", timestamp.toString());
+                body.put(rateName, rate);
+            }
+            bodies[i] = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        }
+
+        parser = new JsonRateParser();
+        batch = new TickBatch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESPONSES * RATES_PER_RESPONSE)
+    @SuppressWarnings("unchecked")
+    public void genericMap(Blackhole blackhole) throws IOException {
+        for (byte[] body : bodies) {
+            Map<String, Object> rates = objectMapper.readValue(body, Map.class);
+            for (Map.Entry<String, Object> entry : rates.entrySet()) {
+                Map<String, Object> rateData = (Map<String, Object>) entry.getValue();
+                double bid = ((Number) rateData.get("bid")).doubleValue();
+                double ask = ((Number) rateData.get("ask")).doubleValue();
+                LocalDateTime timestamp = LocalDateTime.parse((String) rateData.get("timestamp"));
+                blackhole.consume(new Rate(entry.getKey(), "PF2", bid, ask, timestamp, false));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RESPONSES * RATES_PER_RESPONSE)
+    public void streamingParser(Blackhole blackhole) throws IOException {
+        for (byte[] body : bodies) {
+            parser.parse(body, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                blackhole.consume(batch.getRateName(i));
+                blackhole.consume(batch.getBid(i));
+                blackhole.consume(batch.getAsk(i));
+                blackhole.consume(batch.getTimestampNanos(i));
+            }
+            batch.clear();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonRateParserBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
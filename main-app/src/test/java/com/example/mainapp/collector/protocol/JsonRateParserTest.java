@@ -0,0 +1,123 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.TickBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonRateParserTest {
+
+    private static final String TIMESTAMP = "2024-02-29T10:15:30.123";
+
+    private final JsonRateParser parser = new JsonRateParser();
+    private final TickBatch batch = new TickBatch();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "0.0", "1", "-1.5", "34.4012", "0.1", "0.3", "0.000123", "-0.0001", "1.2e3", "1.2E-3",
+            "-4.5e+2", "1234.5678e-2", "5e22", "1E-7", "123456789012345678", "9007199254740993",
+            "12345678901234567890", "1.2345678901234567890123", "98765432109876543210.123456789",
+            "0.12345678901234567890123", "0.000000000000000000001234", "1e-30", "1.5E300", "-2.5e-310"
+    })
+    void parsesPricesLikeDoubleParseDouble(String price) throws IOException {
+        parser.parse(rate("PF2_USDTRY", price, price, TIMESTAMP), batch);
+
+        assertEquals(1, batch.size());
+        assertEquals(Double.parseDouble(price), batch.getBid(0), price);
+        assertEquals(Double.parseDouble(price), batch.getAsk(0), price);
+    }
+
+    @Test
+    void parsesRandomPricesLikeDoubleParseDouble() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // JSON numbers have no leading zeros
+            String price = TcpTickParserTest.randomPrice(random).replaceFirst("^(-?)0+(\\d)", "$1$2");
+            batch.clear();
+            parser.parse(rate("PF2_USDTRY", price, "1", TIMESTAMP), batch);
+
+            assertEquals(1, batch.size(), price);
+            // Zero delta: the parser returns 0.0 for "-0.00" where Double.parseDouble returns -0.0
+            assertEquals(Double.parseDouble(price), batch.getBid(0), 0.0, price);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15:30.123", "2024-01-01T00:00", "1999-12-31T23:59:59", "2023-06-15T08:30:05.000000001",
+            "2100-03-01T00:00:00.5", "1970-01-01T00:00", "1969-12-31T23:59:59.999999999"
+    })
+    void parsesTimestampsLikeLocalDateTimeParse(String timestamp) throws IOException {
+        parser.parse(rate("PF2_USDTRY", "1", "2", timestamp), batch);
+
+        assertEquals(LocalDateTime.parse(timestamp), batch.getTimestamp(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2023-02-29T00:00", "2024-01-01T24:00", "2024-01-01 10:15", "2024-01-01T10:15:30Z", "now"})
+    void replacesMalformedTimestampsWithTimeOfReceipt(String timestamp) throws IOException {
+        LocalDateTime before = LocalDateTime.now();
+        parser.parse(rate("PF2_USDTRY", "1", "2", timestamp), batch);
+
+        assertEquals(1, batch.size());
+        assertTrue(!batch.getTimestamp(0).isBefore(before.minusSeconds(1)), timestamp);
+    }
+
+    @Test
+    void parsesArraysAndObjectsKeyedByRateName() throws IOException {
+        parser.parse("[" + rate("PF2_USDTRY", "34.1", "34.2", TIMESTAMP) + ","
+                + rate("PF2_EURUSD", "1.08", "1.09", TIMESTAMP) + "]", batch);
+        parser.parse("{\"PF2_GBPUSD\":{\"bid\":1.27,\"ask\":1.28,\"timestamp\":\"" + TIMESTAMP + "\"}}", batch);
+        parser.parse("{\"source\":\"rest\",\"rateName\":\"PF2_USDJPY\",\"bid\":150.1,\"ask\":150.2}", batch);
+
+        assertEquals(4, batch.size());
+        assertEquals("PF2_USDTRY", batch.getRateName(0));
+        assertEquals("PF2_EURUSD", batch.getRateName(1));
+        assertEquals(1.09, batch.getAsk(1));
+        assertEquals("PF2_GBPUSD", batch.getRateName(2));
+        assertEquals(1.27, batch.getBid(2));
+        assertEquals("PF2_USDJPY", batch.getRateName(3));
+        assertEquals(0, parser.getSkipped());
+    }
+
+    @Test
+    void skipsAndCountsIncompleteRates() throws IOException {
+        parser.parse("[{\"rateName\":\"PF2_USDTRY\",\"bid\":1},"
+                + "{\"bid\":1,\"ask\":2},"
+                + "{\"rateName\":\"PF2_EURUSD\",\"bid\":\"1.08\",\"ask\":1.09},"
+                + "{\"rateName\":\"PF2_GBPUSD\",\"bid\":1.27,\"ask\":1.28,\"extra\":{\"nested\":[1,2]}}]", batch);
+
+        assertEquals(1, batch.size());
+        assertEquals("PF2_GBPUSD", batch.getRateName(0));
+        assertEquals(3, parser.getSkipped());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "42", "[1,2]", "{\"rateName\":\"PF2_USDTRY\",\"bid\":1", "{\"PF2_USDTRY\":{\"bid\":1,]}"})
+    void rejectsBodiesOfOtherShapes(String body) {
+        assertThrows(IOException.class, () -> parser.parse(body.getBytes(StandardCharsets.UTF_8), batch), body);
+    }
+
+    @Test
+    void resolvesRateNamesToCanonicalStrings() throws IOException {
+        parser.parse(rate("PF2_USDTRY", "1", "2", TIMESTAMP), batch);
+        parser.parse(rate("PF2_USDTRY", "3", "4", TIMESTAMP).getBytes(StandardCharsets.UTF_8), batch);
+
+        assertSame(batch.getRateName(0), batch.getRateName(1));
+    }
+
+    private static String rate(String rateName, String bid, String ask, String timestamp) {
+        return "{\"rateName\":\"" + rateName + "\",\"bid\":" + bid + ",\"ask\":" + ask
+                + ",\"timestamp\":\"" + timestamp + "\"}";
+    }
+}
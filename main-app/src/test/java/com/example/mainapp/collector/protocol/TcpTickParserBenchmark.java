@@ -0,0 +1,122 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.RateFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cost per TCP tick line of the regex path used by {@code TCPPlatformConnector}
+ * (String, regex, {@link Double#parseDouble}, {@link LocalDateTime#parse}) against {@link TcpTickParser}.
+ * <p>
+ * Lines look like the simulator's output: 64 symbols, full precision doubles and ISO timestamps.
+ * Not part of the unit test run, start it with {@link #main(String[])} from the test classpath
+ * after {@code mvn test-compile}; the main method adds the GC profiler to report bytes allocated per tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TcpTickParserBenchmark {
+
+    private static final int LINES = 1024;
+    private static final int SYMBOLS = 64;
+
+    private static final Pattern RATE_PATTERN = Pattern.compile("([^|]+)\\|22:number:([^|]+)\\|25:number:([^|]+)\\|5:timestamp:(.+)");
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private byte[] buffer;
+    private int[] lineStarts;
+    private int[] lineEnds;
+
+    private TcpTickParser parser;
+    private TcpTick tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        lineStarts = new int[LINES];
+        lineEnds = new int[LINES];
+        LocalDateTime timestamp = LocalDateTime.of(2024, 3, 1, 9, 30);
+
+        for (int i = 0; i < LINES; i++) {
+            double bid = 1 + random.nextDouble() * 40;
+            double ask = bid + random.nextDouble() / 100;
+            timestamp = timestamp.plusNanos(random.nextInt(5_000_000) * 1000L);
+
+            lineStarts[i] = text.length();
+            text.append("PF1_SYM").append(i % SYMBOLS)
+                    .append("|22:number:").append(bid)
+                    .append("|25:number:").append(ask)
+                    .append("|5:timestamp:").append(timestamp.format(TIMESTAMP_FORMATTER));
+            lineEnds[i] = text.length();
+            text.append('\n');
+        }
+
+        // Single-byte characters, so indices match the byte array
+        buffer = text.toString().getBytes(StandardCharsets.US_ASCII);
+        parser = new TcpTickParser();
+        tick = new TcpTick();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void regex(Blackhole blackhole) {
+        for (int i = 0; i < LINES; i++) {
+            String line = new String(buffer, lineStarts[i], lineEnds[i] - lineStarts[i], StandardCharsets.UTF_8);
+            Matcher matcher = RATE_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                String rateName = matcher.group(1);
+                double bid = Double.parseDouble(matcher.group(2));
+                double ask = Double.parseDouble(matcher.group(3));
+                LocalDateTime timestamp = LocalDateTime.parse(matcher.group(4), TIMESTAMP_FORMATTER);
+                blackhole.consume(rateName);
+                blackhole.consume(new RateFields(bid, ask, timestamp));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void byteParser(Blackhole blackhole) {
+        for (int i = 0; i < LINES; i++) {
+            if (parser.parse(buffer, lineStarts[i], lineEnds[i], tick)) {
+                blackhole.consume(tick.getSymbol());
+                blackhole.consume(tick.getBid());
+                blackhole.consume(tick.getAsk());
+                blackhole.consume(tick.getEpochNanos());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TcpTickParserBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
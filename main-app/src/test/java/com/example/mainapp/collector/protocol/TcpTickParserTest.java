@@ -0,0 +1,138 @@
+package com.example.mainapp.collector.protocol;
+
+import com.example.mainapp.model.TickBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TcpTickParserTest {
+
+    private static final String TIMESTAMP = "2024-02-29T10:15:30.123";
+
+    private final TcpTickParser parser = new TcpTickParser();
+    private final TcpTick tick = new TcpTick();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0", "0.0", "1", "-1.5", "34.4012", "0.1", "0.3", "007.50", "0.000123", "-0.0001",
+            "00000000000000000000001.25", "1.2e3", "1.2E-3", "-4.5e+2", "1234.5678e-2", "5e22", "1E-7",
+            "123456789012345678", "9007199254740993", "12345678901234567890", "1.2345678901234567890123",
+            "98765432109876543210.123456789", "0.12345678901234567890123"
+    })
+    void parsesPricesLikeDoubleParseDouble(String price) {
+        assertTrue(parse("PF1_USDTRY|22:number:" + price + "|25:number:" + price + "|5:timestamp:" + TIMESTAMP));
+
+        assertEquals(Double.parseDouble(price), tick.getBid(), price);
+        assertEquals(Double.parseDouble(price), tick.getAsk(), price);
+    }
+
+    @Test
+    void parsesRandomPricesLikeDoubleParseDouble() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            String price = randomPrice(random);
+            assertTrue(parse("PF1_USDTRY|22:number:" + price + "|25:number:1|5:timestamp:" + TIMESTAMP), price);
+            // Zero delta: the parser returns 0.0 for "-0.00" where Double.parseDouble returns -0.0
+            assertEquals(Double.parseDouble(price), tick.getBid(), 0.0, price);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15:30.123", "2024-01-01T00:00", "1999-12-31T23:59:59", "2023-06-15T08:30:05.000000001",
+            "2100-03-01T00:00:00.5", "1970-01-01T00:00", "1969-12-31T23:59:59.999999999", "2000-02-29T12:00:00.120"
+    })
+    void parsesTimestampsLikeLocalDateTimeParse(String timestamp) {
+        assertTrue(parse("PF1_USDTRY|22:number:1|25:number:2|5:timestamp:" + timestamp));
+
+        assertEquals(TickBatch.toEpochNanos(LocalDateTime.parse(timestamp)), tick.getEpochNanos(), timestamp);
+        assertEquals(LocalDateTime.parse(timestamp), tick.getTimestamp());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2023-02-29T00:00", "2024-13-01T00:00", "2024-00-10T00:00", "2024-04-31T00:00", "2024-01-01T24:00",
+            "2024-01-01T10:60", "2024-01-01T10:15:3", "2024-01-01T10:15:30.", "2024-01-01T10:15:30.1234567890",
+            "2024-01-01 10:15", "2024-01-01T10:15Z", "24-01-01T10:15"
+    })
+    void rejectsMalformedTimestamps(String timestamp) {
+        assertFalse(parse("PF1_USDTRY|22:number:1|25:number:2|5:timestamp:" + timestamp), timestamp);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "PF1_USDTRY|22:number:|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|22:number:1.2.3|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|22:number:1e|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|22:number:--1|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|22:number:1x|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|25:number:2|22:number:1|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY|22:number:1|25:number:2",
+            "|22:number:1|25:number:2|5:timestamp:2024-01-01T00:00",
+            "PF1_USDTRY"
+    })
+    void rejectsMalformedLines(String line) {
+        assertFalse(parse(line), line);
+    }
+
+    @Test
+    void resolvesSymbolsToCanonicalStrings() {
+        assertTrue(parse("PF1_USDTRY|22:number:1|25:number:2|5:timestamp:" + TIMESTAMP));
+        String first = tick.getSymbol();
+        assertTrue(parse("PF1_USDTRY|22:number:3|25:number:4|5:timestamp:" + TIMESTAMP));
+
+        assertEquals("PF1_USDTRY", first);
+        assertSame(first, tick.getSymbol());
+    }
+
+    @Test
+    void parsesLineInsideLargerBuffer() {
+        byte[] buffer = "xxPF1_EURUSD|22:number:1.0850|25:number:1.0852|5:timestamp:2024-03-01T12:00:01yy"
+                .getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(parser.parse(buffer, 2, buffer.length - 2, tick));
+        assertEquals("PF1_EURUSD", tick.getSymbol());
+        assertEquals(1.0850, tick.getBid());
+        assertEquals(1.0852, tick.getAsk());
+        assertEquals(LocalDateTime.parse("2024-03-01T12:00:01"), tick.getTimestamp());
+    }
+
+    private boolean parse(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        return parser.parse(bytes, 0, bytes.length, tick);
+    }
+
+    /**
+     * Random [-]digits[.digits][e[-]digits] with up to 25 digits, leading zeros included
+     */
+    static String randomPrice(Random random) {
+        StringBuilder price = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            price.append('-');
+        }
+        int integerDigits = 1 + random.nextInt(12);
+        for (int i = 0; i < integerDigits; i++) {
+            price.append((char) ('0' + random.nextInt(10)));
+        }
+        int fractionDigits = random.nextInt(14);
+        if (fractionDigits > 0) {
+            price.append('.');
+            for (int i = 0; i < fractionDigits; i++) {
+                price.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        if (random.nextInt(4) == 0) {
+            price.append('e').append(random.nextInt(15) - 7);
+        }
+        return price.toString();
+    }
+}
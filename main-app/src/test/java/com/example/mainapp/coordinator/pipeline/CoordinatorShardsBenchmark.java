@@ -0,0 +1,126 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import com.example.mainapp.model.RateFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the coordinator pipeline from 1 to 16 shards.
+ * <p>
+ * One connector publishes ticks for {@code SYMBOLS} symbols; every event costs
+ * {@code workTokens} of CPU on its shard (standing in for validation, caching and the Kafka send).
+ * Not part of the unit test run, start it with {@link #main(String[])} from the test classpath
+ * after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoordinatorShardsBenchmark {
+
+    private static final int SYMBOLS = 256;
+    private static final int BATCH = 4096;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int shards;
+
+    @Param({"500"})
+    public long workTokens;
+
+    private CoordinatorShards coordinatorShards;
+    private RingBufferCallBack callBack;
+    private CountingHandler[] handlers;
+    private String[] symbols;
+    private RateFields[] fields;
+    private long published;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handlers = new CountingHandler[shards];
+        for (int i = 0; i < shards; i++) {
+            handlers[i] = new CountingHandler(workTokens);
+        }
+        coordinatorShards = new CoordinatorShards("Benchmark", handlers, 8192, TimeUnit.MICROSECONDS.toNanos(100));
+        callBack = coordinatorShards.register("PF1");
+        coordinatorShards.start();
+
+        symbols = new String[SYMBOLS];
+        fields = new RateFields[SYMBOLS];
+        for (int i = 0; i < SYMBOLS; i++) {
+            symbols[i] = "PF1_SYM" + i;
+            fields[i] = new RateFields(1.0 + i, 1.1 + i, LocalDateTime.now());
+        }
+        published = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        coordinatorShards.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publishAndDrain() {
+        for (int i = 0; i < BATCH; i++) {
+            int symbol = i % SYMBOLS;
+            callBack.onRateUpdate("PF1", symbols[symbol], fields[symbol]);
+        }
+        published += BATCH;
+
+        while (processed() < published) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private long processed() {
+        long total = 0;
+        for (CountingHandler handler : handlers) {
+            total += handler.processed.get();
+        }
+        return total;
+    }
+
+    private static final class CountingHandler implements RateEventHandler {
+
+        private final long workTokens;
+        private final AtomicLong processed = new AtomicLong();
+
+        private CountingHandler(long workTokens) {
+            this.workTokens = workTokens;
+        }
+
+        @Override
+        public void onEvent(RateEvent event) {
+            Blackhole.consumeCPU(workTokens);
+            processed.lazySet(processed.get() + 1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CoordinatorShardsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
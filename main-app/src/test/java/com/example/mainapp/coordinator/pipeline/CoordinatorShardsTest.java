@@ -0,0 +1,162 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import com.example.mainapp.model.RateStatus;
+import com.example.mainapp.model.TickBatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinatorShardsTest {
+
+    private static final int SHARDS = 4;
+
+    @Test
+    void routesEverySymbolToOneShardInRange() {
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String symbol = "PF1_RATE" + i;
+            int shard = CoordinatorShards.shardOf(symbol, SHARDS);
+
+            assertTrue(shard >= 0 && shard < SHARDS, symbol);
+            assertEquals(shard, CoordinatorShards.shardOf(new String(symbol.toCharArray()), SHARDS));
+            used.add(shard);
+        }
+        assertEquals(SHARDS, used.size());
+        assertEquals(0, CoordinatorShards.shardOf("PF1_USDTRY", 1));
+    }
+
+    @Test
+    void splitsBatchIntoOneSlotPerShardKeepingTickOrder() {
+        RateEventRingBuffer[] rings = rings(SHARDS);
+        RingBufferCallBack callBack = new RingBufferCallBack(rings);
+        TickBatch batch = new TickBatch();
+        for (int i = 0; i < 100; i++) {
+            batch.add("PF1_RATE" + (i % 10), i, i + 1, i);
+        }
+
+        callBack.onRateBatch("PF1", batch);
+
+        int total = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<TickBatch> events = drainBatches(rings[shard]);
+            if (events.isEmpty()) {
+                continue;
+            }
+            assertEquals(1, events.size());
+            TickBatch part = events.get(0);
+            for (int i = 0; i < part.size(); i++) {
+                assertEquals(shard, CoordinatorShards.shardOf(part.getRateName(i), SHARDS));
+                if (i > 0) {
+                    assertTrue(part.getBid(i) > part.getBid(i - 1));
+                }
+            }
+            total += part.size();
+        }
+        assertEquals(batch.size(), total);
+    }
+
+    @Test
+    void sendsConnectionEventsToTheFirstShardAndStatusToTheSymbolsShard() {
+        RateEventRingBuffer[] rings = rings(SHARDS);
+        RingBufferCallBack callBack = new RingBufferCallBack(rings);
+        String rateName = symbolOnShard(SHARDS - 1);
+
+        callBack.onConnect("PF1", true);
+        callBack.onRateStatus("PF1", rateName, RateStatus.UNAVAILABLE);
+
+        List<RateEventType> first = new ArrayList<>();
+        rings[0].drain(event -> first.add(event.getType()), 16);
+        List<String> last = new ArrayList<>();
+        rings[SHARDS - 1].drain(event -> last.add(event.getType() + " " + event.getRateName()), 16);
+        assertEquals(List.of(RateEventType.CONNECT), first);
+        assertEquals(List.of("RATE_STATUS " + rateName), last);
+    }
+
+    @Test
+    void handlesEachSymbolOnItsOwnShardInOrder() throws InterruptedException {
+        Map<String, List<Double>> bidsBySymbol = new ConcurrentHashMap<>();
+        Map<String, Set<String>> threadsBySymbol = new ConcurrentHashMap<>();
+        RateEventHandler[] handlers = new RateEventHandler[SHARDS];
+        for (int shard = 0; shard < SHARDS; shard++) {
+            handlers[shard] = event -> {
+                TickBatch batch = event.getBatch();
+                for (int i = 0; i < batch.size(); i++) {
+                    bidsBySymbol.computeIfAbsent(batch.getRateName(i),
+                            key -> Collections.synchronizedList(new ArrayList<>())).add(batch.getBid(i));
+                    threadsBySymbol.computeIfAbsent(batch.getRateName(i), key -> ConcurrentHashMap.newKeySet())
+                            .add(Thread.currentThread().getName());
+                }
+            };
+        }
+        CoordinatorShards shards = new CoordinatorShards("Coordinator", handlers, 64, TimeUnit.MILLISECONDS.toNanos(1));
+        RingBufferCallBack callBack = shards.register("PF1");
+        shards.start();
+        try {
+            TickBatch batch = new TickBatch();
+            for (int round = 0; round < 500; round++) {
+                batch.clear();
+                for (int i = 0; i < 8; i++) {
+                    batch.add("PF1_RATE" + i, round, round, round);
+                }
+                callBack.onRateBatch("PF1", batch);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (shards.backlog() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        } finally {
+            shards.stop();
+        }
+
+        assertEquals(8, bidsBySymbol.size());
+        bidsBySymbol.forEach((symbol, bids) -> {
+            assertEquals(500, bids.size(), symbol);
+            for (int i = 0; i < bids.size(); i++) {
+                assertEquals(i, bids.get(i), symbol);
+            }
+            assertEquals(1, threadsBySymbol.get(symbol).size(), symbol);
+            assertEquals("Coordinator-" + CoordinatorShards.shardOf(symbol, SHARDS),
+                    threadsBySymbol.get(symbol).iterator().next(), symbol);
+        });
+    }
+
+    private static RateEventRingBuffer[] rings(int count) {
+        RateEventRingBuffer[] rings = new RateEventRingBuffer[count];
+        for (int i = 0; i < count; i++) {
+            rings[i] = new RateEventRingBuffer("PF1", 8);
+        }
+        return rings;
+    }
+
+    private static List<TickBatch> drainBatches(RateEventRingBuffer ring) {
+        List<TickBatch> batches = new ArrayList<>();
+        ring.drain(event -> {
+            // The slot's batch is cleared after the handler returns
+            TickBatch copy = new TickBatch();
+            for (int i = 0; i < event.getBatch().size(); i++) {
+                copy.add(event.getBatch(), i);
+            }
+            batches.add(copy);
+        }, 16);
+        return batches;
+    }
+
+    private static String symbolOnShard(int shard) {
+        for (int i = 0; ; i++) {
+            if (CoordinatorShards.shardOf("PF1_RATE" + i, SHARDS) == shard) {
+                return "PF1_RATE" + i;
+            }
+        }
+    }
+}
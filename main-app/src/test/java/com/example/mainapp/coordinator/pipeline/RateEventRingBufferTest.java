@@ -0,0 +1,186 @@
+package com.example.mainapp.coordinator.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateEventRingBufferTest {
+
+    private final List<String> handled = new ArrayList<>();
+    private final RateEventHandler recorder = event -> handled.add(event.getRateName() + "=" + event.getBid());
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 6, 100})
+    void rejectsSizesOtherThanPowersOfTwo(int size) {
+        assertThrows(IllegalArgumentException.class, () -> new RateEventRingBuffer("PF1", size));
+    }
+
+    @Test
+    void drainsPublishedEventsInOrderAndClearsTheirSlots() {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 8);
+        for (int i = 0; i < 3; i++) {
+            publishTick(ring, "PF1_USDTRY", i);
+        }
+        assertEquals(3, ring.backlog());
+
+        assertEquals(3, ring.drain(recorder, 16));
+
+        assertEquals(List.of("PF1_USDTRY=0.0", "PF1_USDTRY=1.0", "PF1_USDTRY=2.0"), handled);
+        assertEquals(0, ring.backlog());
+        assertNull(ring.get(0).getRateName());
+        assertEquals(0, ring.drain(recorder, 16));
+    }
+
+    @Test
+    void stopsAtTheFirstClaimedButUnpublishedSlot() {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 8);
+        long first = ring.next();
+        long second = ring.next();
+        ring.get(second).setTick(RateEventType.RATE_UPDATE, "PF1", "PF1_EURUSD", 2, 2, null);
+        ring.publish(second);
+
+        assertEquals(0, ring.drain(recorder, 16));
+
+        ring.get(first).setTick(RateEventType.RATE_UPDATE, "PF1", "PF1_USDTRY", 1, 1, null);
+        ring.publish(first);
+        assertEquals(2, ring.drain(recorder, 16));
+        assertEquals(List.of("PF1_USDTRY=1.0", "PF1_EURUSD=2.0"), handled);
+    }
+
+    @Test
+    void drainsAtMostMaxBatchEvents() {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 8);
+        for (int i = 0; i < 5; i++) {
+            publishTick(ring, "PF1_USDTRY", i);
+        }
+
+        assertEquals(2, ring.drain(recorder, 2));
+        assertEquals(3, ring.backlog());
+        assertEquals(3, ring.drain(recorder, 16));
+        assertEquals(5, handled.size());
+    }
+
+    @Test
+    void reusesSlotsOverManyLaps() {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 4);
+        for (int i = 0; i < 1000; i++) {
+            publishTick(ring, "PF1_USDTRY", i);
+            if (i % 3 == 2) {
+                ring.drain(recorder, 16);
+            }
+        }
+        ring.drain(recorder, 16);
+
+        assertEquals(1000, handled.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("PF1_USDTRY=" + (double) i, handled.get(i));
+        }
+    }
+
+    @Test
+    void handsOtherEventsOnWhenTheHandlerThrows() {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 4);
+        publishTick(ring, "PF1_USDTRY", 1);
+        publishTick(ring, "PF1_EURUSD", 2);
+
+        assertEquals(2, ring.drain(event -> {
+            if (event.getRateName().equals("PF1_USDTRY")) {
+                throw new IllegalStateException("Handler failure");
+            }
+            recorder.onEvent(event);
+        }, 16));
+        assertEquals(List.of("PF1_EURUSD=2.0"), handled);
+    }
+
+    @Test
+    void makesProducerWaitWhileTheRingIsFull() throws Exception {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 2);
+        publishTick(ring, "PF1_USDTRY", 1);
+        publishTick(ring, "PF1_USDTRY", 2);
+
+        CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(ring::next);
+        assertThrows(TimeoutException.class, () -> blocked.get(50, TimeUnit.MILLISECONDS));
+
+        assertEquals(1, ring.drain(recorder, 1));
+        assertEquals(2L, blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void releasesBlockedProducerWhenClosed() throws Exception {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 2);
+        publishTick(ring, "PF1_USDTRY", 1);
+        publishTick(ring, "PF1_USDTRY", 2);
+
+        CompletableFuture<Long> blocked = CompletableFuture.supplyAsync(ring::next);
+        assertThrows(TimeoutException.class, () -> blocked.get(50, TimeUnit.MILLISECONDS));
+        ring.close();
+
+        assertEquals(-1L, blocked.get(5, TimeUnit.SECONDS));
+        assertEquals(-1L, ring.next());
+    }
+
+    @Test
+    void keepsTheOrderOfEachProducerUnderContention() throws InterruptedException {
+        RateEventRingBuffer ring = new RateEventRingBuffer("PF1", 64);
+        int producers = 4;
+        int eventsPerProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            String rateName = "PF1_RATE" + p;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        publishTick(ring, rateName, i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        double[] lastBid = new double[producers];
+        Arrays.fill(lastBid, -1);
+        int[] received = new int[1];
+        boolean[] ordered = {true};
+        RateEventHandler checker = event -> {
+            int producer = event.getRateName().charAt(event.getRateName().length() - 1) - '0';
+            ordered[0] &= event.getBid() == lastBid[producer] + 1;
+            lastBid[producer] = event.getBid();
+            received[0]++;
+        };
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received[0] < producers * eventsPerProducer && System.nanoTime() < deadline) {
+            ring.drain(checker, 256);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(producers * eventsPerProducer, received[0]);
+        assertTrue(ordered[0]);
+        assertEquals(0, ring.backlog());
+        assertEquals(0, ring.drain(checker, 256));
+    }
+
+    private static void publishTick(RateEventRingBuffer ring, String rateName, double bid) {
+        long sequence = ring.next();
+        ring.get(sequence).setTick(RateEventType.RATE_UPDATE, "PF1", rateName, bid, bid, null);
+        ring.publish(sequence);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.mainapp.coordinator.plan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.mainapp.coordinator.plan.DerivedRatePlanTest.indices;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DerivedRateConflatorTest {
+
+    private final DerivedRatePlan plan = DerivedRatePlan.compile(DerivedRatePlanTest.crossRates());
+    private final List<int[]> stages = new ArrayList<>();
+    private final DerivedRateConflator.StageHandler recorder =
+            (indices, count) -> stages.add(Arrays.copyOf(indices, count));
+
+    @Test
+    void recalculatesRateMarkedSeveralTimesOnce() {
+        DerivedRateConflator conflator = new DerivedRateConflator(plan, 0);
+        int eurTry = plan.indexOf("EURTRY");
+
+        conflator.markDirty(eurTry);
+        conflator.markDirty(eurTry);
+        conflator.markDirty(eurTry);
+
+        assertEquals(1, conflator.flushIfDue(recorder));
+        assertEquals(1, stages.size());
+        assertArrayEquals(new int[]{eurTry}, stages.get(0));
+        assertEquals(3, conflator.getRequestedCount());
+        assertEquals(1, conflator.getPerformedCount());
+        assertEquals(2, conflator.getSavedCount());
+        assertEquals(1, conflator.getFlushCount());
+    }
+
+    @Test
+    void flushesDirtyRatesStageByStageInPlanOrder() {
+        DerivedRateConflator conflator = new DerivedRateConflator(plan, 0);
+        for (String rateName : List.of("EURGBP_SPREAD", "USDTRY", "EURGBP", "EURTRY")) {
+            conflator.markDirty(plan.indexOf(rateName));
+        }
+
+        assertEquals(4, conflator.flush(recorder));
+
+        assertEquals(3, stages.size());
+        assertArrayEquals(indices(plan, "EURTRY", "USDTRY"), stages.get(0));
+        assertArrayEquals(indices(plan, "EURGBP"), stages.get(1));
+        assertArrayEquals(indices(plan, "EURGBP_SPREAD"), stages.get(2));
+    }
+
+    @Test
+    void picksUpRatesMarkedByAStageInTheSameFlush() {
+        DerivedRateConflator conflator = new DerivedRateConflator(plan, 0);
+        // Each stage marks the direct dependents of its rates, as the coordinator does after recalculating them
+        DerivedRateConflator.StageHandler cascade = (indices, count) -> {
+            recorder.onStage(indices, count);
+            for (int i = 0; i < count; i++) {
+                for (int dependent : plan.dependentIndicesOf(plan.rateAt(indices[i]))) {
+                    conflator.markDirty(dependent);
+                }
+            }
+        };
+        for (int index : plan.dependentIndicesOf("PF1_GBPUSD")) {
+            conflator.markDirty(index);
+        }
+
+        assertEquals(3, conflator.flush(cascade));
+
+        assertEquals(3, stages.size());
+        assertArrayEquals(indices(plan, "GBPTRY"), stages.get(0));
+        assertArrayEquals(indices(plan, "EURGBP"), stages.get(1));
+        assertArrayEquals(indices(plan, "EURGBP_SPREAD"), stages.get(2));
+        assertEquals(0, conflator.flush(cascade));
+        assertEquals(1, conflator.getFlushCount());
+    }
+
+    @Test
+    void waitsForTheWindowBeforeFlushing() throws InterruptedException {
+        DerivedRateConflator conflator = new DerivedRateConflator(plan, TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(0, conflator.flushIfDue(recorder));
+        conflator.markDirty(plan.indexOf("USDTRY"));
+        assertEquals(0, conflator.flushIfDue(recorder));
+        assertTrue(stages.isEmpty());
+
+        Thread.sleep(60);
+        assertEquals(1, conflator.flushIfDue(recorder));
+        assertEquals(0, conflator.flushIfDue(recorder));
+        assertEquals(1, stages.size());
+    }
+
+    @Test
+    void keepsEveryRateOfALargePlanApart() {
+        // More rates than one bitmap word, in four levels
+        Map<String, List<String>> definitions = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            definitions.put("R" + i, i < 50 ? List.of("PF1_X" + i) : List.of("R" + (i - 50)));
+        }
+        DerivedRatePlan largePlan = DerivedRatePlan.compile(definitions);
+        DerivedRateConflator conflator = new DerivedRateConflator(largePlan, 0);
+        BitSet marked = new BitSet();
+        for (int i = 0; i < 200; i += 3) {
+            conflator.markDirty(i);
+            marked.set(i);
+        }
+
+        BitSet flushed = new BitSet();
+        List<Integer> levels = new ArrayList<>();
+        conflator.flush((indices, count) -> {
+            levels.add(largePlan.levelAt(indices[0]));
+            for (int i = 0; i < count; i++) {
+                assertEquals(largePlan.levelAt(indices[0]), largePlan.levelAt(indices[i]));
+                flushed.set(indices[i]);
+            }
+        });
+
+        assertEquals(marked, flushed);
+        assertEquals(List.of(1, 2, 3, 4), levels);
+    }
+
+    @Test
+    void losesNoMarkFromConcurrentThreads() throws InterruptedException {
+        DerivedRateConflator conflator = new DerivedRateConflator(plan, 0);
+        int threads = 4;
+        int marksPerThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < marksPerThread; i++) {
+                        conflator.markDirty(ThreadLocalRandom.current().nextInt(plan.size()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        BitSet flushed = new BitSet();
+        DerivedRateConflator.StageHandler collector = (indices, count) -> {
+            for (int i = 0; i < count; i++) {
+                flushed.set(indices[i]);
+            }
+        };
+        start.countDown();
+        while (done.getCount() > 0) {
+            conflator.flushIfDue(collector);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        conflator.flushIfDue(collector);
+
+        assertEquals(threads * marksPerThread, conflator.getRequestedCount());
+        assertEquals(plan.size(), flushed.cardinality());
+        assertEquals(0, conflator.flush(collector));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.mainapp.coordinator.plan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DerivedRatePlanTest {
+
+    /**
+     * USDTRY and the cross rates built on it; EURGBP and EURGBP_SPREAD are derived from derived rates
+     */
+    static Map<String, List<String>> crossRates() {
+        Map<String, List<String>> definitions = new LinkedHashMap<>();
+        definitions.put("EURGBP_SPREAD", List.of("EURGBP", "PF1_USDTRY"));
+        definitions.put("EURGBP", List.of("EURTRY", "GBPTRY"));
+        definitions.put("EURTRY", List.of("PF1_EURUSD", "PF1_USDTRY", "PF2_EURUSD"));
+        definitions.put("GBPTRY", List.of("PF1_GBPUSD", "PF1_USDTRY", "PF1_USDTRY"));
+        definitions.put("USDTRY", List.of("PF1_USDTRY", "PF2_USDTRY"));
+        return definitions;
+    }
+
+    @Test
+    void ordersDerivedRatesAfterTheirInputsByLevel() {
+        DerivedRatePlan plan = DerivedRatePlan.compile(crossRates());
+
+        assertEquals(List.of("EURTRY", "GBPTRY", "USDTRY", "EURGBP", "EURGBP_SPREAD"), plan.getTopologicalOrder());
+        assertEquals(1, plan.levelOf("EURTRY"));
+        assertEquals(1, plan.levelOf("USDTRY"));
+        assertEquals(2, plan.levelOf("EURGBP"));
+        assertEquals(3, plan.levelOf("EURGBP_SPREAD"));
+        assertEquals(0, plan.levelOf("PF1_USDTRY"));
+
+        for (int i = 0; i < plan.size(); i++) {
+            String rateName = plan.rateAt(i);
+            assertEquals(i, plan.indexOf(rateName));
+            assertEquals(plan.levelOf(rateName), plan.levelAt(i));
+            for (String input : plan.inputsOf(rateName)) {
+                if (plan.isDerived(input)) {
+                    assertTrue(plan.indexOf(input) < i, input + " before " + rateName);
+                }
+            }
+        }
+    }
+
+    @Test
+    void removesDuplicateInputs() {
+        DerivedRatePlan plan = DerivedRatePlan.compile(crossRates());
+
+        assertArrayEquals(new String[]{"PF1_GBPUSD", "PF1_USDTRY"}, plan.inputsOf("GBPTRY"));
+        assertNull(plan.inputsOf("PF1_USDTRY"));
+        assertFalse(plan.isDerived("PF1_USDTRY"));
+        assertEquals(-1, plan.indexOf("PF1_USDTRY"));
+    }
+
+    @Test
+    void groupsAffectedRatesIntoStagesByLevel() {
+        DerivedRatePlan plan = DerivedRatePlan.compile(crossRates());
+
+        assertEquals(List.of(List.of("EURTRY", "GBPTRY", "USDTRY"), List.of("EURGBP"), List.of("EURGBP_SPREAD")),
+                names(plan, plan.stagesFor("PF1_USDTRY")));
+        assertEquals(List.of(List.of("EURTRY"), List.of("EURGBP"), List.of("EURGBP_SPREAD")),
+                names(plan, plan.stagesFor("PF2_EURUSD")));
+        assertEquals(List.of(List.of("EURGBP_SPREAD")), names(plan, plan.stagesFor("EURGBP")));
+        assertTrue(plan.stagesFor("EURGBP_SPREAD").isEmpty());
+        assertTrue(plan.stagesFor("PF3_USDTRY").isEmpty());
+    }
+
+    @Test
+    void listsAffectedAndDirectDependentIndices() {
+        DerivedRatePlan plan = DerivedRatePlan.compile(crossRates());
+
+        assertArrayEquals(indices(plan, "EURTRY", "GBPTRY", "USDTRY", "EURGBP", "EURGBP_SPREAD"),
+                plan.affectedIndicesFor("PF1_USDTRY"));
+        assertArrayEquals(indices(plan, "EURTRY", "GBPTRY", "USDTRY", "EURGBP_SPREAD"),
+                plan.dependentIndicesOf("PF1_USDTRY"));
+        assertArrayEquals(indices(plan, "EURGBP"), plan.dependentIndicesOf("GBPTRY"));
+        assertEquals(0, plan.affectedIndicesFor("PF3_USDTRY").length);
+        assertEquals(0, plan.dependentIndicesOf("EURGBP_SPREAD").length);
+    }
+
+    @Test
+    void rejectsCyclesNamingTheRatesOnThem() {
+        Map<String, List<String>> definitions = new LinkedHashMap<>(crossRates());
+        definitions.put("A", List.of("B", "PF1_USDTRY"));
+        definitions.put("B", List.of("C"));
+        definitions.put("C", List.of("A", "EURTRY"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DerivedRatePlan.compile(definitions));
+        assertEquals("Cyclic derived rate definitions: [A, B, C]", e.getMessage());
+    }
+
+    @Test
+    void rejectsRateDerivedFromItself() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DerivedRatePlan.compile(Map.of("USDTRY", List.of("USDTRY", "PF1_USDTRY"))));
+    }
+
+    @Test
+    void compilesEmptyDefinitions() {
+        DerivedRatePlan plan = DerivedRatePlan.compile(Map.of());
+
+        assertEquals(0, plan.size());
+        assertTrue(plan.stagesFor("PF1_USDTRY").isEmpty());
+    }
+
+    static int[] indices(DerivedRatePlan plan, String... rateNames) {
+        int[] indices = new int[rateNames.length];
+        for (int i = 0; i < rateNames.length; i++) {
+            indices[i] = plan.indexOf(rateNames[i]);
+        }
+        return indices;
+    }
+
+    private static List<List<String>> names(DerivedRatePlan plan, List<int[]> stages) {
+        List<List<String>> names = new ArrayList<>();
+        for (int[] stage : stages) {
+            List<String> stageNames = new ArrayList<>();
+            for (int index : stage) {
+                stageNames.add(plan.rateAt(index));
+            }
+            names.add(stageNames);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.mainapp.services.impl;
+
+import com.example.mainapp.model.Rate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflatingRateOutboxTest {
+
+    private final List<String> published = new ArrayList<>();
+    private ConflatingRateOutbox outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) {
+            outbox.stop();
+        }
+    }
+
+    @Test
+    void publishesOnlyTheLatestValueOfEachRateInFirstDirtyOrder() throws InterruptedException {
+        outbox = new ConflatingRateOutbox("Outbox", 16, this::record);
+
+        assertTrue(outbox.offer(rate("USDTRY", 1)));
+        assertTrue(outbox.offer(rate("EURUSD", 2)));
+        assertTrue(outbox.offer(rate("USDTRY", 3)));
+        assertTrue(outbox.offer(rate("USDTRY", 4)));
+        assertEquals(2, outbox.getPendingCount());
+        assertEquals(2, outbox.getConflatedCount());
+
+        outbox.start();
+        awaitPublished(2);
+
+        assertEquals(List.of("USDTRY=4.0", "EURUSD=2.0"), publishedRates());
+        assertEquals(4, outbox.getOfferedCount());
+        assertEquals(2, outbox.getPublishedCount());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    void dropsNewRatesWhenFullButStillConflatesPendingOnes() {
+        outbox = new ConflatingRateOutbox("Outbox", 2, this::record);
+
+        assertTrue(outbox.offer(rate("USDTRY", 1)));
+        assertTrue(outbox.offer(rate("EURUSD", 2)));
+        assertFalse(outbox.offer(rate("GBPUSD", 3)));
+        assertTrue(outbox.offer(rate("USDTRY", 4)));
+        assertEquals(1, outbox.offerAll(List.of(rate("EURUSD", 5), rate("USDJPY", 6))));
+
+        assertEquals(2, outbox.getDroppedCount());
+        assertEquals(2, outbox.getConflatedCount());
+        assertEquals(2, outbox.getPendingCount());
+    }
+
+    @Test
+    void handsGroupOverInOrder() throws InterruptedException {
+        outbox = new ConflatingRateOutbox("Outbox", 16, this::record);
+        outbox.start();
+
+        assertEquals(0, outbox.offerAll(List.of(rate("USDTRY", 1), rate("EURTRY", 2), rate("GBPTRY", 3))));
+
+        awaitPublished(3);
+        assertEquals(List.of("USDTRY=1.0", "EURTRY=2.0", "GBPTRY=3.0"), publishedRates());
+    }
+
+    @Test
+    void conflatesWhilePublisherIsBlockedAndFlushesOnStop() throws InterruptedException {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        outbox = new ConflatingRateOutbox("Outbox", 16, rate -> {
+            publishing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(rate);
+        });
+        outbox.start();
+
+        outbox.offer(rate("USDTRY", 1));
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 100; i++) {
+            outbox.offer(rate("USDTRY", i));
+            outbox.offer(rate("EURUSD", i));
+        }
+        release.countDown();
+        outbox.stop();
+
+        List<String> rates = publishedRates();
+        assertEquals("USDTRY=1.0", rates.get(0));
+        assertTrue(rates.contains("USDTRY=100.0"), rates.toString());
+        assertTrue(rates.contains("EURUSD=100.0"), rates.toString());
+        assertTrue(rates.size() <= 3, rates.toString());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    @Test
+    void keepsPublishingAfterPublisherFails() throws InterruptedException {
+        outbox = new ConflatingRateOutbox("Outbox", 16, rate -> {
+            if (rate.getRateName().equals("USDTRY")) {
+                throw new IllegalStateException("Broker unavailable");
+            }
+            record(rate);
+        });
+        outbox.start();
+
+        outbox.offer(rate("USDTRY", 1));
+        outbox.offer(rate("EURUSD", 2));
+
+        awaitPublished(1);
+        assertEquals(List.of("EURUSD=2.0"), publishedRates());
+        assertEquals(0, outbox.getPendingCount());
+    }
+
+    private void record(Rate rate) {
+        synchronized (published) {
+            published.add(rate.getRateName() + "=" + rate.getBid());
+        }
+    }
+
+    private List<String> publishedRates() {
+        synchronized (published) {
+            return new ArrayList<>(published);
+        }
+    }
+
+    private void awaitPublished(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (publishedRates().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, publishedRates().size());
+    }
+
+    private static Rate rate(String rateName, double bid) {
+        return new Rate(rateName, "PF1", bid, bid + 0.01, LocalDateTime.now(), false);
+    }
+}
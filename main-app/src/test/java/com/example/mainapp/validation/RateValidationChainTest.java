@@ -0,0 +1,52 @@
+package com.example.mainapp.validation;
+
+import com.example.mainapp.validation.impl.CrossedMarketFilter;
+import com.example.mainapp.validation.impl.MaxTickAgeFilter;
+import com.example.mainapp.validation.impl.PercentageBandFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateValidationChainTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final RateValidationChain chain = new RateValidationChain("USDTRY", new RateFilter[]{
+            new CrossedMarketFilter(), new MaxTickAgeFilter(1000), new PercentageBandFilter(0.01)
+    });
+
+    @Test
+    void acceptsTickPassingEveryFilter() {
+        assertEquals(RateValidationChain.ACCEPTED, chain.validate(34.10, 34.12, NOW, NOW));
+
+        assertEquals(1, chain.getAcceptedCount());
+        assertEquals(3, chain.getFilterCount());
+        assertEquals("percentage", chain.getFilterName(2));
+    }
+
+    @Test
+    void stopsAtFirstRejectingFilterAndCountsIt() {
+        // Crossed and stale: only the first filter counts it
+        assertEquals(0, chain.validate(34.12, 34.10, NOW - 5000, NOW));
+        assertEquals(1, chain.validate(34.10, 34.12, NOW - 5000, NOW));
+
+        assertEquals(1, chain.getRejectedCount(0));
+        assertEquals(1, chain.getRejectedCount(1));
+        assertEquals(0, chain.getRejectedCount(2));
+        assertEquals(0, chain.getAcceptedCount());
+    }
+
+    @Test
+    void updatesFilterStateOnlyWithAcceptedTicks() {
+        assertEquals(RateValidationChain.ACCEPTED, chain.validate(34.10, 34.12, NOW, NOW));
+        // A 10% jump is rejected and must not become the band's reference
+        assertEquals(2, chain.validate(37.51, 37.53, NOW + 1, NOW + 1));
+        assertEquals(RateValidationChain.ACCEPTED, chain.validate(34.20, 34.22, NOW + 2, NOW + 2));
+        // Older than the last accepted tick
+        assertEquals(1, chain.validate(34.20, 34.22, NOW + 1, NOW + 2));
+
+        assertEquals(2, chain.getAcceptedCount());
+        assertEquals(1, chain.getRejectedCount(1));
+        assertEquals(1, chain.getRejectedCount(2));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.mainapp.validation.impl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CrossedMarketFilterTest {
+
+    private final CrossedMarketFilter filter = new CrossedMarketFilter();
+
+    @ParameterizedTest
+    @CsvSource({
+            "34.10, 34.12, true", "34.12, 34.12, false", "34.13, 34.12, false", "0, 34.12, false",
+            "-1, 34.12, false", "NaN, 34.12, false", "34.10, NaN, false"
+    })
+    void rejectsCrossedLockedAndNonPositiveQuotes(double bid, double ask, boolean accepted) {
+        assertEquals(accepted, filter.test(bid, ask, 0, 0));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mainapp.validation.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EwmaZScoreFilterTest {
+
+    private final EwmaZScoreFilter filter = new EwmaZScoreFilter(0.1, 6, 20);
+
+    @Test
+    void acceptsEverythingDuringWarmup() {
+        accept(19);
+
+        assertTrue(filter.test(110, 110.02, 0, 0));
+    }
+
+    @Test
+    void rejectsOutlierReturnsOnceWarm() {
+        accept(50);
+
+        assertFalse(filter.test(105, 105.02, 0, 0));
+        assertFalse(filter.test(95, 95.02, 0, 0));
+        assertFalse(filter.test(Double.NaN, 100.02, 0, 0));
+        assertTrue(filter.test(100.01, 100.03, 0, 0));
+    }
+
+    @Test
+    void widensTheBandAfterVolatileTicks() {
+        accept(50);
+        assertFalse(filter.test(100.5, 100.52, 0, 0));
+
+        // Moves of 0.5% in both directions raise the variance until such a move is normal
+        for (int i = 0; i < 30; i++) {
+            double mid = i % 2 == 0 ? 100.5 : 100;
+            filter.onAccepted(mid - 0.01, mid + 0.01, 0);
+        }
+        assertTrue(filter.test(100.5, 100.52, 0, 0));
+    }
+
+    /**
+     * Feeds accepted ticks whose mid alternates between 100.00 and 100.01
+     */
+    private void accept(int samples) {
+        for (int i = 0; i <= samples; i++) {
+            double mid = i % 2 == 0 ? 100 : 100.01;
+            filter.onAccepted(mid - 0.01, mid + 0.01, 0);
+        }
+    }
+}
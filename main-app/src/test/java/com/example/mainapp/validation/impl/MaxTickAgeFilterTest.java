@@ -0,0 +1,30 @@
+package com.example.mainapp.validation.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaxTickAgeFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final MaxTickAgeFilter filter = new MaxTickAgeFilter(1000);
+
+    @Test
+    void rejectsTicksOlderThanTheMaximumAge() {
+        assertTrue(filter.test(1, 2, NOW - 1000, NOW));
+        assertFalse(filter.test(1, 2, NOW - 1001, NOW));
+        // Clock skew: a timestamp slightly ahead of the local clock is accepted
+        assertTrue(filter.test(1, 2, NOW + 50, NOW));
+    }
+
+    @Test
+    void rejectsTicksOlderThanTheLastAcceptedOne() {
+        filter.onAccepted(1, 2, NOW);
+
+        assertTrue(filter.test(1, 2, NOW, NOW));
+        assertTrue(filter.test(1, 2, NOW + 1, NOW + 1));
+        assertFalse(filter.test(1, 2, NOW - 1, NOW + 1));
+    }
+}
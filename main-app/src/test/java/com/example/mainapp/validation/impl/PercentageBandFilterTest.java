@@ -0,0 +1,36 @@
+package com.example.mainapp.validation.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PercentageBandFilterTest {
+
+    private final PercentageBandFilter filter = new PercentageBandFilter(0.01);
+
+    @Test
+    void acceptsAnyFirstTick() {
+        assertTrue(filter.test(34.10, 34.12, 0, 0));
+        assertTrue(filter.test(1000, 1001, 0, 0));
+    }
+
+    @Test
+    void rejectsBidOrAskMovingMoreThanTheBand() {
+        filter.onAccepted(100, 101, 0);
+
+        assertTrue(filter.test(100.9, 101.9, 0, 0));
+        assertTrue(filter.test(99.1, 100.1, 0, 0));
+        assertFalse(filter.test(101.1, 101, 0, 0));
+        assertFalse(filter.test(100, 102.1, 0, 0));
+        assertFalse(filter.test(Double.NaN, 101, 0, 0));
+    }
+
+    @Test
+    void movesTheBandWithAcceptedTicks() {
+        filter.onAccepted(100, 101, 0);
+        filter.onAccepted(100.9, 101.9, 0);
+
+        assertTrue(filter.test(101.8, 102.8, 0, 0));
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.platformsimulatorrest.controller;
 
 import com.example.platformsimulatorrest.model.RateData;
+import com.example.platformsimulatorrest.model.RateSnapshot;
 import com.example.platformsimulatorrest.service.RateSimulationService;
+import com.example.platformsimulatorrest.service.RateStreamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,39 +26,88 @@ public class RateController {
     private static final Logger logger = LoggerFactory.getLogger(RateController.class);
 
     private final RateSimulationService rateSimulationService;
+    private final RateStreamService rateStreamService;
 
     @Autowired
-    public RateController(RateSimulationService rateSimulationService) {
+    public RateController(RateSimulationService rateSimulationService, RateStreamService rateStreamService) {
         this.rateSimulationService = rateSimulationService;
+        this.rateStreamService = rateStreamService;
     }
 
     /**
-     * Get all available rates
+     * Get all available rates, or only the requested ones.
+     * <p>
+     * The ETag is the quoted simulation version, which grows whenever any rate changes: a request with a
+     * matching If-None-Match gets 304 Not Modified. Clients may pass the version back as {@code sinceVersion}
+     * to receive only the rates changed after it.
+     * @param names Optional comma separated rate names (e.g. ?names=PF2_USDTRY,PF2_EURUSD); unknown names are skipped
+     * @param sinceVersion Optional version; only rates changed after it are returned
+     * @param request Current request, for If-None-Match
      * @return Map of rate name to rate data
      */
     @GetMapping
-    public ResponseEntity<Map<String, RateData>> getAllRates() {
-        logger.info("Request received for all rates");
-        Map<String, RateData> rates = rateSimulationService.getAllRates();
-        return ResponseEntity.ok(rates);
+    public ResponseEntity<Map<String, RateData>> getAllRates(@RequestParam(required = false) List<String> names,
+                                                             @RequestParam(required = false) Long sinceVersion,
+                                                             WebRequest request) {
+        String eTag = eTag(rateSimulationService.getVersion());
+        if (request.checkNotModified(eTag)) {
+            logger.debug("Rates not modified since {}", eTag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        if (names == null || names.isEmpty()) {
+            logger.info("Request received for all rates (sinceVersion={})", sinceVersion);
+            names = null;
+        } else {
+            logger.info("Request received for rates: {} (sinceVersion={})", names, sinceVersion);
+        }
+
+        RateSnapshot snapshot = rateSimulationService.getSnapshot(names, sinceVersion);
+        return ResponseEntity.ok().eTag(eTag(snapshot.getVersion())).body(snapshot.getRates());
+    }
+
+    /**
+     * Stream rate updates as Server-Sent Events.
+     * <p>
+     * Each simulation pass that changes a requested rate produces one {@code rates} event whose data has the
+     * same shape as {@link #getAllRates} and whose id is the simulation version. The first event is a snapshot
+     * of the requested rates, or only of those changed after Last-Event-ID when a client resumes.
+     * @param names Optional comma separated rate names; all rates if omitted
+     * @param lastEventId Version of the last event the client received, sent by reconnecting clients
+     * @return Event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRates(@RequestParam(required = false) List<String> names,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.info("Stream requested for rates: {} (Last-Event-ID={})", names, lastEventId);
+        return rateStreamService.subscribe(names == null || names.isEmpty() ? null : names, lastEventId);
     }
 
     /**
      * Get rate data for a specific rate
+     * <p>
+     * The ETag is the version of the rate's last change; a matching If-None-Match gets 304 Not Modified.
      * @param rateName Rate name
+     * @param request Current request, for If-None-Match
      * @return Rate data or 404 if not found
      */
     @GetMapping("/{rateName}")
-    public ResponseEntity<RateData> getRate(@PathVariable String rateName) {
+    public ResponseEntity<RateData> getRate(@PathVariable String rateName, WebRequest request) {
         logger.info("Request received for rate: {}", rateName);
 
+        long rateVersion = rateSimulationService.getRateVersion(rateName);
         RateData rateData = rateSimulationService.getRateData(rateName);
         if (rateData == null) {
             logger.warn("Rate not found: {}", rateName);
             return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(rateData);
+        String eTag = eTag(rateVersion);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(rateData);
     }
 
     /**
@@ -75,4 +131,8 @@ public class RateController {
                 return ResponseEntity.badRequest().body("Invalid action. Use 'start' or 'stop'");
         }
     }
-}
\ No newline at end of file
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+}
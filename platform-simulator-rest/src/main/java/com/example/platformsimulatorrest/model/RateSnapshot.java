@@ -0,0 +1,24 @@
+package com.example.platformsimulatorrest.model;
+
+import java.util.Map;
+
+/**
+ * Belirli bir sürümde alınmış tutarlı kur görüntüsü
+ */
+public class RateSnapshot {
+    private final long version;
+    private final Map<String, RateData> rates;
+
+    public RateSnapshot(long version, Map<String, RateData> rates) {
+        this.version = version;
+        this.rates = rates;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, RateData> getRates() {
+        return rates;
+    }
+}
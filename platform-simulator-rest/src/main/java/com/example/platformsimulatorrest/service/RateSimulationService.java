@@ -2,6 +2,7 @@ package com.example.platformsimulatorrest.service;
 
 import com.example.platformsimulatorrest.config.SimulatorConfig;
 import com.example.platformsimulatorrest.model.RateData;
+import com.example.platformsimulatorrest.model.RateSnapshot;
 import com.example.platformsimulatorrest.util.RandomRateGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,10 +13,14 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Kur değerlerini belirli aralıklarla güncelleyen servis
@@ -27,6 +32,10 @@ public class RateSimulationService {
     private final SimulatorConfig config;
     private final RandomRateGenerator rateGenerator;
     private final Map<String, RateData> rateDataMap = new ConcurrentHashMap<>();
+    // Her kur değişiminde artan genel sürüm ve kurların son değiştiği sürüm
+    private final AtomicLong version = new AtomicLong(0);
+    private final Map<String, Long> rateVersions = new ConcurrentHashMap<>();
+    private final List<RateUpdateListener> listeners = new CopyOnWriteArrayList<>();
 
     private AtomicInteger updateCount = new AtomicInteger(0);
     private volatile boolean running = false;
@@ -51,7 +60,7 @@ public class RateSimulationService {
         stop();
     }
 
-    private void initializeRates() {
+    private synchronized void initializeRates() {
         config.getInitialRates().forEach((rateName, rateConfig) -> {
             RateData rateData = new RateData(
                     rateName,
@@ -60,6 +69,7 @@ public class RateSimulationService {
                     LocalDateTime.now()
             );
             rateDataMap.put(rateName, rateData);
+            rateVersions.put(rateName, version.incrementAndGet());
             logger.info("Initialized rate: {}", rateData);
         });
     }
@@ -99,15 +109,73 @@ public class RateSimulationService {
             return;
         }
 
-        rateDataMap.forEach((rateName, oldRateData) -> {
+        Map<String, RateData> updatedRates = new HashMap<>();
+        long updatedVersion;
+
+        // Görüntüler güncelleme turunun ortasında alınmasın diye tur kilit altında yapılır
+        synchronized (this) {
+            rateDataMap.forEach((rateName, oldRateData) -> {
+                try {
+                    RateData newRateData = rateGenerator.generateNextRate(oldRateData);
+                    rateDataMap.put(rateName, newRateData);
+                    rateVersions.put(rateName, version.incrementAndGet());
+                    updatedRates.put(rateName, newRateData);
+                    logger.debug("Updated rate: {}", newRateData);
+                } catch (Exception e) {
+                    logger.error("Error updating rate {}: {}", rateName, e.getMessage(), e);
+                }
+            });
+            updatedVersion = version.get();
+        }
+
+        // Dinleyiciler kilit dışında çağrılır; görüntü alırken kendi kilitlerini tutabilirler
+        for (RateUpdateListener listener : listeners) {
             try {
-                RateData newRateData = rateGenerator.generateNextRate(oldRateData);
-                rateDataMap.put(rateName, newRateData);
-                logger.debug("Updated rate: {}", newRateData);
+                listener.onRatesUpdated(updatedVersion, updatedRates);
             } catch (Exception e) {
-                logger.error("Error updating rate {}: {}", rateName, e.getMessage(), e);
+                logger.error("Rate update listener failed: {}", e.getMessage(), e);
             }
-        });
+        }
+    }
+
+    public void addListener(RateUpdateListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RateUpdateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return Genel sürüm; herhangi bir kur değiştiğinde artar
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return Kurun son değiştiği sürüm, bilinmeyen kur için -1
+     */
+    public long getRateVersion(String rateName) {
+        return rateVersions.getOrDefault(rateName, -1L);
+    }
+
+    /**
+     * Verilen sürümden sonra değişen kurların tutarlı görüntüsü
+     * @param rateNames Kur isimleri, null ise tüm kurlar
+     * @param sinceVersion Bu sürümden sonra değişenler; null ise tüm kurlar
+     * @return Görüntünün sürümü ve kurlar
+     */
+    public synchronized RateSnapshot getSnapshot(Collection<String> rateNames, Long sinceVersion) {
+        Collection<String> names = rateNames != null ? rateNames : rateDataMap.keySet();
+        Map<String, RateData> rates = new HashMap<>();
+        for (String rateName : names) {
+            RateData rateData = rateDataMap.get(rateName);
+            if (rateData != null && (sinceVersion == null || getRateVersion(rateName) > sinceVersion)) {
+                rates.put(rateName, rateData);
+            }
+        }
+        return new RateSnapshot(version.get(), rates);
     }
 
     public RateData getRateData(String rateName) {
@@ -0,0 +1,160 @@
+package com.example.platformsimulatorrest.service;
+
+import com.example.platformsimulatorrest.model.RateData;
+import com.example.platformsimulatorrest.model.RateSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Kur güncellemelerini Server-Sent Events ile abonelere iten servis.
+ * <p>
+ * Her güncelleme turu, abonenin istediği kurlardan değişenleri içeren tek bir {@code rates} olayı olarak
+ * gönderilir; olay verisi {@code GET /api/rates} yanıtıyla aynı biçimdedir, olay kimliği turun sürümüdür.
+ * Bağlantı kurulunca (ya da Last-Event-ID ile yeniden bağlanınca o sürümden sonra değişen) kurların
+ * görüntüsü ilk olay olarak gönderilir.
+ */
+@Service
+public class RateStreamService implements RateUpdateListener {
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamService.class);
+
+    private static final String EVENT_NAME = "rates";
+
+    private final RateSimulationService rateSimulationService;
+    // Görüntü ile tur olaylarının sırası karışmasın diye gönderimler bu nesnenin kilidiyle yapılır;
+    // bağlantı kapanış geri çağrıları gönderim sırasında da gelebildiği için liste kopyalanarak gezilir
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RateStreamService(RateSimulationService rateSimulationService) {
+        this.rateSimulationService = rateSimulationService;
+    }
+
+    @PostConstruct
+    public void init() {
+        rateSimulationService.addListener(this);
+    }
+
+    @PreDestroy
+    public synchronized void cleanup() {
+        rateSimulationService.removeListener(this);
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    /**
+     * Yeni akış aboneliği açar
+     * @param rateNames Kur isimleri, null ise tüm kurlar
+     * @param lastEventId İstemcinin aldığı son olayın sürümü, null ise tam görüntü gönderilir
+     * @return Olay akışı
+     */
+    public synchronized SseEmitter subscribe(Collection<String> rateNames, Long lastEventId) {
+        // Zaman aşımı yok, bağlantı istemci kapatana kadar açık kalır
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(emitter, rateNames != null ? new HashSet<>(rateNames) : null);
+
+        RateSnapshot snapshot = rateSimulationService.getSnapshot(rateNames, lastEventId);
+        subscription.version = snapshot.getVersion();
+        if (!send(subscription, snapshot.getVersion(), snapshot.getRates())) {
+            return emitter;
+        }
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        subscriptions.add(subscription);
+        logger.info("Stream subscription opened for {} (lastEventId={}), {} active",
+                rateNames != null ? rateNames : "all rates", lastEventId, subscriptions.size());
+        return emitter;
+    }
+
+    @Override
+    public synchronized void onRatesUpdated(long version, Map<String, RateData> rates) {
+        for (Subscription subscription : subscriptions) {
+            if (version <= subscription.version) {
+                // Bu tur abonenin ilk görüntüsünde zaten vardı
+                continue;
+            }
+            subscription.version = version;
+
+            Map<String, RateData> subscribed = subscription.filter(rates);
+            if (!subscribed.isEmpty() && !send(subscription, version, subscribed)) {
+                subscriptions.remove(subscription);
+            }
+        }
+    }
+
+    /**
+     * Boşta kalan bağlantıların ara katmanlarca kapatılmaması için yorum satırı gönderir
+     */
+    @Scheduled(fixedDelayString = "${simulation.stream.heartbeatMs:15000}")
+    public synchronized void heartbeat() {
+        subscriptions.removeIf(subscription -> {
+            try {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                return false;
+            } catch (IOException | IllegalStateException e) {
+                return true;
+            }
+        });
+    }
+
+    private boolean send(Subscription subscription, long version, Map<String, RateData> rates) {
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(version))
+                    .name(EVENT_NAME)
+                    .data(rates, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // İstemci bağlantıyı kapatmış
+            logger.info("Stream subscription closed: {}", e.getMessage());
+            subscription.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Set<String> rateNames;
+        private long version;
+
+        private Subscription(SseEmitter emitter, Set<String> rateNames) {
+            this.emitter = emitter;
+            this.rateNames = rateNames;
+        }
+
+        private Map<String, RateData> filter(Map<String, RateData> rates) {
+            if (rateNames == null) {
+                return rates;
+            }
+            Map<String, RateData> filtered = new HashMap<>();
+            for (String rateName : rateNames) {
+                RateData rateData = rates.get(rateName);
+                if (rateData != null) {
+                    filtered.put(rateName, rateData);
+                }
+            }
+            return filtered;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.platformsimulatorrest.service;
+
+import com.example.platformsimulatorrest.model.RateData;
+
+import java.util.Map;
+
+/**
+ * Her güncelleme turundan sonra değişen kurları alan dinleyici
+ */
+public interface RateUpdateListener {
+
+    /**
+     * @param version Turun sonundaki genel sürüm
+     * @param rates Turda değişen kurlar
+     */
+    void onRatesUpdated(long version, Map<String, RateData> rates);
+}